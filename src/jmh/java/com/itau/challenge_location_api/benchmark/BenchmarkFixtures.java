@@ -0,0 +1,157 @@
+package com.itau.challenge_location_api.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.application.service.GeocodingRouter;
+import com.itau.challenge_location_api.application.service.GeofenceService;
+import com.itau.challenge_location_api.application.service.LocationServiceImpl;
+import com.itau.challenge_location_api.infrastructure.cache.GeocodeCache;
+import com.itau.challenge_location_api.infrastructure.cache.LastKnownLocationStore;
+import com.itau.challenge_location_api.infrastructure.cache.PersistentGeocodeStore;
+import com.itau.challenge_location_api.infrastructure.cache.ReadingDeduplicator;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackClient;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackGeocodingProvider;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackGuard;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackQuota;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import com.itau.challenge_location_api.infrastructure.config.GeocodingConfig;
+import com.itau.challenge_location_api.infrastructure.config.GeofencingConfig;
+import com.itau.challenge_location_api.infrastructure.config.LocationHistoryConfig;
+import com.itau.challenge_location_api.infrastructure.config.MovementThresholdConfig;
+import com.itau.challenge_location_api.infrastructure.config.OfflineGeocoderConfig;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import com.itau.challenge_location_api.infrastructure.config.ReadingDeduplicationConfig;
+import com.itau.challenge_location_api.infrastructure.config.TrackSimplificationConfig;
+import com.itau.challenge_location_api.infrastructure.geo.OfflineGeocoder;
+import com.itau.challenge_location_api.infrastructure.history.LocationHistoryStore;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared wiring for benchmarks: builds the service graph by hand, without a Spring context,
+ * around a stubbed PositionStack client.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Keeps per-request INFO/DEBUG logging out of the measurements.
+     */
+    public static void silenceLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    public static PositionStackResponse sampleResponse() {
+        PositionStackData data = new PositionStackData();
+        data.setLatitude(-23.5505);
+        data.setLongitude(-46.6333);
+        data.setCountry("Brazil");
+        data.setRegion("São Paulo");
+        data.setLocality("São Paulo");
+        data.setNeighborhood("Centro");
+        data.setStreet("Avenida Paulista");
+        data.setNumber("123");
+        data.setPostalCode("01310-000");
+        data.setLabel("Avenida Paulista, 123, São Paulo, Brazil");
+        PositionStackResponse response = new PositionStackResponse();
+        response.setData(List.of(data));
+        return response;
+    }
+
+    /**
+     * Stub client answering every call with the sample response after the given latency.
+     */
+    public static PositionStackClient stubClient(long latencyMillis) {
+        PositionStackResponse response = sampleResponse();
+        return (accessKey, query) -> {
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Stub client answering every call with the sample response at once, counting the calls.
+     */
+    public static PositionStackClient countingClient(LongAdder calls) {
+        PositionStackResponse response = sampleResponse();
+        return (accessKey, query) -> {
+            calls.increment();
+            return response;
+        };
+    }
+
+    public static PositionStackGeocodingProvider positionStackProvider(PositionStackClient client,
+                                                                       SimpleMeterRegistry meterRegistry) {
+        PositionStackConfig positionStackConfig = new PositionStackConfig();
+        positionStackConfig.setBaseUrl("http://localhost/v1");
+        positionStackConfig.setKey("benchmark-key");
+        // Benchmarks drive more concurrent lookups than the production limit admits
+        positionStackConfig.getResilience().getConcurrency().setInitialLimit(Integer.MAX_VALUE);
+        positionStackConfig.getResilience().getConcurrency().setMinLimit(Integer.MAX_VALUE);
+        positionStackConfig.getResilience().getConcurrency().setMaxLimit(Integer.MAX_VALUE);
+        positionStackConfig.getQuota().setEnabled(false);
+        return new PositionStackGeocodingProvider(
+                client,
+                null,
+                new PositionStackGuard(positionStackConfig, meterRegistry),
+                new PositionStackQuota(positionStackConfig, meterRegistry),
+                new LocationMetricsService(meterRegistry));
+    }
+
+    public static LocationServiceImpl locationService(PositionStackClient client, boolean cacheEnabled) {
+        GeocodeCacheConfig cacheConfig = new GeocodeCacheConfig();
+        cacheConfig.setEnabled(cacheEnabled);
+        // Every benchmark reading must reach the path under test
+        MovementThresholdConfig movementConfig = new MovementThresholdConfig();
+        movementConfig.setEnabled(false);
+        ReadingDeduplicationConfig deduplicationConfig = new ReadingDeduplicationConfig();
+        deduplicationConfig.setEnabled(false);
+        return locationService(client, cacheConfig, movementConfig, deduplicationConfig, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Service graph with the given cache and movement threshold settings, registering its meters in the
+     * given registry so that cache hits and short-circuited readings can be read back.
+     */
+    public static LocationServiceImpl locationService(PositionStackClient client, GeocodeCacheConfig cacheConfig,
+                                                      MovementThresholdConfig movementConfig,
+                                                      SimpleMeterRegistry meterRegistry) {
+        return locationService(client, cacheConfig, movementConfig, new ReadingDeduplicationConfig(), meterRegistry);
+    }
+
+    private static LocationServiceImpl locationService(PositionStackClient client, GeocodeCacheConfig cacheConfig,
+                                                       MovementThresholdConfig movementConfig,
+                                                       ReadingDeduplicationConfig deduplicationConfig,
+                                                       SimpleMeterRegistry meterRegistry) {
+        return new LocationServiceImpl(
+                new GeocodingRouter(List.of(positionStackProvider(client, meterRegistry)), new GeocodingConfig(),
+                        meterRegistry),
+                new GeocodeCache(cacheConfig, meterRegistry, new PersistentGeocodeStore(cacheConfig, meterRegistry)),
+                new SyncTaskExecutor(),
+                new LocationMetricsService(meterRegistry),
+                new OfflineGeocoder(new OfflineGeocoderConfig(), new ObjectMapper(), new DefaultResourceLoader()),
+                new LastKnownLocationStore(movementConfig),
+                new TrackSimplifier(new TrackSimplificationConfig(),
+                        new LocationHistoryStore(new LocationHistoryConfig(), meterRegistry), meterRegistry),
+                new GeofenceService(new GeofencingConfig(), event -> { }, new LocationMetricsService(meterRegistry)),
+                new ReadingDeduplicator(deduplicationConfig, meterRegistry));
+    }
+}
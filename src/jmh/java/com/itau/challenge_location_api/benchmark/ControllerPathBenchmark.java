@@ -0,0 +1,100 @@
+package com.itau.challenge_location_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.application.service.LocationServiceImpl;
+import com.itau.challenge_location_api.infrastructure.config.LocationBatchConfig;
+import com.itau.challenge_location_api.infrastructure.config.LocationHistoryConfig;
+import com.itau.challenge_location_api.infrastructure.config.LocationStreamConfig;
+import com.itau.challenge_location_api.infrastructure.config.TrackSimplificationConfig;
+import com.itau.challenge_location_api.infrastructure.history.LocationHistoryStore;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.presentation.controller.PetLocationController;
+import com.itau.challenge_location_api.presentation.exception.GlobalExceptionHandler;
+import com.itau.challenge_location_api.presentation.stream.NdjsonLocationStreamer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Throughput and allocation of a full POST /v1/locations round trip through Spring MVC:
+ * request binding and validation, the service, mapping and response serialization,
+ * against a PositionStack client stub that answers immediately.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ControllerPathBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerPathBenchmark {
+
+    private static final String REQUEST_BODY = """
+            {"sensorId":"sensor-1","latitude":-23.5505,"longitude":-46.6333,"timestamp":"2025-01-01T10:00:00"}""";
+
+    /**
+     * With the cache enabled every request after the first is a cache hit; disabled, every
+     * request goes through the stubbed upstream call and the response mapping.
+     */
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.silenceLogging();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        LocationServiceImpl locationService =
+                BenchmarkFixtures.locationService(BenchmarkFixtures.stubClient(0), cacheEnabled);
+        LocationMetricsService metricsService = new LocationMetricsService(new SimpleMeterRegistry());
+        LocationHistoryStore locationHistory =
+                new LocationHistoryStore(new LocationHistoryConfig(), new SimpleMeterRegistry());
+        PetLocationController controller = new PetLocationController(
+                locationService,
+                metricsService,
+                new LocationBatchConfig(),
+                validator,
+                new NdjsonLocationStreamer(objectMapper, validator, locationService, new LocationStreamConfig(),
+                        metricsService),
+                locationHistory,
+                new TrackSimplifier(new TrackSimplificationConfig(), locationHistory, new SimpleMeterRegistry()),
+                objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getLocation() throws Exception {
+        return mockMvc.perform(post("/v1/locations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST_BODY))
+                .andReturn();
+    }
+}
@@ -0,0 +1,95 @@
+package com.itau.challenge_location_api.benchmark;
+
+import com.itau.challenge_location_api.application.service.LocationServiceImpl;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual threads when serving a burst of concurrent blocking lookups
+ * against a slow upstream. The platform mode mirrors Tomcat's default pool of 200 worker threads.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExecutionModeBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({"1000", "5000", "10000"})
+    private int concurrentRequests;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threadMode;
+
+    @Param({"50"})
+    private long upstreamLatencyMillis;
+
+    private LocationServiceImpl locationService;
+    private List<PetSensorData> readings;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.silenceLogging();
+        // Cache disabled and distinct coordinates: every request pays the upstream latency
+        locationService = BenchmarkFixtures.locationService(BenchmarkFixtures.stubClient(upstreamLatencyMillis), false);
+        readings = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            readings.add(PetSensorData.builder()
+                    .sensorId("sensor-" + i)
+                    .latitude(-23.0 - i * 0.001)
+                    .longitude(-46.0 - i * 0.001)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createExecutor() {
+        executor = "VIRTUAL".equals(threadMode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentLookups() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(concurrentRequests);
+        for (PetSensorData reading : readings) {
+            futures.add(executor.submit(() -> locationService.getLocationFromCoordinates(reading)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return futures.size();
+    }
+}
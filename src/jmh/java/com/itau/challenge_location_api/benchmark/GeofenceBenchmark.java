@@ -0,0 +1,110 @@
+package com.itau.challenge_location_api.benchmark;
+
+import com.itau.challenge_location_api.application.service.GeofenceService;
+import com.itau.challenge_location_api.domain.model.Geofence;
+import com.itau.challenge_location_api.domain.model.GeofenceEvent;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.GeofencingConfig;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking a reading against the registered geofences as the number of fences grows.
+ * Fences are circles and squares spread over a 100 km wide metro area, each watching one sensor
+ * of a 10k sensor fleet; readings land anywhere in the area, so most of them cross no fence.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="GeofenceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeofenceBenchmark {
+
+    private static final double CENTER_LATITUDE = -23.5505;
+    private static final double CENTER_LONGITUDE = -46.6333;
+    private static final double AREA_DEGREES = 0.9;
+    private static final int SENSORS = 10_000;
+    private static final int READINGS = 4096;
+
+    @Param({"1000", "10000", "100000"})
+    private int fenceCount;
+
+    private GeofenceService service;
+    private PetSensorData[] readings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.silenceLogging();
+        service = new GeofenceService(new GeofencingConfig(), event -> { },
+                new LocationMetricsService(new SimpleMeterRegistry()));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < fenceCount; i++) {
+            double latitude = randomLatitude(random);
+            double longitude = randomLongitude(random);
+            Geofence.GeofenceBuilder fence = Geofence.builder()
+                    .name("fence-" + i)
+                    .sensorIds(Set.of("sensor-" + (i % SENSORS)));
+            if (i % 2 == 0) {
+                fence.shape(Geofence.Shape.CIRCLE)
+                        .centerLatitude(latitude)
+                        .centerLongitude(longitude)
+                        .radiusMeters(random.nextDouble(50, 500));
+            } else {
+                double side = random.nextDouble(0.001, 0.01);
+                fence.shape(Geofence.Shape.POLYGON)
+                        .vertices(List.of(
+                                new Geofence.Vertex(latitude, longitude),
+                                new Geofence.Vertex(latitude, longitude + side),
+                                new Geofence.Vertex(latitude + side, longitude + side),
+                                new Geofence.Vertex(latitude + side, longitude)));
+            }
+            service.register(fence.build());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        readings = new PetSensorData[READINGS];
+        for (int i = 0; i < READINGS; i++) {
+            readings[i] = PetSensorData.builder()
+                    .sensorId("sensor-" + random.nextInt(SENSORS))
+                    .latitude(randomLatitude(random))
+                    .longitude(randomLongitude(random))
+                    .timestamp(now)
+                    .build();
+        }
+    }
+
+    private static double randomLatitude(SplittableRandom random) {
+        return CENTER_LATITUDE + random.nextDouble(-AREA_DEGREES / 2, AREA_DEGREES / 2);
+    }
+
+    private static double randomLongitude(SplittableRandom random) {
+        return CENTER_LONGITUDE + random.nextDouble(-AREA_DEGREES / 2, AREA_DEGREES / 2);
+    }
+
+    @Benchmark
+    public List<GeofenceEvent> evaluate() {
+        PetSensorData reading = readings[next];
+        next = (next + 1) & (READINGS - 1);
+        return service.evaluate(reading);
+    }
+}
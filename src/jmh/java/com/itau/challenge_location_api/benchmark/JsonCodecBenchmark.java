@@ -0,0 +1,79 @@
+package com.itau.challenge_location_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackResponseReader;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.presentation.dto.response.LocationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the JSON work on the request path: decoding the PositionStack
+ * payload and encoding the API response, with an ObjectMapper configured like Spring Boot's.
+ * The PositionStack payload is decoded both by binding every result and with the streaming reader
+ * the clients use, for a single result as requested and for a full default page of results.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JsonCodecBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"1", "10"})
+    private int resultCount;
+
+    private ObjectMapper objectMapper;
+    private PositionStackResponseReader responseReader;
+    private byte[] positionStackPayload;
+    private LocationResponse locationResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseReader = new PositionStackResponseReader(objectMapper.getFactory());
+        PositionStackData result = BenchmarkFixtures.sampleResponse().getData().get(0);
+        PositionStackResponse response = new PositionStackResponse();
+        response.setData(Collections.nCopies(resultCount, result));
+        positionStackPayload = objectMapper.writeValueAsBytes(response);
+        locationResponse = LocationResponse.builder()
+                .country("Brazil")
+                .state("São Paulo")
+                .city("São Paulo")
+                .neighborhood("Centro")
+                .address("Avenida Paulista, 123, São Paulo, Brazil")
+                .build();
+    }
+
+    @Benchmark
+    public PositionStackResponse deserializePositionStackResponse() throws Exception {
+        return objectMapper.readValue(positionStackPayload, PositionStackResponse.class);
+    }
+
+    @Benchmark
+    public PositionStackResponse readPositionStackResponse() throws Exception {
+        return responseReader.read(positionStackPayload);
+    }
+
+    @Benchmark
+    public byte[] serializeLocationResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(locationResponse);
+    }
+}
@@ -0,0 +1,216 @@
+package com.itau.challenge_location_api.benchmark.fleet;
+
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Simulated fleet of pet collars emitting readings in timestamp order, deterministically from a seed.
+ * Each pet has a home spread around a metro area center, sleeps there at night, wanders within its yard
+ * during the day and now and then goes for a walk that takes it a few kilometers out and back.
+ * Collars report at a fixed interval drawn from a few collar models, less often while the pet sleeps,
+ * and every fix carries GPS noise.
+ * <p>
+ * Simulated time only advances as readings are taken, so a fleet of a million pets can be replayed
+ * far faster than real time. A pet takes about 200 bytes.
+ */
+public final class CollarFleet implements Iterator<PetSensorData> {
+
+    private static final double METERS_PER_DEGREE = 111_195.0;
+    private static final long MILLIS_PER_HOUR = Duration.ofHours(1).toMillis();
+    private static final long MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private final Settings settings;
+    private final PriorityQueue<Pet> schedule;
+    private final long startMillis;
+    private long nowMillis;
+
+    public CollarFleet(int pets, long seed) {
+        this(pets, seed, Settings.defaults());
+    }
+
+    public CollarFleet(int pets, long seed, Settings settings) {
+        this.settings = settings;
+        this.startMillis = settings.start().toInstant(ZoneOffset.UTC).toEpochMilli();
+        this.nowMillis = startMillis;
+        this.schedule = new PriorityQueue<>(Math.max(1, pets),
+                (a, b) -> Long.compare(a.nextReportMillis, b.nextReportMillis));
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < pets; i++) {
+            schedule.add(new Pet("collar-" + i, root.split()));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !schedule.isEmpty();
+    }
+
+    /**
+     * Takes the next reading of the fleet, the one with the earliest report time.
+     */
+    @Override
+    public PetSensorData next() {
+        Pet pet = schedule.poll();
+        nowMillis = pet.nextReportMillis;
+        PetSensorData reading = pet.report(nowMillis);
+        schedule.add(pet);
+        return reading;
+    }
+
+    /**
+     * Simulated time elapsed since the start of the fleet.
+     */
+    public Duration elapsed() {
+        return Duration.ofMillis(nowMillis - startMillis);
+    }
+
+    public int size() {
+        return schedule.size();
+    }
+
+    /**
+     * Behavior of the simulated fleet.
+     *
+     * @param start             simulated time of the first readings
+     * @param centerLatitude    center of the metro area the homes are spread around
+     * @param centerLongitude   center of the metro area the homes are spread around
+     * @param homeSpreadMeters  standard deviation of the distance between homes and the center
+     * @param reportIntervals   report intervals of the collar models, drawn with the given weights
+     * @param intervalWeights   share of collars of each model
+     * @param sleepSlowdown     factor applied to the report interval while the pet sleeps
+     * @param sleepFromHour     hour of the day pets go to sleep
+     * @param sleepToHour       hour of the day pets wake up
+     * @param yardMeters        how far from home a pet wanders when not walking
+     * @param walksPerDay       average number of walks per day
+     * @param walkDuration      longest walk, walks last between a third of it and all of it
+     * @param walkSpeed         walking speed in meters per second
+     * @param gpsNoiseMeters    standard deviation of the GPS error of a fix
+     */
+    public record Settings(LocalDateTime start, double centerLatitude, double centerLongitude,
+                           double homeSpreadMeters, List<Duration> reportIntervals, List<Double> intervalWeights,
+                           int sleepSlowdown, int sleepFromHour, int sleepToHour, double yardMeters,
+                           double walksPerDay, Duration walkDuration, double walkSpeed, double gpsNoiseMeters) {
+
+        public static Settings defaults() {
+            return new Settings(LocalDateTime.of(2024, 1, 15, 8, 0), -23.5505, -46.6333, 8_000,
+                    List.of(Duration.ofSeconds(15), Duration.ofSeconds(30), Duration.ofMinutes(1),
+                            Duration.ofMinutes(5)),
+                    List.of(0.2, 0.3, 0.3, 0.2),
+                    4, 22, 6, 20, 2.5, Duration.ofMinutes(60), 1.3, 4);
+        }
+    }
+
+    /**
+     * One pet and its collar. Positions are kept as meter offsets from the metro area center.
+     */
+    private final class Pet {
+        private final String sensorId;
+        private final SplittableRandom random;
+        private final long intervalMillis;
+        private final double homeX;
+        private final double homeY;
+        private double x;
+        private double y;
+        private double heading;
+        private long walkStartMillis;
+        private long walkEndMillis;
+        private long lastReportMillis;
+        private long nextReportMillis;
+
+        private Pet(String sensorId, SplittableRandom random) {
+            this.sensorId = sensorId;
+            this.random = random;
+            this.intervalMillis = drawInterval(random).toMillis();
+            this.homeX = random.nextGaussian() * settings.homeSpreadMeters();
+            this.homeY = random.nextGaussian() * settings.homeSpreadMeters();
+            this.x = homeX;
+            this.y = homeY;
+            this.lastReportMillis = startMillis;
+            this.nextReportMillis = startMillis + random.nextLong(intervalMillis);
+        }
+
+        private PetSensorData report(long timeMillis) {
+            long step = timeMillis - lastReportMillis;
+            lastReportMillis = timeMillis;
+            boolean asleep = isAsleep(timeMillis);
+            if (walkEndMillis > timeMillis) {
+                walk(timeMillis, step);
+            } else if (walkEndMillis > 0) {
+                // Back from a walk
+                walkEndMillis = 0;
+                x = homeX;
+                y = homeY;
+            } else if (!asleep && random.nextDouble() < walkProbability(step)) {
+                long walkMillis = settings.walkDuration().toMillis();
+                long duration = random.nextLong(walkMillis / 3, walkMillis + 1);
+                walkStartMillis = timeMillis;
+                walkEndMillis = timeMillis + duration;
+                heading = random.nextDouble(2 * Math.PI);
+            } else if (!asleep) {
+                // Wandering around the yard
+                x = homeX + random.nextGaussian() * settings.yardMeters();
+                y = homeY + random.nextGaussian() * settings.yardMeters();
+            }
+            nextReportMillis = timeMillis + (asleep ? intervalMillis * settings.sleepSlowdown() : intervalMillis);
+            double noiseX = random.nextGaussian() * settings.gpsNoiseMeters();
+            double noiseY = random.nextGaussian() * settings.gpsNoiseMeters();
+            double latitude = settings.centerLatitude() + (y + noiseY) / METERS_PER_DEGREE;
+            double longitude = settings.centerLongitude()
+                    + (x + noiseX) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(settings.centerLatitude())));
+            return PetSensorData.builder()
+                    .sensorId(sensorId)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .timestamp(LocalDateTime.ofEpochSecond(Math.floorDiv(timeMillis, 1000),
+                            (int) Math.floorMod(timeMillis, 1000) * 1_000_000, ZoneOffset.UTC))
+                    .build();
+        }
+
+        /**
+         * Moves along the walk: away from home in a wandering direction for the first half, back
+         * towards home for the second.
+         */
+        private void walk(long timeMillis, long step) {
+            boolean returning = timeMillis - walkStartMillis > (walkEndMillis - walkStartMillis) / 2;
+            if (returning) {
+                heading = Math.atan2(homeY - y, homeX - x) + random.nextGaussian() * 0.3;
+            } else {
+                heading += random.nextGaussian() * 0.15;
+            }
+            double distance = settings.walkSpeed() * step / 1000.0;
+            x += Math.cos(heading) * distance;
+            y += Math.sin(heading) * distance;
+        }
+
+        private double walkProbability(long step) {
+            double awakeHours = 24 - Math.floorMod(settings.sleepToHour() - settings.sleepFromHour(), 24);
+            return settings.walksPerDay() * step / (awakeHours * MILLIS_PER_HOUR);
+        }
+
+        private boolean isAsleep(long timeMillis) {
+            long hour = Math.floorMod(timeMillis, MILLIS_PER_DAY) / MILLIS_PER_HOUR;
+            return settings.sleepFromHour() > settings.sleepToHour()
+                    ? hour >= settings.sleepFromHour() || hour < settings.sleepToHour()
+                    : hour >= settings.sleepFromHour() && hour < settings.sleepToHour();
+        }
+
+        private Duration drawInterval(SplittableRandom random) {
+            double roll = random.nextDouble();
+            List<Double> weights = settings.intervalWeights();
+            for (int i = 0; i < weights.size(); i++) {
+                roll -= weights.get(i);
+                if (roll < 0) {
+                    return settings.reportIntervals().get(i);
+                }
+            }
+            return settings.reportIntervals().get(settings.reportIntervals().size() - 1);
+        }
+    }
+}
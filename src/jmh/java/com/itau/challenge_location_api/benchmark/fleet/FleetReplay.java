@@ -0,0 +1,166 @@
+package com.itau.challenge_location_api.benchmark.fleet;
+
+import com.itau.challenge_location_api.application.service.LocationServiceImpl;
+import com.itau.challenge_location_api.benchmark.BenchmarkFixtures;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import com.itau.challenge_location_api.infrastructure.config.MovementThresholdConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays simulated collar fleets of growing size through {@link LocationServiceImpl} and reports what
+ * the fleet would cost in production: upstream call rate, cache hit rate and memory.
+ * Each fleet is first replayed for a warmup span so caches and per-sensor state reach a steady state,
+ * then measured over the replay span. Upstream calls are answered at once by a stub, so the replay runs
+ * far faster than the simulated time.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec@fleet-replay -Dfleet.args="--sizes=1000,100000 --span=15m"
+ * <ul>
+ *     <li>{@code --sizes} fleet sizes (default 1000,10000,100000,1000000)</li>
+ *     <li>{@code --warmup} and {@code --span} simulated durations (default 5m and 10m)</li>
+ *     <li>{@code --precision} and {@code --cache-max-size} geocode cache settings (default 4 and 100000)</li>
+ *     <li>{@code --seed} fleet seed (default 42)</li>
+ * </ul>
+ * Memory is the heap retained by the service graph after the replay, measured around a forced GC,
+ * so it is an estimate; run with a heap large enough for the biggest fleet.
+ */
+public final class FleetReplay {
+
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private FleetReplay() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        List<Integer> sizes = Arrays.stream(options.getOrDefault("sizes", "1000,10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "5m"));
+        Duration span = DurationStyle.detectAndParse(options.getOrDefault("span", "10m"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        GeocodeCacheConfig cacheConfig = new GeocodeCacheConfig();
+        cacheConfig.setPrecision(Integer.parseInt(options.getOrDefault("precision", "4")));
+        cacheConfig.setMaxSize(Long.parseLong(options.getOrDefault("cache-max-size", "100000")));
+
+        BenchmarkFixtures.silenceLogging();
+        System.out.printf(Locale.ROOT,
+                "Fleet replay: warmup %s, span %s, cache precision %d, cache max size %d, seed %d%n",
+                warmup, span, cacheConfig.getPrecision(), cacheConfig.getMaxSize(), seed);
+        System.out.printf(Locale.ROOT, "%10s %12s %10s %9s %9s %11s %13s %10s %10s %10s %9s%n",
+                "sensors", "readings", "reads/s", "reused", "cache hit", "upstream/s", "upstream/day",
+                "cache size", "history MB", "heap MB", "replay s");
+        for (int size : sizes) {
+            System.out.println(replay(size, seed, warmup, span, cacheConfig).format());
+        }
+    }
+
+    static Result replay(int sensors, long seed, Duration warmup, Duration span, GeocodeCacheConfig cacheConfig) {
+        CollarFleet fleet = new CollarFleet(sensors, seed);
+        LongAdder upstreamCalls = new LongAdder();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        long heapBefore = usedHeap();
+        LocationServiceImpl service = BenchmarkFixtures.locationService(BenchmarkFixtures.countingClient(upstreamCalls),
+                cacheConfig, new MovementThresholdConfig(), meterRegistry);
+
+        replayUntil(fleet, service, warmup);
+        Counters before = Counters.read(meterRegistry, upstreamCalls);
+        long replayStart = System.nanoTime();
+        long readings = replayUntil(fleet, service, warmup.plus(span));
+        double replaySeconds = (System.nanoTime() - replayStart) / 1e9;
+        Counters after = Counters.read(meterRegistry, upstreamCalls);
+
+        double simulatedSeconds = span.toMillis() / 1000.0;
+        long lookups = (long) (after.cacheHits - before.cacheHits + after.cacheMisses - before.cacheMisses);
+        long upstream = after.upstreamCalls - before.upstreamCalls;
+        double cacheSize = meterRegistry.get("cache.size").tag("cache", "geocode").gauge().value();
+        double historyBytes = meterRegistry.get("pet.location.history.bytes").gauge().value();
+        long heapAfter = usedHeap();
+        Reference.reachabilityFence(service);
+        return new Result(sensors, readings, readings / simulatedSeconds,
+                ratio(after.reused - before.reused, readings),
+                ratio(after.cacheHits - before.cacheHits, lookups),
+                upstream / simulatedSeconds, cacheSize, historyBytes, heapAfter - heapBefore, replaySeconds);
+    }
+
+    private static long replayUntil(CollarFleet fleet, LocationServiceImpl service, Duration until) {
+        long readings = 0;
+        while (fleet.elapsed().compareTo(until) < 0) {
+            service.getLocationFromCoordinates(fleet.next());
+            readings++;
+        }
+        return readings;
+    }
+
+    private static double ratio(double part, double total) {
+        return total > 0 ? part / total : 0;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private record Counters(double cacheHits, double cacheMisses, double reused, long upstreamCalls) {
+
+        static Counters read(SimpleMeterRegistry meterRegistry, LongAdder upstreamCalls) {
+            return new Counters(
+                    meterRegistry.get("cache.gets").tags("cache", "geocode", "result", "hit")
+                            .functionCounter().count(),
+                    meterRegistry.get("cache.gets").tags("cache", "geocode", "result", "miss")
+                            .functionCounter().count(),
+                    meterRegistry.get("pet.location.shortcircuit").counter().count(),
+                    upstreamCalls.sum());
+        }
+    }
+
+    /**
+     * Measured span of one fleet size.
+     *
+     * @param sensors        fleet size
+     * @param readings       readings replayed in the span
+     * @param readingsRate   readings per simulated second
+     * @param reusedShare    share of readings answered with the sensor's last location, without any lookup
+     * @param cacheHitRate   share of lookups answered by the geocode cache
+     * @param upstreamRate   upstream calls per simulated second
+     * @param cacheSize      cells in the geocode cache at the end
+     * @param historyBytes   encoded size of the location histories at the end
+     * @param heapBytes      heap retained by the service graph at the end
+     * @param replaySeconds  wall time of the measured span
+     */
+    record Result(int sensors, long readings, double readingsRate, double reusedShare, double cacheHitRate,
+                  double upstreamRate, double cacheSize, double historyBytes, long heapBytes, double replaySeconds) {
+
+        String format() {
+            return String.format(Locale.ROOT,
+                    "%10d %12d %10.1f %8.1f%% %8.1f%% %11.2f %13.0f %10.0f %10.1f %10.1f %9.1f",
+                    sensors, readings, readingsRate, reusedShare * 100, cacheHitRate * 100, upstreamRate,
+                    upstreamRate * Duration.ofDays(1).toSeconds(), cacheSize, historyBytes / BYTES_PER_MEGABYTE,
+                    heapBytes / BYTES_PER_MEGABYTE, replaySeconds);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.itau.challenge_location_api.benchmark.fleet;
+
+import com.itau.challenge_location_api.application.service.LocationServiceImpl;
+import com.itau.challenge_location_api.benchmark.BenchmarkFixtures;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import com.itau.challenge_location_api.infrastructure.config.MovementThresholdConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of the location service on realistic collar traffic rather than a single repeated
+ * reading: movement short-circuits, cache hits and misses come in the proportions a fleet produces.
+ * The upstream calls made per iteration are reported next to the throughput, so cache precisions can
+ * be compared on both. Readings are generated as they are consumed, {@code generateReading} measures
+ * that share of the cost.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="FleetWorkloadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FleetWorkloadBenchmark {
+
+    @Param({"1000", "100000"})
+    private int fleetSize;
+
+    @Param({"3", "4"})
+    private int cachePrecision;
+
+    private CollarFleet fleet;
+    private LocationServiceImpl service;
+    private LongAdder upstreamCalls;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.silenceLogging();
+        fleet = new CollarFleet(fleetSize, 42);
+        upstreamCalls = new LongAdder();
+        GeocodeCacheConfig cacheConfig = new GeocodeCacheConfig();
+        cacheConfig.setPrecision(cachePrecision);
+        service = BenchmarkFixtures.locationService(BenchmarkFixtures.countingClient(upstreamCalls), cacheConfig,
+                new MovementThresholdConfig(), new SimpleMeterRegistry());
+        // Lets caches and per-sensor state fill before measuring
+        while (fleet.elapsed().compareTo(Duration.ofMinutes(5)) < 0) {
+            service.getLocationFromCoordinates(fleet.next());
+        }
+    }
+
+    /**
+     * Upstream calls made during the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Upstream {
+        public long upstreamCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            upstreamCalls = 0;
+        }
+    }
+
+    @Benchmark
+    public LocationInfo resolveFleetReading(Upstream upstream) {
+        long before = upstreamCalls.sum();
+        LocationInfo locationInfo = service.getLocationFromCoordinates(fleet.next());
+        upstream.upstreamCalls += upstreamCalls.sum() - before;
+        return locationInfo;
+    }
+
+    @Benchmark
+    public PetSensorData generateReading() {
+        return fleet.next();
+    }
+}
@@ -0,0 +1,63 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.benchmark.BenchmarkFixtures;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the per-lookup work done around the PositionStack call:
+ * formatting the coordinate query and mapping the response to the domain model.
+ * Lives in the client package because both steps are package-private.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="LocationMappingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationMappingBenchmark {
+
+    private PositionStackGeocodingProvider provider;
+    private PositionStackResponse response;
+    private PetSensorData reading;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.silenceLogging();
+        provider = BenchmarkFixtures.positionStackProvider(BenchmarkFixtures.stubClient(0), new SimpleMeterRegistry());
+        response = BenchmarkFixtures.sampleResponse();
+        reading = PetSensorData.builder()
+                .sensorId("sensor-1")
+                .latitude(-23.5505)
+                .longitude(-46.6333)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public String formatCoordinates() {
+        return provider.formatCoordinates(reading);
+    }
+
+    @Benchmark
+    public LocationInfo mapToLocationInfo() {
+        return provider.mapToLocationInfo(response, reading);
+    }
+}
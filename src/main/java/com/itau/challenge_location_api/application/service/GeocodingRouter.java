@@ -0,0 +1,299 @@
+package com.itau.challenge_location_api.application.service;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.GeocodingProvider;
+import com.itau.challenge_location_api.infrastructure.config.GeocodingConfig;
+import com.itau.challenge_location_api.infrastructure.metrics.LatencyWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends reverse geocoding lookups to the registered {@link GeocodingProvider}s in priority order.
+ * A failing provider hands the lookup over to the next one; when all of them fail, the error of the
+ * primary is reported. With hedging enabled, an interactive lookup the primary has not answered within
+ * its recent latency percentile is also sent to the next providers, and the first answer wins.
+ */
+@Component
+@Slf4j
+public class GeocodingRouter {
+
+    private final List<RegisteredProvider> providers;
+    private final GeocodingConfig.Hedging hedging;
+    private final Counter hedgedLookups;
+    private final Counter hedgeWins;
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayRefreshedAt;
+
+    public GeocodingRouter(List<GeocodingProvider> providers, GeocodingConfig geocodingConfig,
+                           MeterRegistry meterRegistry) {
+        this.hedging = geocodingConfig.getHedging();
+        this.providers = providers.stream()
+                .filter(GeocodingProvider::isAvailable)
+                .map(provider -> new RegisteredProvider(provider,
+                        geocodingConfig.getProviders().getOrDefault(provider.getName(), new GeocodingConfig.Provider()),
+                        hedging.getWindow(), meterRegistry))
+                .filter(registered -> registered.config.isEnabled())
+                .sorted(Comparator.comparingInt(registered -> registered.config.getPriority()))
+                .toList();
+        if (this.providers.isEmpty()) {
+            throw new IllegalStateException("No reverse geocoding provider is enabled and available");
+        }
+        this.hedgedLookups = Counter.builder("pet.location.provider.hedged")
+                .description("Total number of lookups sent to a secondary provider because the primary was slow")
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("pet.location.provider.hedge.wins")
+                .description("Total number of hedged lookups answered first by a secondary provider")
+                .register(meterRegistry);
+        this.hedgeDelayNanos = hedging.getInitialDelay().toNanos();
+        log.info("Reverse geocoding providers in priority order: {}",
+                this.providers.stream().map(registered -> registered.name).toList());
+    }
+
+    /**
+     * Resolves a reading, blocking the caller.
+     *
+     * @param sensorData the pet sensor data containing coordinates
+     * @param priority the priority of the lookup
+     * @return the location and the provider that answered
+     */
+    public Result resolve(PetSensorData sensorData, LookupPriority priority) {
+        if (isHedged(priority)) {
+            try {
+                return resolveAsync(sensorData, priority).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        RuntimeException primaryFailure = null;
+        for (int i = 0; i < providers.size(); i++) {
+            RegisteredProvider registered = providers.get(i);
+            long start = System.nanoTime();
+            try {
+                LocationInfo locationInfo = registered.provider.reverseGeocode(sensorData, priority);
+                registered.recordSuccess(System.nanoTime() - start);
+                return new Result(locationInfo, registered.name, i == 0);
+            } catch (RuntimeException e) {
+                registered.recordFailure(e);
+                if (primaryFailure == null) {
+                    primaryFailure = e;
+                }
+            }
+        }
+        throw primaryFailure;
+    }
+
+    /**
+     * Resolves a reading without blocking the caller, hedging interactive lookups when enabled.
+     *
+     * @param sensorData the pet sensor data containing coordinates
+     * @param priority the priority of the lookup
+     * @return future completed with the location and the provider that answered
+     */
+    public CompletableFuture<Result> resolveAsync(PetSensorData sensorData, LookupPriority priority) {
+        if (isHedged(priority)) {
+            return new HedgedLookup(sensorData, priority).start();
+        }
+        return failover(0, sensorData, priority, null);
+    }
+
+    private boolean isHedged(LookupPriority priority) {
+        return hedging.isEnabled() && priority == LookupPriority.INTERACTIVE && providers.size() > 1;
+    }
+
+    /**
+     * Tries the providers from the given index on, one after the other.
+     */
+    private CompletableFuture<Result> failover(int index, PetSensorData sensorData, LookupPriority priority,
+                                               Throwable firstFailure) {
+        if (index >= providers.size()) {
+            return CompletableFuture.failedFuture(firstFailure);
+        }
+        return call(index, sensorData, priority)
+                .handle((result, failure) -> result != null
+                        ? CompletableFuture.completedFuture(result)
+                        : failover(index + 1, sensorData, priority,
+                                firstFailure != null ? firstFailure : unwrap(failure)))
+                .thenCompose(future -> future);
+    }
+
+    private CompletableFuture<Result> call(int index, PetSensorData sensorData, LookupPriority priority) {
+        RegisteredProvider registered = providers.get(index);
+        long start = System.nanoTime();
+        CompletableFuture<LocationInfo> future;
+        try {
+            future = registered.provider.reverseGeocodeAsync(sensorData, priority);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((locationInfo, failure) -> {
+            if (failure != null) {
+                Throwable error = unwrap(failure);
+                registered.recordFailure(error);
+                throw error instanceof RuntimeException runtime ? runtime : new CompletionException(error);
+            }
+            registered.recordSuccess(System.nanoTime() - start);
+            return new Result(locationInfo, registered.name, index == 0);
+        });
+    }
+
+    /**
+     * Delay after which a lookup still waiting for the primary is hedged, recomputed from the
+     * primary's recent latencies at most once per refresh interval.
+     */
+    private long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayRefreshedAt >= hedging.getRefreshInterval().toNanos()) {
+            hedgeDelayRefreshedAt = now;
+            LatencyWindow latencies = providers.get(0).latencies;
+            if (latencies.count() >= hedging.getMinSamples()) {
+                hedgeDelayNanos = Math.max(hedging.getMinDelay().toNanos(),
+                        latencies.percentile(hedging.getPercentile()));
+            }
+        }
+        return hedgeDelayNanos;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Location resolved by a provider.
+     *
+     * @param locationInfo location information bound to the reading
+     * @param provider name of the provider that answered
+     * @param primary whether the answer came from the primary provider
+     */
+    public record Result(LocationInfo locationInfo, String provider, boolean primary) {
+    }
+
+    /**
+     * A lookup sent to the primary and, once the hedging delay expires or the primary fails, to the
+     * remaining providers in order. The first answer completes the lookup; it fails with the primary's
+     * error only when every provider failed.
+     */
+    private final class HedgedLookup {
+        private final PetSensorData sensorData;
+        private final LookupPriority priority;
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+        private final AtomicBoolean secondaryStarted = new AtomicBoolean();
+        private final AtomicReference<Throwable> primaryFailure = new AtomicReference<>();
+
+        private HedgedLookup(PetSensorData sensorData, LookupPriority priority) {
+            this.sensorData = sensorData;
+            this.priority = priority;
+        }
+
+        private CompletableFuture<Result> start() {
+            call(0, sensorData, priority).whenComplete((primary, failure) -> {
+                if (failure != null) {
+                    primaryFailure.set(unwrap(failure));
+                    startSecondary(false);
+                }
+                settle(primary, failure);
+            });
+            if (!result.isDone()) {
+                CompletableFuture.delayedExecutor(hedgeDelayNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+                    if (!result.isDone()) {
+                        startSecondary(true);
+                    }
+                });
+            }
+            return result;
+        }
+
+        private void startSecondary(boolean hedge) {
+            // Counted before the race for the start, so the other caller cannot settle the lookup
+            // while the winner has yet to register its call
+            outstanding.incrementAndGet();
+            if (!secondaryStarted.compareAndSet(false, true)) {
+                release(null);
+                return;
+            }
+            if (hedge) {
+                hedgedLookups.increment();
+                log.debug("Primary provider slow for sensor {}, hedging", sensorData.getSensorId());
+            }
+            failover(1, sensorData, priority, null).whenComplete((secondary, failure) -> {
+                if (secondary != null && primaryFailure.get() == null && !result.isDone()) {
+                    hedgeWins.increment();
+                }
+                settle(secondary, failure);
+            });
+        }
+
+        private void settle(Result answer, Throwable failure) {
+            if (failure == null) {
+                result.complete(answer);
+            }
+            release(failure);
+        }
+
+        /**
+         * Ends one outstanding call, failing the lookup when it was the last one and nothing answered.
+         */
+        private void release(Throwable failure) {
+            if (outstanding.decrementAndGet() == 0 && !result.isDone()) {
+                Throwable primary = primaryFailure.get();
+                result.completeExceptionally(primary != null ? primary : unwrap(failure));
+            }
+        }
+    }
+
+    /**
+     * A provider with its registration and latency tracking.
+     */
+    private static final class RegisteredProvider {
+        private final GeocodingProvider provider;
+        private final String name;
+        private final GeocodingConfig.Provider config;
+        private final LatencyWindow latencies;
+        private final Timer duration;
+        private final Counter failures;
+
+        private RegisteredProvider(GeocodingProvider provider, GeocodingConfig.Provider config, int window,
+                                   MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.name = provider.getName();
+            this.config = config;
+            this.latencies = new LatencyWindow(window);
+            this.duration = Timer.builder("pet.location.provider.duration")
+                    .description("Duration of successful lookups per reverse geocoding provider")
+                    .tag("provider", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.failures = Counter.builder("pet.location.provider.failures")
+                    .description("Total number of failed lookups per reverse geocoding provider")
+                    .tag("provider", name)
+                    .register(meterRegistry);
+        }
+
+        private void recordSuccess(long nanos) {
+            latencies.record(nanos);
+            duration.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void recordFailure(Throwable error) {
+            failures.increment();
+            log.debug("Reverse geocoding provider {} failed: {}", name, error.getMessage());
+        }
+    }
+}
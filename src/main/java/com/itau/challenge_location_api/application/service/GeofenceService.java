@@ -0,0 +1,165 @@
+package com.itau.challenge_location_api.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.challenge_location_api.domain.model.Geofence;
+import com.itau.challenge_location_api.domain.model.GeofenceEvent;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.GeofencingConfig;
+import com.itau.challenge_location_api.infrastructure.geo.GeofenceIndex;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Registers geofences and checks every reading against them.
+ * A reading only tests the fences of its grid cell, and the inside/outside state is only kept for
+ * sensors inside a fence or that recently left one, so evaluating a reading takes microseconds
+ * whatever the number of fences. Entries and exits are published as {@link GeofenceEvent} application events on the
+ * request thread; listeners doing slow work should hand it off.
+ */
+@Service
+@Slf4j
+public class GeofenceService {
+
+    private final GeofencingConfig config;
+    private final GeofenceIndex index;
+    private final Cache<String, SensorState> states;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationMetricsService metricsService;
+
+    public GeofenceService(GeofencingConfig config, ApplicationEventPublisher eventPublisher,
+                           LocationMetricsService metricsService) {
+        this.config = config;
+        this.index = new GeofenceIndex(config.getCellSize(), config.getMaxCellsPerFence());
+        this.states = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSensors())
+                .expireAfterWrite(config.getStateTtl())
+                .build();
+        this.eventPublisher = eventPublisher;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registers a geofence, replacing the one with the same id.
+     *
+     * @param geofence fence to register, an id is generated when absent
+     * @return the registered fence
+     * @throws IllegalArgumentException when the shape is incomplete
+     */
+    public Geofence register(Geofence geofence) {
+        Geofence registered = geofence.toBuilder()
+                .id(geofence.getId() != null ? geofence.getId() : UUID.randomUUID().toString())
+                .sensorIds(geofence.getSensorIds() != null ? Set.copyOf(geofence.getSensorIds()) : Set.of())
+                .vertices(geofence.getVertices() != null ? List.copyOf(geofence.getVertices()) : null)
+                .build();
+        index.put(registered);
+        log.info("Registered geofence {} for {} sensors", registered.getId(), registered.getSensorIds().size());
+        return registered;
+    }
+
+    public Geofence find(String id) {
+        return index.get(id);
+    }
+
+    public Collection<Geofence> findAll() {
+        return index.getAll();
+    }
+
+    /**
+     * Removes a geofence. Sensors inside it get no exit event.
+     *
+     * @param id id of the fence
+     * @return true when the fence existed
+     */
+    public boolean remove(String id) {
+        boolean removed = index.remove(id);
+        if (removed) {
+            log.info("Removed geofence {}", id);
+        }
+        return removed;
+    }
+
+    /**
+     * Checks a reading against the sensor's geofences and publishes the entries and exits since
+     * its previous reading. Readings older than the last evaluated one leave the state unchanged.
+     *
+     * @param sensorData reading to evaluate
+     * @return the events of the reading, empty when it crossed no fence edge
+     */
+    public List<GeofenceEvent> evaluate(PetSensorData sensorData) {
+        if (!config.isEnabled() || sensorData.getSensorId() == null) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        String sensorId = sensorData.getSensorId();
+        List<String> inside = index.findContaining(sensorId, sensorData.getLatitude(), sensorData.getLongitude());
+        if (inside.isEmpty() && isOutside(states.getIfPresent(sensorId))) {
+            metricsService.recordStage(Stage.GEOFENCE, System.nanoTime() - start);
+            return List.of();
+        }
+        List<GeofenceEvent> events = new ArrayList<>(1);
+        states.asMap().compute(sensorId, (id, state) -> {
+            events.clear();
+            if (state != null && isOlder(sensorData.getTimestamp(), state.timestamp())) {
+                return state;
+            }
+            List<String> before = state != null ? state.inside() : List.of();
+            for (String geofenceId : inside) {
+                if (!before.contains(geofenceId)) {
+                    events.add(event(geofenceId, GeofenceEvent.Type.ENTER, sensorData));
+                }
+            }
+            for (String geofenceId : before) {
+                if (!inside.contains(geofenceId) && index.contains(geofenceId)) {
+                    events.add(event(geofenceId, GeofenceEvent.Type.EXIT, sensorData));
+                }
+            }
+            // After an exit the empty state stays until it expires, so that readings older than the
+            // exit cannot report a new entry
+            return inside.isEmpty() && before.isEmpty() ? state : new SensorState(inside, sensorData.getTimestamp());
+        });
+        metricsService.recordStage(Stage.GEOFENCE, System.nanoTime() - start);
+        for (GeofenceEvent event : events) {
+            log.info("Sensor {} {} geofence {}", sensorId,
+                    event.getType() == GeofenceEvent.Type.ENTER ? "entered" : "left", event.getGeofenceId());
+            metricsService.incrementGeofenceEvents(event.getType());
+            eventPublisher.publishEvent(event);
+        }
+        return events;
+    }
+
+    private static boolean isOutside(SensorState state) {
+        return state == null || state.inside().isEmpty();
+    }
+
+    private static boolean isOlder(LocalDateTime timestamp, LocalDateTime last) {
+        return timestamp != null && last != null && timestamp.isBefore(last);
+    }
+
+    private static GeofenceEvent event(String geofenceId, GeofenceEvent.Type type, PetSensorData sensorData) {
+        return GeofenceEvent.builder()
+                .geofenceId(geofenceId)
+                .sensorId(sensorData.getSensorId())
+                .type(type)
+                .latitude(sensorData.getLatitude())
+                .longitude(sensorData.getLongitude())
+                .timestamp(sensorData.getTimestamp())
+                .build();
+    }
+
+    /**
+     * Fences a sensor was inside at its last evaluated reading.
+     */
+    private record SensorState(List<String> inside, LocalDateTime timestamp) {
+    }
+}
@@ -1,96 +1,428 @@
 package com.itau.challenge_location_api.application.service;
 
 import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LocationLookupResult;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
 import com.itau.challenge_location_api.domain.model.PetSensorData;
 import com.itau.challenge_location_api.domain.service.LocationService;
-import com.itau.challenge_location_api.infrastructure.client.PositionStackClient;
-import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
-import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
-import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import com.itau.challenge_location_api.infrastructure.cache.GeocodeCache;
+import com.itau.challenge_location_api.infrastructure.cache.LastKnownLocationStore;
+import com.itau.challenge_location_api.infrastructure.cache.ReadingDeduplicator;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackQuotaExceededException;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackUnavailableException;
+import com.itau.challenge_location_api.infrastructure.concurrency.SingleFlight;
+import com.itau.challenge_location_api.infrastructure.geo.OfflineGeocoder;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
- * Implementation of the LocationService interface that uses the PositionStack API
- * to convert coordinates to address information.
+ * Implementation of the LocationService interface that converts coordinates to address information
+ * through the geocoding providers, PositionStack first, caching the results per coordinate cell.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LocationServiceImpl implements LocationService {
-    private final PositionStackClient positionStackClient;
-    private final PositionStackConfig positionStackConfig;
+    private final GeocodingRouter geocodingRouter;
+    private final GeocodeCache geocodeCache;
+    private final Executor geocodingExecutor;
+    private final LocationMetricsService metricsService;
+    private final OfflineGeocoder offlineGeocoder;
+    private final LastKnownLocationStore lastKnownLocations;
+    private final TrackSimplifier trackSimplifier;
+    private final GeofenceService geofenceService;
+    private final ReadingDeduplicator readingDeduplicator;
+    private final SingleFlight<Long, LocationInfo> inFlightLookups = new SingleFlight<>();
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A retried reading gets its earlier response back. Any other reading is added to the sensor's
+     * track and checked against its geofences, then answered from the sensor's last fix when the pet
+     * has not moved, from the geocode cache, or from the geocoding providers, in that order.
+     */
     @Override
     public LocationInfo getLocationFromCoordinates(PetSensorData sensorData) {
         log.info("Getting location for pet sensor: {} at coordinates ({}, {})",
                 sensorData.getSensorId(), sensorData.getLatitude(), sensorData.getLongitude());
+        LocationInfo previous = findPrevious(sensorData);
+        if (previous != null) {
+            return previous;
+        }
+        boolean redundant = observe(sensorData);
+        LocationInfo unmoved = findUnmoved(sensorData, redundant);
+        if (unmoved != null) {
+            readingDeduplicator.record(sensorData, unmoved);
+            return unmoved;
+        }
+        LocationInfo locationInfo = resolveLocation(sensorData, LookupPriority.INTERACTIVE);
+        remember(sensorData, locationInfo);
+        return locationInfo;
+    }
+
+    @Override
+    public CompletableFuture<LocationInfo> getLocationFromCoordinatesAsync(PetSensorData sensorData) {
+        return getLocationFromCoordinatesAsync(sensorData, LookupPriority.INTERACTIVE);
+    }
+
+    @Override
+    public CompletableFuture<LocationInfo> getLocationFromCoordinatesAsync(PetSensorData sensorData,
+                                                                           LookupPriority priority) {
+        log.info("Getting location asynchronously for pet sensor: {} at coordinates ({}, {})",
+                sensorData.getSensorId(), sensorData.getLatitude(), sensorData.getLongitude());
+        LocationInfo previous = findPrevious(sensorData);
+        if (previous != null) {
+            return CompletableFuture.completedFuture(previous);
+        }
+        boolean redundant = observe(sensorData);
+        LocationInfo unmoved = findUnmoved(sensorData, redundant);
+        if (unmoved != null) {
+            readingDeduplicator.record(sensorData, unmoved);
+            return CompletableFuture.completedFuture(unmoved);
+        }
+        long cellKey = geocodeCache.cellKey(sensorData.getLatitude(), sensorData.getLongitude());
+        LocationInfo cached = lookupCache(cellKey);
+        CompletableFuture<LocationInfo> lookup;
+        if (cached != null) {
+            log.debug("Cache hit for sensor: {}", sensorData.getSensorId());
+            lookup = CompletableFuture.completedFuture(cached);
+        } else {
+            lookup = inFlightLookups.execute(cellKey,
+                    () -> fetchLocationAsync(sensorData, cellKey, priority),
+                    metricsService::incrementCoalescedLookups);
+        }
+        return lookup.thenApply(resolved -> {
+            LocationInfo locationInfo = forSensor(resolved, sensorData);
+            remember(sensorData, locationInfo);
+            return locationInfo;
+        });
+    }
+
+    @Override
+    public List<LocationLookupResult> getLocationsFromCoordinates(List<PetSensorData> sensorDataList) {
+        log.info("Getting locations for a batch of {} readings", sensorDataList.size());
+        // Readings in the same cell share a single lookup, distinct cells are resolved concurrently
+        Map<Long, CompletableFuture<LocationInfo>> lookupsByCell = new HashMap<>();
+        List<CompletableFuture<LocationInfo>> lookups = new ArrayList<>(sensorDataList.size());
+        for (PetSensorData sensorData : sensorDataList) {
+            LocationInfo previous = findPrevious(sensorData);
+            if (previous != null) {
+                lookups.add(CompletableFuture.completedFuture(previous));
+                continue;
+            }
+            boolean redundant = observe(sensorData);
+            LocationInfo unmoved = findUnmoved(sensorData, redundant);
+            if (unmoved != null) {
+                lookups.add(CompletableFuture.completedFuture(unmoved));
+                continue;
+            }
+            long cellKey = geocodeCache.cellKey(sensorData.getLatitude(), sensorData.getLongitude());
+            lookups.add(lookupsByCell.computeIfAbsent(cellKey, key -> CompletableFuture.supplyAsync(
+                    () -> resolveLocation(sensorData, LookupPriority.BULK), geocodingExecutor)));
+        }
+        log.debug("Batch of {} readings resolved through {} distinct lookups",
+                sensorDataList.size(), lookupsByCell.size());
+
+        List<LocationLookupResult> results = new ArrayList<>(sensorDataList.size());
+        for (int i = 0; i < sensorDataList.size(); i++) {
+            PetSensorData sensorData = sensorDataList.get(i);
+            try {
+                LocationInfo locationInfo = forSensor(lookups.get(i).join(), sensorData);
+                remember(sensorData, locationInfo);
+                results.add(LocationLookupResult.success(locationInfo));
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results.add(LocationLookupResult.failure(sensorData.getSensorId(), cause.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the response given to an earlier occurrence of a retried reading. The retry is still
+     * checked against the geofences, which ignore a reading they already evaluated, but it is not added
+     * to the track again.
+     *
+     * @param sensorData current sensor data
+     * @return the earlier response, or null when the reading must be handled
+     */
+    private LocationInfo findPrevious(PetSensorData sensorData) {
+        LocationInfo previous = readingDeduplicator.findPrevious(sensorData);
+        if (previous != null) {
+            geofenceService.evaluate(sensorData);
+            log.debug("Reading of sensor {} at {} already handled, returning its response",
+                    sensorData.getSensorId(), sensorData.getTimestamp());
+        }
+        return previous;
+    }
+
+    /**
+     * Adds a reading to the sensor's simplified track and checks it against the sensor's geofences.
+     *
+     * @param sensorData current sensor data
+     * @return true when the reading continues the sensor's current straight segment
+     */
+    private boolean observe(PetSensorData sensorData) {
+        readingDeduplicator.markSeen(sensorData);
+        boolean redundant = trackSimplifier.offer(sensorData);
+        geofenceService.evaluate(sensorData);
+        return redundant;
+    }
+
+    /**
+     * Returns the sensor's last resolved location when the pet has not moved since, or when the
+     * reading only continues the straight segment the pet was on.
+     *
+     * @param sensorData current sensor data
+     * @param redundant whether the reading continues the sensor's current segment
+     * @return last resolved location bound to the current reading, or null when it must be resolved
+     */
+    private LocationInfo findUnmoved(PetSensorData sensorData, boolean redundant) {
+        LocationInfo lastFix = redundant
+                ? lastKnownLocations.findRecent(sensorData)
+                : lastKnownLocations.findUnmoved(sensorData);
+        if (lastFix == null) {
+            return null;
+        }
+        metricsService.incrementShortCircuitedReadings();
+        log.debug("Sensor {} has not moved, reusing its last resolved location", sensorData.getSensorId());
+        return forSensor(lastFix, sensorData);
+    }
+
+    /**
+     * Records a resolved reading as the sensor's last fix and as the response to its retries.
+     *
+     * @param sensorData resolved sensor data
+     * @param locationInfo location resolved for it
+     */
+    private void remember(PetSensorData sensorData, LocationInfo locationInfo) {
+        lastKnownLocations.record(sensorData, locationInfo);
+        readingDeduplicator.record(sensorData, locationInfo);
+    }
+
+    /**
+     * Resolves the location of a reading from the cache or, on a miss, from the geocoding providers.
+     * Concurrent misses for the same cell share a single provider call.
+     *
+     * @param sensorData sensor data whose coordinates are resolved
+     * @param priority priority of the lookup on the API key quota
+     * @return location information bound to the reading
+     */
+    private LocationInfo resolveLocation(PetSensorData sensorData, LookupPriority priority) {
+        long cellKey = geocodeCache.cellKey(sensorData.getLatitude(), sensorData.getLongitude());
+        LocationInfo cached = lookupCache(cellKey);
+        if (cached != null) {
+            log.debug("Cache hit for sensor: {}", sensorData.getSensorId());
+            return forSensor(cached, sensorData);
+        }
         try {
-            String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
-            log.debug("Formatted coordinates for API call: {}", coordinates);
-            PositionStackResponse response = positionStackClient.reverseGeocode(
-                    positionStackConfig.getKey(), 
-                    coordinates
-            );
-            return mapToLocationInfo(response, sensorData);
+            LocationInfo locationInfo = inFlightLookups.execute(cellKey,
+                    () -> CompletableFuture.completedFuture(fetchLocation(sensorData, cellKey, priority)),
+                    metricsService::incrementCoalescedLookups).join();
+            return forSensor(locationInfo, sensorData);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Looks a cell up in the geocode cache, recording the time spent.
+     *
+     * @param cellKey cache cell of the coordinates
+     * @return cached location, or null on a miss
+     */
+    private LocationInfo lookupCache(long cellKey) {
+        long start = System.nanoTime();
+        LocationInfo cached = geocodeCache.get(cellKey);
+        metricsService.recordStage(Stage.CACHE_LOOKUP, System.nanoTime() - start);
+        return cached;
+    }
+
+    /**
+     * Resolves the coordinates of a reading through the geocoding providers and caches the result for its cell.
+     * Only answers from the primary provider are cached, so a fallback answer does not outlive the outage.
+     *
+     * @param sensorData sensor data whose coordinates are resolved
+     * @param cellKey cache cell of the coordinates
+     * @param priority priority of the lookup on the API key quota
+     * @return mapped location information
+     */
+    private LocationInfo fetchLocation(PetSensorData sensorData, long cellKey, LookupPriority priority) {
+        LocationInfo offline = resolveOffline(sensorData);
+        if (offline != null && !offlineGeocoder.isStreetLevelRequired()) {
+            geocodeCache.put(cellKey, offline);
+            return offline;
+        }
+        try {
+            return cacheResult(geocodingRouter.resolve(sensorData, priority), cellKey, offline);
+        } catch (PositionStackQuotaExceededException e) {
+            return degrade(sensorData, offline, e);
+        } catch (PositionStackUnavailableException e) {
+            log.warn("PositionStack call rejected: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error getting location from PositionStack API", e);
             throw new RuntimeException("Failed to retrieve location information", e);
         }
     }
-    
+
     /**
-     * Maps PositionStack API response to our domain LocationInfo model.
-     * 
-     * @param response API response from PositionStack
-     * @param sensorData original sensor data
-     * @return mapped location information
+     * Resolves the coordinates of a reading through the geocoding providers without blocking and caches
+     * the result for its cell.
+     *
+     * @param sensorData sensor data whose coordinates are resolved
+     * @param cellKey cache cell of the coordinates
+     * @param priority priority of the lookup on the API key quota
+     * @return future completed with the mapped location information
+     */
+    private CompletableFuture<LocationInfo> fetchLocationAsync(PetSensorData sensorData, long cellKey,
+                                                               LookupPriority priority) {
+        LocationInfo offline = resolveOffline(sensorData);
+        if (offline != null && !offlineGeocoder.isStreetLevelRequired()) {
+            geocodeCache.put(cellKey, offline);
+            return CompletableFuture.completedFuture(offline);
+        }
+        return geocodingRouter.resolveAsync(sensorData, priority)
+                .handle((result, failure) -> {
+                    Throwable error = unwrap(failure);
+                    if (error instanceof PositionStackQuotaExceededException exhausted) {
+                        return degrade(sensorData, offline, exhausted);
+                    }
+                    if (error instanceof PositionStackUnavailableException rejection) {
+                        log.warn("PositionStack call rejected: {}", rejection.getMessage());
+                        throw rejection;
+                    }
+                    if (error != null) {
+                        log.error("Error getting location from PositionStack API", error);
+                        throw new RuntimeException("Failed to retrieve location information", error);
+                    }
+                    return cacheResult(result, cellKey, offline);
+                });
+    }
+
+    /**
+     * Merges the offline areas into a provider answer and caches it for the cell when it came from the primary.
+     *
+     * @param result answer of the geocoding providers
+     * @param cellKey cache cell of the coordinates
+     * @param offline location resolved offline, may be null
+     * @return merged location information
+     */
+    private LocationInfo cacheResult(GeocodingRouter.Result result, long cellKey, LocationInfo offline) {
+        LocationInfo locationInfo = withOfflineAreas(result.locationInfo(), offline);
+        if (result.primary()) {
+            geocodeCache.put(cellKey, locationInfo);
+        } else {
+            log.debug("Location answered by fallback provider {}, not caching it", result.provider());
+        }
+        return locationInfo;
+    }
+
+    /**
+     * Answers a lookup that could not get a PositionStack call from the API key quota with a coarser
+     * location: the offline areas when the boundary dataset covers the point, otherwise the country,
+     * state and city of the sensor's recent fix. Degraded answers are not cached for the cell.
+     *
+     * @param sensorData sensor data whose coordinates are resolved
+     * @param offline location already resolved offline, may be null
+     * @param exhausted the quota rejection, rethrown when no coarser answer exists
+     * @return coarse location information bound to the reading
      */
-    private LocationInfo mapToLocationInfo(PositionStackResponse response, PetSensorData sensorData) {
-        List<PositionStackData> dataList = Optional.ofNullable(response.getData())
-                .orElse(Collections.emptyList());
-        if (dataList.isEmpty()) {
-            log.warn("No location data found for coordinates: {}, {}", 
+    private LocationInfo degrade(PetSensorData sensorData, LocationInfo offline,
+                                 PositionStackQuotaExceededException exhausted) {
+        LocationInfo coarse = offline;
+        if (coarse == null) {
+            LocationInfo resolved = offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude());
+            coarse = resolved != null ? forSensor(resolved, sensorData) : null;
+        }
+        if (coarse == null) {
+            LocationInfo recent = lastKnownLocations.findRecent(sensorData);
+            coarse = recent == null ? null : LocationInfo.builder()
+                    .sensorId(sensorData.getSensorId())
+                    .latitude(sensorData.getLatitude())
+                    .longitude(sensorData.getLongitude())
+                    .country(recent.getCountry())
+                    .state(recent.getState())
+                    .city(recent.getCity())
+                    .build();
+        }
+        if (coarse == null) {
+            log.warn("PositionStack quota exhausted and no coarse location for sensor: {}", sensorData.getSensorId());
+            throw exhausted;
+        }
+        metricsService.incrementDegradedLookups();
+        log.debug("PositionStack quota exhausted, answering sensor {} with a coarse location",
+                sensorData.getSensorId());
+        return coarse;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Resolves the coarse fields of a reading locally when the offline geocoder runs as first tier.
+     *
+     * @param sensorData sensor data whose coordinates are resolved
+     * @return offline location bound to the reading, or null when it must come from PositionStack
+     */
+    private LocationInfo resolveOffline(PetSensorData sensorData) {
+        if (!offlineGeocoder.isFirstTier()) {
+            return null;
+        }
+        LocationInfo offline = offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude());
+        if (!offlineGeocoder.isComplete(offline)) {
+            log.debug("Offline geocoder could not resolve coordinates: {}, {}",
                     sensorData.getLatitude(), sensorData.getLongitude());
-            return createEmptyLocationInfo(sensorData);
+            return null;
         }
-        // Use the first result (most relevant)
-        PositionStackData data = dataList.get(0);
-        log.debug("Mapped location data: {}", data);
-        String neighborhood = data.getNeighborhood();
-        if (neighborhood == null && data.getAdministrativeArea() != null) {
-            neighborhood = data.getAdministrativeArea();
-            log.debug("Using administrativeArea as neighborhood: {}", neighborhood);
+        return forSensor(offline, sensorData);
+    }
+
+    /**
+     * Overrides the coarse fields of a PositionStack result with the ones resolved offline.
+     *
+     * @param locationInfo location mapped from PositionStack
+     * @param offline location resolved offline, may be null
+     * @return merged location information
+     */
+    private LocationInfo withOfflineAreas(LocationInfo locationInfo, LocationInfo offline) {
+        if (offline == null) {
+            return locationInfo;
         }
-        return LocationInfo.builder()
-                .sensorId(sensorData.getSensorId())
-                .latitude(sensorData.getLatitude())
-                .longitude(sensorData.getLongitude())
-                .country(data.getCountry())
-                .state(data.getRegion())
-                .city(data.getLocality())
-                .neighborhood(neighborhood)
-                .street(data.getStreet())
-                .number(data.getNumber())
-                .postalCode(data.getPostalCode())
-                .label(data.getLabel())
+        return locationInfo.toBuilder()
+                .country(offline.getCountry())
+                .state(offline.getState())
+                .city(offline.getCity())
+                .neighborhood(offline.getNeighborhood() != null
+                        ? offline.getNeighborhood() : locationInfo.getNeighborhood())
                 .build();
     }
-    
+
     /**
-     * Creates an empty LocationInfo when no data is available.
-     * 
-     * @param sensorData original sensor data
-     * @return location info with only sensor data
+     * Rebinds a cached location to the sensor and exact coordinates of the current reading.
+     *
+     * @param locationInfo cached location resolved for another reading in the same cell
+     * @param sensorData current sensor data
+     * @return location info carrying the current sensor data
      */
-    private LocationInfo createEmptyLocationInfo(PetSensorData sensorData) {
-        return LocationInfo.builder()
+    private LocationInfo forSensor(LocationInfo locationInfo, PetSensorData sensorData) {
+        return locationInfo.toBuilder()
                 .sensorId(sensorData.getSensorId())
                 .latitude(sensorData.getLatitude())
                 .longitude(sensorData.getLongitude())
@@ -0,0 +1,76 @@
+package com.itau.challenge_location_api.application.service;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LocationLookupResult;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.LocationService;
+import com.itau.challenge_location_api.infrastructure.geo.OfflineGeocoder;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the LocationService interface that resolves country, state, city and
+ * neighborhood from a local boundary dataset, without any external call.
+ * Active when offline-geocoder.mode is standalone; street-level fields are never filled.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "offline-geocoder", name = "mode", havingValue = "standalone")
+@RequiredArgsConstructor
+@Slf4j
+public class OfflineLocationService implements LocationService {
+    private final OfflineGeocoder offlineGeocoder;
+    private final TrackSimplifier trackSimplifier;
+    private final GeofenceService geofenceService;
+
+    @Override
+    public LocationInfo getLocationFromCoordinates(PetSensorData sensorData) {
+        log.info("Getting offline location for pet sensor: {} at coordinates ({}, {})",
+                sensorData.getSensorId(), sensorData.getLatitude(), sensorData.getLongitude());
+        trackSimplifier.offer(sensorData);
+        geofenceService.evaluate(sensorData);
+        LocationInfo resolved = offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude());
+        if (resolved == null) {
+            log.warn("No boundary found for coordinates: {}, {}", sensorData.getLatitude(), sensorData.getLongitude());
+            return LocationInfo.builder()
+                    .sensorId(sensorData.getSensorId())
+                    .latitude(sensorData.getLatitude())
+                    .longitude(sensorData.getLongitude())
+                    .build();
+        }
+        return resolved.toBuilder()
+                .sensorId(sensorData.getSensorId())
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<LocationInfo> getLocationFromCoordinatesAsync(PetSensorData sensorData) {
+        // Resolution is in-process and takes microseconds, there is nothing to wait for
+        return CompletableFuture.completedFuture(getLocationFromCoordinates(sensorData));
+    }
+
+    @Override
+    public CompletableFuture<LocationInfo> getLocationFromCoordinatesAsync(PetSensorData sensorData,
+                                                                           LookupPriority priority) {
+        // No quota is spent offline, every priority is answered the same way
+        return getLocationFromCoordinatesAsync(sensorData);
+    }
+
+    @Override
+    public List<LocationLookupResult> getLocationsFromCoordinates(List<PetSensorData> sensorDataList) {
+        List<LocationLookupResult> results = new ArrayList<>(sensorDataList.size());
+        for (PetSensorData sensorData : sensorDataList) {
+            results.add(LocationLookupResult.success(getLocationFromCoordinates(sensorData)));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,44 @@
+package com.itau.challenge_location_api.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Domain model representing an area whose entries and exits are reported for a set of sensors,
+ * for instance the pets of a household. A fence is either a circle or a polygon.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class Geofence {
+    private String id;
+    private String name;
+    private Set<String> sensorIds;
+    private Shape shape;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusMeters;
+    private List<Vertex> vertices;
+
+    public enum Shape {
+        CIRCLE,
+        POLYGON
+    }
+
+    /**
+     * Corner of a polygon fence.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Vertex {
+        private double latitude;
+        private double longitude;
+    }
+}
@@ -0,0 +1,29 @@
+package com.itau.challenge_location_api.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain model representing a sensor crossing the edge of a geofence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeofenceEvent {
+    private String geofenceId;
+    private String sensorId;
+    private Type type;
+    private double latitude;
+    private double longitude;
+    private LocalDateTime timestamp;
+
+    public enum Type {
+        ENTER,
+        EXIT
+    }
+}
@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
  * Domain model representing the location information of a pet.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class LocationInfo {
@@ -0,0 +1,32 @@
+package com.itau.challenge_location_api.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain model representing the outcome of resolving a single reading inside a batch.
+ * Either the location or the error is set, never both.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationLookupResult {
+    private String sensorId;
+    private LocationInfo location;
+    private String error;
+
+    public static LocationLookupResult success(LocationInfo location) {
+        return new LocationLookupResult(location.getSensorId(), location, null);
+    }
+
+    public static LocationLookupResult failure(String sensorId, String error) {
+        return new LocationLookupResult(sensorId, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.itau.challenge_location_api.domain.model;
+
+/**
+ * Priority of a location lookup when the PositionStack quota runs short.
+ */
+public enum LookupPriority {
+    /**
+     * A single reading someone is waiting for, entitled to the reserved part of the quota.
+     */
+    INTERACTIVE,
+    /**
+     * Readings sent in batches or streams, which wait or degrade to coarser answers first.
+     */
+    BULK
+}
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
  * Domain model representing the data received from a pet collar sensor.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PetSensorData {
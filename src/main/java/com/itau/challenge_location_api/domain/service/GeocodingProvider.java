@@ -0,0 +1,52 @@
+package com.itau.challenge_location_api.domain.service;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reverse geocoding backend.
+ * Implementations are registered as beans and tried in the priority order configured under
+ * geocoding.providers, the first one being the primary.
+ */
+public interface GeocodingProvider {
+
+    /**
+     * @return name of the provider, used in configuration and metrics
+     */
+    String getName();
+
+    /**
+     * @return false when the provider cannot answer at all, for instance because its dataset is not loaded
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Resolves the location of a reading.
+     *
+     * @param sensorData the pet sensor data containing coordinates
+     * @param priority the priority of the lookup
+     * @return location information bound to the reading
+     */
+    LocationInfo reverseGeocode(PetSensorData sensorData, LookupPriority priority);
+
+    /**
+     * Resolves the location of a reading without blocking the caller.
+     * In-process providers may rely on this default, which answers on the calling thread.
+     *
+     * @param sensorData the pet sensor data containing coordinates
+     * @param priority the priority of the lookup
+     * @return future completed with location information bound to the reading
+     */
+    default CompletableFuture<LocationInfo> reverseGeocodeAsync(PetSensorData sensorData, LookupPriority priority) {
+        try {
+            return CompletableFuture.completedFuture(reverseGeocode(sensorData, priority));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.itau.challenge_location_api.domain.service;
 
 import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LocationLookupResult;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
 import com.itau.challenge_location_api.domain.model.PetSensorData;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for geocoding operations in the domain layer.
  * Following the Dependency Inversion principle, this interface defines
@@ -17,4 +22,32 @@ public interface LocationService {
      * @return detailed location information
      */
     LocationInfo getLocationFromCoordinates(PetSensorData sensorData);
+
+    /**
+     * Converts pet sensor data into detailed location information without blocking the caller.
+     *
+     * @param sensorData the pet sensor data containing coordinates
+     * @return future completed with the detailed location information
+     */
+    CompletableFuture<LocationInfo> getLocationFromCoordinatesAsync(PetSensorData sensorData);
+
+    /**
+     * Converts pet sensor data into detailed location information without blocking the caller,
+     * spending the geocoding quota with the given priority.
+     *
+     * @param sensorData the pet sensor data containing coordinates
+     * @param priority the priority of the lookup when the quota runs short
+     * @return future completed with the detailed location information
+     */
+    CompletableFuture<LocationInfo> getLocationFromCoordinatesAsync(PetSensorData sensorData, LookupPriority priority);
+
+    /**
+     * Converts several pet sensor readings into location information at once.
+     * A failure to resolve one reading does not fail the others. The readings are resolved with
+     * {@link LookupPriority#BULK} priority.
+     *
+     * @param sensorDataList the pet sensor readings
+     * @return one result per reading, in the same order as the input
+     */
+    List<LocationLookupResult> getLocationsFromCoordinates(List<PetSensorData> sensorDataList);
 }
@@ -0,0 +1,101 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size Bloom filter over 64-bit hashes.
+ * Sized for an expected number of insertions and false-positive rate; the rate rises past it when more
+ * elements are inserted. The bits of an element are derived from its hash by double hashing, so callers
+ * must provide well mixed hashes.
+ * <p>
+ * Insertions and lookups are lock free and may run concurrently.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * @param expectedInsertions number of elements the filter is sized for
+     * @param falsePositiveRate  false-positive rate once the expected number of elements is inserted
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Bloom filter needs positive insertions and a rate between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = wordCount * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param hash well mixed 64-bit hash of the element
+     * @return true when the element was possibly inserted before, false when it certainly was not
+     */
+    public boolean put(long hash) {
+        long first = hash;
+        long second = secondHash(hash);
+        boolean present = true;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(first + i * second, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+                present = false;
+            }
+        }
+        if (!present) {
+            insertions.increment();
+        }
+        return present;
+    }
+
+    /**
+     * @param hash well mixed 64-bit hash of the element
+     * @return true when the element was possibly inserted, false when it certainly was not
+     */
+    public boolean mightContain(long hash) {
+        long first = hash;
+        long second = secondHash(hash);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(first + i * second, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive rate from the number of elements inserted so far.
+     *
+     * @return probability that an element never inserted is reported as present
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashes * (double) insertions.sum() / bits), hashes);
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    private static long secondHash(long hash) {
+        long mixed = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        // An odd step is never a multiple of the even bit count, so the probes do not collapse onto one bit
+        return (mixed ^ (mixed >>> 33)) | 1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import com.itau.challenge_location_api.infrastructure.geo.CoordinateCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Two-tier cache of reverse geocoding results keyed by a quantized coordinate cell.
+ * Readings that fall into the same cell share the same address, so repeated reports
+ * from the same spot never reach the PositionStack API. The in-memory tier is backed by
+ * an optional {@link PersistentGeocodeStore} so that a restart does not start cold.
+ */
+@Component
+@Slf4j
+public class GeocodeCache {
+
+    private static final String CACHE_NAME = "geocode";
+
+    private final GeocodeCacheConfig config;
+    private final PersistentGeocodeStore persistentStore;
+    private final Cache<Long, LocationInfo> cache;
+    private final double scale;
+
+    public GeocodeCache(GeocodeCacheConfig config, MeterRegistry meterRegistry,
+                        PersistentGeocodeStore persistentStore) {
+        if (config.getPrecision() < 0 || config.getPrecision() > CoordinateCodec.MAX_CELL_PRECISION) {
+            throw new IllegalArgumentException("Geocode cache precision must be between 0 and "
+                    + CoordinateCodec.MAX_CELL_PRECISION + ": " + config.getPrecision());
+        }
+        this.config = config;
+        this.persistentStore = persistentStore;
+        this.scale = Math.pow(10, config.getPrecision());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Geocode cache {} with precision {} and max size {}",
+                config.isEnabled() ? "enabled" : "disabled", config.getPrecision(), config.getMaxSize());
+    }
+
+    /**
+     * Quantizes coordinates into a grid cell and interleaves both cell indexes into a single key.
+     *
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return key identifying the cell containing the coordinates
+     */
+    public long cellKey(double latitude, double longitude) {
+        return CoordinateCodec.cellKey(latitude, longitude, scale);
+    }
+
+    /**
+     * Returns the cached location for a cell, if any.
+     *
+     * @param cellKey key returned by {@link #cellKey(double, double)}
+     * @return cached location or null when absent, expired or the cache is disabled
+     */
+    public LocationInfo get(long cellKey) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        LocationInfo locationInfo = cache.getIfPresent(cellKey);
+        if (locationInfo == null && persistentStore.isEnabled()) {
+            locationInfo = persistentStore.get(cellKey);
+            if (locationInfo != null) {
+                cache.put(cellKey, locationInfo);
+            }
+        }
+        return locationInfo;
+    }
+
+    /**
+     * Stores the location resolved for a cell. A failure to persist it is logged and otherwise ignored,
+     * since the lookup itself succeeded.
+     *
+     * @param cellKey      key returned by {@link #cellKey(double, double)}
+     * @param locationInfo resolved location
+     */
+    public void put(long cellKey, LocationInfo locationInfo) {
+        if (config.isEnabled()) {
+            cache.put(cellKey, locationInfo);
+            try {
+                persistentStore.put(cellKey, locationInfo);
+            } catch (RuntimeException e) {
+                log.warn("Failed to persist geocode cache entry for cell {}", cellKey, e);
+            }
+        }
+    }
+}
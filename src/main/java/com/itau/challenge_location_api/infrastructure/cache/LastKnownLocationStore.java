@@ -0,0 +1,89 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.MovementThresholdConfig;
+import com.itau.challenge_location_api.infrastructure.geo.GeoDistance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the last resolved location of each sensor so that readings from a pet that has not
+ * moved can be answered without any cache or upstream lookup.
+ */
+@Component
+public class LastKnownLocationStore {
+
+    private final MovementThresholdConfig config;
+    private final Cache<String, LastFix> lastFixes;
+
+    public LastKnownLocationStore(MovementThresholdConfig config) {
+        this.config = config;
+        this.lastFixes = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSensors())
+                .expireAfterWrite(config.getWindow())
+                .build();
+    }
+
+    /**
+     * Returns the last resolved location of the sensor when the reading is within the configured
+     * distance and time window of it.
+     *
+     * @param sensorData current reading
+     * @return last resolved location or null when the reading must be resolved
+     */
+    public LocationInfo findUnmoved(PetSensorData sensorData) {
+        LastFix lastFix = recentFix(sensorData);
+        if (lastFix == null) {
+            return null;
+        }
+        double distance = GeoDistance.haversineMeters(lastFix.latitude(), lastFix.longitude(),
+                sensorData.getLatitude(), sensorData.getLongitude());
+        return distance <= config.getDistanceMeters() ? lastFix.locationInfo() : null;
+    }
+
+    /**
+     * Returns the last resolved location of the sensor when the reading is within the configured
+     * time window of it, however far the pet has moved since.
+     *
+     * @param sensorData current reading
+     * @return last resolved location or null when there is no recent fix
+     */
+    public LocationInfo findRecent(PetSensorData sensorData) {
+        LastFix lastFix = recentFix(sensorData);
+        return lastFix != null ? lastFix.locationInfo() : null;
+    }
+
+    /**
+     * Records a resolved reading as the sensor's last fix.
+     *
+     * @param sensorData   resolved reading
+     * @param locationInfo location resolved for the reading
+     */
+    public void record(PetSensorData sensorData, LocationInfo locationInfo) {
+        if (!config.isEnabled() || sensorData.getSensorId() == null || sensorData.getTimestamp() == null) {
+            return;
+        }
+        lastFixes.put(sensorData.getSensorId(), new LastFix(sensorData.getLatitude(), sensorData.getLongitude(),
+                sensorData.getTimestamp(), locationInfo));
+    }
+
+    private LastFix recentFix(PetSensorData sensorData) {
+        if (!config.isEnabled() || sensorData.getSensorId() == null || sensorData.getTimestamp() == null) {
+            return null;
+        }
+        LastFix lastFix = lastFixes.getIfPresent(sensorData.getSensorId());
+        if (lastFix == null) {
+            return null;
+        }
+        Duration elapsed = Duration.between(lastFix.timestamp(), sensorData.getTimestamp()).abs();
+        return elapsed.compareTo(config.getWindow()) > 0 ? null : lastFix;
+    }
+
+    private record LastFix(double latitude, double longitude, LocalDateTime timestamp, LocationInfo locationInfo) {
+    }
+}
@@ -0,0 +1,460 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Disk-backed tier of the geocode cache, kept in a memory-mapped append-only file so that
+ * resolved locations survive restarts.
+ * <p>
+ * File layout: a 24 byte header (magic, version, cell precision, end of data) followed by records
+ * {@code [int length][long cellKey][long writtenAt][8 x (short length, UTF-8 bytes)]}. A later record
+ * for a key supersedes earlier ones. At startup only record headers are scanned to rebuild the
+ * key to offset index, and when the file is full it is compacted into a fresh file holding only
+ * the most recent live record of each key. Compaction runs on a background thread and new records are
+ * dropped until it is done, so lookups never wait for it.
+ */
+@Component
+@Slf4j
+public class PersistentGeocodeStore {
+
+    private static final int MAGIC = 0x50474331; // "PGC1"
+    // Version 2: cell keys are Morton codes, keys written by version 1 map to other cells
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final int END_OFFSET = 16;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int FIELD_COUNT = 8;
+    /**
+     * Compaction keeps at most this share of the file, leaving room for new records.
+     */
+    private static final double COMPACTION_FILL_RATIO = 0.75;
+
+    private final GeocodeCacheConfig cacheConfig;
+    private final GeocodeCacheConfig.Persistent config;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> index = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter compactions;
+    private final Counter dropped;
+    private final Executor compactionExecutor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+
+    @Autowired
+    public PersistentGeocodeStore(GeocodeCacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this(cacheConfig, meterRegistry, Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("geocode-cache-compaction").daemon().factory()));
+    }
+
+    PersistentGeocodeStore(GeocodeCacheConfig cacheConfig, MeterRegistry meterRegistry, Executor compactionExecutor) {
+        this.cacheConfig = cacheConfig;
+        this.compactionExecutor = compactionExecutor;
+        this.config = cacheConfig.getPersistent();
+        this.hits = Counter.builder("pet.location.cache.persistent.gets")
+                .description("Lookups in the persistent geocode cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("pet.location.cache.persistent.gets")
+                .description("Lookups in the persistent geocode cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.compactions = Counter.builder("pet.location.cache.persistent.compactions")
+                .description("Compactions of the persistent geocode cache file")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("pet.location.cache.persistent.dropped")
+                .description("Entries not written to the persistent geocode cache because the file was full")
+                .register(meterRegistry);
+        Gauge.builder("pet.location.cache.persistent.entries", this, PersistentGeocodeStore::size)
+                .description("Entries in the persistent geocode cache")
+                .register(meterRegistry);
+        Gauge.builder("pet.location.cache.persistent.used.bytes", this, store -> store.end)
+                .description("Bytes used in the persistent geocode cache file")
+                .register(meterRegistry);
+        if (isEnabled()) {
+            open();
+        }
+    }
+
+    /**
+     * @return true when the persistent tier is enabled
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Returns the stored location for a cell, if any and not expired.
+     *
+     * @param cellKey cell key
+     * @return stored location or null
+     */
+    public LocationInfo get(long cellKey) {
+        if (!isEnabled()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Integer offset = index.get(cellKey);
+            if (offset == null || isExpired(buffer.getLong(offset + Integer.BYTES + Long.BYTES))) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return readLocation(offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the location resolved for a cell. When the file is full the entry is dropped and a
+     * background compaction is started.
+     *
+     * @param cellKey      cell key
+     * @param locationInfo resolved location
+     */
+    public void put(long cellKey, LocationInfo locationInfo) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (compacting.get()) {
+            dropped.increment();
+            return;
+        }
+        byte[][] fields = encodeFields(locationInfo);
+        int length = recordLength(fields);
+        lock.writeLock().lock();
+        try {
+            if (end + length > buffer.capacity()) {
+                dropped.increment();
+                startCompaction();
+                return;
+            }
+            int offset = end;
+            writeRecord(buffer, offset, length, cellKey, System.currentTimeMillis(), fields);
+            end += length;
+            // Publish the new end only after the record is fully written
+            buffer.putInt(END_OFFSET, end);
+            index.put(cellKey, offset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of keys in the store
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (compactionExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+        lock.writeLock().lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            buffer.force();
+            channel.close();
+            channel = null;
+        } catch (IOException e) {
+            log.warn("Failed to close persistent geocode cache", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void startCompaction() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactionExecutor.execute(() -> {
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to compact persistent geocode cache, keeping the current file", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected after close
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Rewrites the file with the most recent live record of each key, newest first,
+     * up to the compaction fill ratio. Records are copied under the read lock, so lookups go on
+     * meanwhile; only switching to the new file takes the write lock.
+     */
+    void compact() {
+        long start = System.nanoTime();
+        Path path = Path.of(config.getPath());
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Map<Long, Integer> newIndex;
+        int previousEntries;
+        lock.readLock().lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            previousEntries = index.size();
+            newIndex = copyLiveRecords(compacted);
+        } catch (IOException e) {
+            deleteQuietly(compacted);
+            throw new UncheckedIOException("Failed to compact persistent geocode cache", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (channel == null) {
+                deleteQuietly(compacted);
+                return;
+            }
+            channel.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Entries written while copying are not in the new file and are lost
+            index.clear();
+            map(path);
+            index.putAll(newIndex);
+            compactions.increment();
+            log.info("Compacted persistent geocode cache from {} to {} entries in {} ms",
+                    previousEntries, index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact persistent geocode cache", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the most recent live records to a new file and returns their key to offset index in it.
+     */
+    private Map<Long, Integer> copyLiveRecords(Path compacted) throws IOException {
+        List<long[]> live = new ArrayList<>(index.size());
+        for (Map.Entry<Long, Integer> entry : index.entrySet()) {
+            long writtenAt = buffer.getLong(entry.getValue() + Integer.BYTES + Long.BYTES);
+            if (!isExpired(writtenAt)) {
+                live.add(new long[]{entry.getValue(), writtenAt});
+            }
+        }
+        live.sort(Comparator.comparingLong((long[] record) -> record[1]).reversed());
+
+        Files.deleteIfExists(compacted);
+        int limit = (int) (buffer.capacity() * COMPACTION_FILL_RATIO);
+        Map<Long, Integer> newIndex = new HashMap<>();
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer targetBuffer = target.map(FileChannel.MapMode.READ_WRITE, 0, buffer.capacity());
+            writeHeader(targetBuffer);
+            int position = HEADER_SIZE;
+            for (long[] record : live) {
+                int offset = (int) record[0];
+                int length = buffer.getInt(offset);
+                if (position + length > limit) {
+                    break;
+                }
+                targetBuffer.put(position, buffer, offset, length);
+                newIndex.put(buffer.getLong(offset + Integer.BYTES), position);
+                position += length;
+            }
+            targetBuffer.putInt(END_OFFSET, position);
+            targetBuffer.force();
+        }
+        return newIndex;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}", path, e);
+        }
+    }
+
+    private void open() {
+        Path path = Path.of(config.getPath());
+        long start = System.nanoTime();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            boolean exists = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+            map(path);
+            if (!exists || !hasValidHeader()) {
+                log.info("Initializing persistent geocode cache at {}", path);
+                writeHeader(buffer);
+                end = HEADER_SIZE;
+            } else {
+                loadIndex();
+            }
+            log.info("Persistent geocode cache opened with {} entries in {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open persistent geocode cache at " + path, e);
+        }
+    }
+
+    private void map(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long capacity = Math.min(Integer.MAX_VALUE, Math.max(config.getMaxSize().toBytes(), HEADER_SIZE * 2L));
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        end = buffer.getInt(END_OFFSET);
+    }
+
+    private boolean hasValidHeader() {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            log.warn("Persistent geocode cache has an unknown format, discarding it");
+            return false;
+        }
+        if (buffer.getInt(8) != cacheConfig.getPrecision()) {
+            // Cell keys depend on the precision, entries written with another precision are unreachable
+            log.warn("Persistent geocode cache was written with precision {}, discarding it", buffer.getInt(8));
+            return false;
+        }
+        return end >= HEADER_SIZE && end <= buffer.capacity();
+    }
+
+    private void writeHeader(MappedByteBuffer target) {
+        target.putInt(0, MAGIC);
+        target.putInt(4, VERSION);
+        target.putInt(8, cacheConfig.getPrecision());
+        target.putInt(12, 0);
+        target.putInt(END_OFFSET, HEADER_SIZE);
+    }
+
+    private void loadIndex() {
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= end) {
+            int length = buffer.getInt(offset);
+            if (length < RECORD_HEADER_SIZE || offset + length > end) {
+                log.warn("Truncating persistent geocode cache at corrupted record offset {}", offset);
+                break;
+            }
+            index.put(buffer.getLong(offset + Integer.BYTES), offset);
+            offset += length;
+        }
+        end = offset;
+        buffer.putInt(END_OFFSET, end);
+    }
+
+    private boolean isExpired(long writtenAt) {
+        return System.currentTimeMillis() - writtenAt > config.getTtl().toMillis();
+    }
+
+    private LocationInfo readLocation(int offset) {
+        int position = offset + RECORD_HEADER_SIZE;
+        String[] values = new String[FIELD_COUNT];
+        try {
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                short length = buffer.getShort(position);
+                position += Short.BYTES;
+                if (length >= 0) {
+                    byte[] bytes = new byte[length];
+                    buffer.get(position, bytes);
+                    values[i] = new String(bytes, StandardCharsets.UTF_8);
+                    position += length;
+                }
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            log.warn("Corrupted persistent geocode cache record at offset {}", offset);
+            return null;
+        }
+        return LocationInfo.builder()
+                .country(values[0])
+                .state(values[1])
+                .city(values[2])
+                .neighborhood(values[3])
+                .street(values[4])
+                .number(values[5])
+                .postalCode(values[6])
+                .label(values[7])
+                .build();
+    }
+
+    private static byte[][] encodeFields(LocationInfo locationInfo) {
+        String[] values = {
+                locationInfo.getCountry(), locationInfo.getState(), locationInfo.getCity(),
+                locationInfo.getNeighborhood(), locationInfo.getStreet(), locationInfo.getNumber(),
+                locationInfo.getPostalCode(), locationInfo.getLabel()
+        };
+        byte[][] fields = new byte[FIELD_COUNT][];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (values[i] != null) {
+                byte[] bytes = values[i].getBytes(StandardCharsets.UTF_8);
+                fields[i] = bytes.length > Short.MAX_VALUE ? null : bytes;
+            }
+        }
+        return fields;
+    }
+
+    private static int recordLength(byte[][] fields) {
+        int length = RECORD_HEADER_SIZE;
+        for (byte[] field : fields) {
+            length += Short.BYTES + (field != null ? field.length : 0);
+        }
+        return length;
+    }
+
+    private static void writeRecord(MappedByteBuffer target, int offset, int length, long cellKey,
+                                    long writtenAt, byte[][] fields) {
+        int position = offset;
+        target.putInt(position, length);
+        target.putLong(position + Integer.BYTES, cellKey);
+        target.putLong(position + Integer.BYTES + Long.BYTES, writtenAt);
+        position += RECORD_HEADER_SIZE;
+        for (byte[] field : fields) {
+            target.putShort(position, field != null ? (short) field.length : -1);
+            position += Short.BYTES;
+            if (field != null) {
+                target.put(position, field);
+                position += field.length;
+            }
+        }
+    }
+}
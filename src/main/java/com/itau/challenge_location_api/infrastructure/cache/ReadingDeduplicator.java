@@ -0,0 +1,174 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.ReadingDeduplicationConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.LongSupplier;
+
+/**
+ * Detects readings received more than once, as gateways retry them, by sensor id and timestamp.
+ * Every reading is added to a Bloom filter covering the configured window, a few bits per reading, and
+ * the responses of the most recent readings are kept in a bounded cache. A retry is answered with the
+ * response of its first occurrence while it is cached; past that it is resolved again like a new reading.
+ * The filter only spares new readings the cache probe: as it reports false positives, it never decides
+ * on its own that a reading is a retry.
+ * <p>
+ * The filter has two generations that are replaced in turn every window, so a reading is remembered
+ * between one and two windows. Readings without a sensor id or a timestamp are never deduplicated.
+ */
+@Component
+public class ReadingDeduplicator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final ReadingDeduplicationConfig config;
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+    private final Cache<ReadingKey, LocationInfo> responses;
+    private final Counter replayedReadings;
+    private final Counter repeatedReadings;
+    private volatile Generations generations;
+
+    @Autowired
+    public ReadingDeduplicator(ReadingDeduplicationConfig config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, System::nanoTime);
+    }
+
+    ReadingDeduplicator(ReadingDeduplicationConfig config, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.windowNanos = config.getWindow().toNanos();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(config.getMaxResponses())
+                .expireAfterWrite(config.getWindow())
+                .ticker(nanoClock::getAsLong)
+                .build();
+        this.generations = new Generations(newFilter(), null, nanoClock.getAsLong() + windowNanos);
+        this.replayedReadings = Counter.builder("pet.location.dedup")
+                .description("Total number of retried readings")
+                .tag("result", "replayed")
+                .register(meterRegistry);
+        this.repeatedReadings = Counter.builder("pet.location.dedup")
+                .description("Total number of readings the filter knew without a kept response")
+                .tag("result", "resolved")
+                .register(meterRegistry);
+        Gauge.builder("pet.location.dedup.filter.fpp", this, ReadingDeduplicator::expectedFalsePositiveRate)
+                .description("Estimated share of new readings taken for retries by the filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the response given to an earlier occurrence of the reading.
+     *
+     * @param sensorData current reading
+     * @return the earlier response, or null when the reading is new or its response is no longer kept
+     */
+    public LocationInfo findPrevious(PetSensorData sensorData) {
+        if (!isDeduplicated(sensorData) || !generations().mightContain(hash(sensorData))) {
+            return null;
+        }
+        LocationInfo previous = responses.getIfPresent(
+                new ReadingKey(sensorData.getSensorId(), sensorData.getTimestamp()));
+        if (previous != null) {
+            replayedReadings.increment();
+        }
+        return previous;
+    }
+
+    /**
+     * Marks a reading as seen, counting the ones the filter already knew: retries whose response is no
+     * longer kept, and false positives.
+     *
+     * @param sensorData reading being resolved
+     */
+    public void markSeen(PetSensorData sensorData) {
+        if (isDeduplicated(sensorData) && generations().put(hash(sensorData))) {
+            repeatedReadings.increment();
+        }
+    }
+
+    /**
+     * Keeps the response of a reading to answer its retries with.
+     *
+     * @param sensorData   resolved reading
+     * @param locationInfo response given for it
+     */
+    public void record(PetSensorData sensorData, LocationInfo locationInfo) {
+        if (isDeduplicated(sensorData)) {
+            responses.put(new ReadingKey(sensorData.getSensorId(), sensorData.getTimestamp()), locationInfo);
+        }
+    }
+
+    private boolean isDeduplicated(PetSensorData sensorData) {
+        return config.isEnabled() && sensorData.getSensorId() != null && sensorData.getTimestamp() != null;
+    }
+
+    private double expectedFalsePositiveRate() {
+        Generations current = generations;
+        double newer = current.current().expectedFalsePositiveRate();
+        double older = current.previous() != null ? current.previous().expectedFalsePositiveRate() : 0;
+        return 1 - (1 - newer) * (1 - older);
+    }
+
+    /**
+     * Returns the filter generations, replacing the oldest one when its window is over.
+     */
+    private Generations generations() {
+        Generations current = generations;
+        long now = nanoClock.getAsLong();
+        if (now - current.rotateAt() < 0) {
+            return current;
+        }
+        synchronized (this) {
+            current = generations;
+            if (now - current.rotateAt() >= 0) {
+                // After a whole idle window the newer generation is stale as well
+                BloomFilter previous = now - current.rotateAt() < windowNanos ? current.current() : null;
+                current = new Generations(newFilter(), previous, now + windowNanos);
+                generations = current;
+            }
+            return current;
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(config.getExpectedReadings(), config.getFalsePositiveRate());
+    }
+
+    private static long hash(PetSensorData sensorData) {
+        LocalDateTime timestamp = sensorData.getTimestamp();
+        long hash = sensorData.getSensorId().hashCode();
+        hash = hash * GOLDEN_GAMMA + timestamp.toLocalDate().toEpochDay();
+        hash = hash * GOLDEN_GAMMA + timestamp.toLocalTime().toNanoOfDay();
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private record ReadingKey(String sensorId, LocalDateTime timestamp) {
+    }
+
+    /**
+     * Current and previous filters; readings are added to the current one and looked up in both.
+     */
+    private record Generations(BloomFilter current, BloomFilter previous, long rotateAt) {
+
+        private boolean mightContain(long hash) {
+            return current.mightContain(hash) || (previous != null && previous.mightContain(hash));
+        }
+
+        private boolean put(long hash) {
+            boolean inPrevious = previous != null && previous.mightContain(hash);
+            return current.put(hash) || inPrevious;
+        }
+    }
+}
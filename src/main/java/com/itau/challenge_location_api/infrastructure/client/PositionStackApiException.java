@@ -0,0 +1,17 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the PositionStack API answers with a non successful HTTP status.
+ */
+@Getter
+public class PositionStackApiException extends RuntimeException {
+
+    private final int status;
+
+    public PositionStackApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
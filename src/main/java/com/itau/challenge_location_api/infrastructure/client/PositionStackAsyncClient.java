@@ -0,0 +1,75 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client for the PositionStack API.
+ * Requests are sent with the JDK HttpClient, so no thread is held while waiting for the response.
+ * Only the first result is requested and read, see {@link PositionStackResponseReader}.
+ */
+@Component
+@Slf4j
+public class PositionStackAsyncClient {
+
+    private final PositionStackConfig positionStackConfig;
+    private final PositionStackResponseReader responseReader;
+    private final HttpClient httpClient;
+
+    public PositionStackAsyncClient(PositionStackConfig positionStackConfig, ObjectMapper objectMapper) {
+        this.positionStackConfig = positionStackConfig;
+        this.responseReader = new PositionStackResponseReader(objectMapper.getFactory());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(positionStackConfig.getConnectTimeout())
+                .build();
+    }
+
+    /**
+     * Performs reverse geocoding (converts coordinates to address) without blocking the caller.
+     *
+     * @param accessKey API key for authentication
+     * @param query coordinates in format "latitude,longitude"
+     * @return future completed with the response containing location details
+     */
+    public CompletableFuture<PositionStackResponse> reverseGeocode(String accessKey, String query) {
+        URI uri = UriComponentsBuilder.fromUriString(positionStackConfig.getBaseUrl())
+                .path("/reverse")
+                .queryParam("access_key", accessKey)
+                .queryParam("query", query)
+                .queryParam("limit", PositionStackResponseReader.RESULT_LIMIT)
+                .encode()
+                .build()
+                .toUri();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(positionStackConfig.getReadTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::decode);
+    }
+
+    private PositionStackResponse decode(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new PositionStackApiException(response.statusCode(),
+                    "PositionStack API returned status " + response.statusCode());
+        }
+        try {
+            return responseReader.read(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid PositionStack API response", e);
+        }
+    }
+}
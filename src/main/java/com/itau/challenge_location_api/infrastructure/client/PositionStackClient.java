@@ -8,8 +8,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 /**
  * Feign client interface for PositionStack API.
  * This defines the contract for communication with the external service.
+ * Calls go through the pooled Apache HttpClient 5 transport configured under
+ * {@code spring.cloud.openfeign.httpclient}, which keeps connections alive between calls and
+ * decompresses gzip responses. Only the first result is requested and decoded, see
+ * {@link PositionStackResponseReader}.
  */
-@FeignClient(name = "positionstack", url = "${position-stack.base-url}")
+@FeignClient(name = "positionstack", url = "${position-stack.base-url}",
+        configuration = PositionStackFeignConfiguration.class)
 public interface PositionStackClient {
     
     /**
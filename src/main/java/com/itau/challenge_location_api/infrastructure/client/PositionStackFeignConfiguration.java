@@ -0,0 +1,73 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.codec.ErrorDecoder;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign configuration specific to {@link PositionStackClient}.
+ * Deliberately not annotated with {@code @Configuration}, so that it only applies to the PositionStack
+ * client context and is not picked up by component scanning.
+ */
+public class PositionStackFeignConfiguration {
+
+    /**
+     * Connect and read timeouts taken from the PositionStack properties, shared with the async client.
+     * Redirects are not followed, the API answers directly.
+     */
+    @Bean
+    public Request.Options positionStackRequestOptions(PositionStackConfig positionStackConfig) {
+        return new Request.Options(
+                positionStackConfig.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                positionStackConfig.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                false);
+    }
+
+    /**
+     * Reports error statuses as {@link PositionStackApiException}, like the async client does, so that
+     * the key pool can tell rate limited and unauthorized keys apart.
+     */
+    @Bean
+    public ErrorDecoder positionStackErrorDecoder() {
+        return (methodKey, response) -> new PositionStackApiException(response.status(),
+                "PositionStack API returned status " + response.status());
+    }
+
+    /**
+     * Asks PositionStack for the first result only, the one the location mapping uses.
+     */
+    @Bean
+    public RequestInterceptor positionStackResultLimit() {
+        return template -> template.query("limit", String.valueOf(PositionStackResponseReader.RESULT_LIMIT));
+    }
+
+    /**
+     * Decodes responses with {@link PositionStackResponseReader} instead of binding every result,
+     * like the async client does.
+     */
+    @Bean
+    public Decoder positionStackDecoder(ObjectMapper objectMapper) {
+        PositionStackResponseReader reader = new PositionStackResponseReader(objectMapper.getFactory());
+        return (response, type) -> {
+            if (type != PositionStackResponse.class) {
+                throw new DecodeException(response.status(), "Unsupported PositionStack response type " + type,
+                        response.request());
+            }
+            if (response.body() == null) {
+                PositionStackResponse empty = new PositionStackResponse();
+                empty.setData(List.of());
+                return empty;
+            }
+            return reader.read(response.body().asInputStream());
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.GeocodingProvider;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.infrastructure.geo.CoordinateCodec;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reverse geocoding through the PositionStack API.
+ * Calls spend the quota of the API key pool and go through the circuit breaker and concurrency limit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PositionStackGeocodingProvider implements GeocodingProvider {
+
+    public static final String NAME = "positionstack";
+
+    private final PositionStackClient positionStackClient;
+    private final PositionStackAsyncClient positionStackAsyncClient;
+    private final PositionStackGuard positionStackGuard;
+    private final PositionStackQuota positionStackQuota;
+    private final LocationMetricsService metricsService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public LocationInfo reverseGeocode(PetSensorData sensorData, LookupPriority priority) {
+        String coordinates = formatCoordinates(sensorData);
+        PositionStackResponse response = positionStackQuota.execute(priority, key -> {
+            long upstreamStart = System.nanoTime();
+            PositionStackResponse upstream = positionStackGuard.execute(
+                    () -> positionStackClient.reverseGeocode(key, coordinates));
+            metricsService.recordStage(Stage.UPSTREAM, System.nanoTime() - upstreamStart);
+            return upstream;
+        });
+        return mapResponse(response, sensorData);
+    }
+
+    @Override
+    public CompletableFuture<LocationInfo> reverseGeocodeAsync(PetSensorData sensorData, LookupPriority priority) {
+        return positionStackQuota.executeAsync(priority, key -> {
+                    long upstreamStart = System.nanoTime();
+                    return positionStackGuard.executeAsync(
+                            () -> positionStackAsyncClient.reverseGeocode(key, formatCoordinates(sensorData)))
+                            .whenComplete((response, failure) -> {
+                                Throwable error = failure instanceof CompletionException && failure.getCause() != null
+                                        ? failure.getCause() : failure;
+                                if (!(error instanceof PositionStackUnavailableException)) {
+                                    metricsService.recordStage(Stage.UPSTREAM, System.nanoTime() - upstreamStart);
+                                }
+                            });
+                })
+                .thenApply(response -> mapResponse(response, sensorData));
+    }
+
+    /**
+     * Maps a PositionStack response, recording the time spent.
+     *
+     * @param response API response from PositionStack
+     * @param sensorData original sensor data
+     * @return mapped location information
+     */
+    private LocationInfo mapResponse(PositionStackResponse response, PetSensorData sensorData) {
+        long start = System.nanoTime();
+        LocationInfo locationInfo = mapToLocationInfo(response, sensorData);
+        metricsService.recordStage(Stage.MAPPING, System.nanoTime() - start);
+        return locationInfo;
+    }
+
+    /**
+     * Formats the coordinates of a reading as the "latitude,longitude" query expected by PositionStack.
+     *
+     * Package-private so the hot path can be benchmarked in isolation.
+     *
+     * @param sensorData sensor data containing coordinates
+     * @return formatted coordinates
+     */
+    String formatCoordinates(PetSensorData sensorData) {
+        String coordinates = CoordinateCodec.formatQuery(sensorData.getLatitude(), sensorData.getLongitude());
+        log.debug("Formatted coordinates for API call: {}", coordinates);
+        return coordinates;
+    }
+
+    /**
+     * Maps PositionStack API response to our domain LocationInfo model.
+     * Package-private so the hot path can be benchmarked in isolation.
+     * 
+     * @param response API response from PositionStack
+     * @param sensorData original sensor data
+     * @return mapped location information
+     */
+    LocationInfo mapToLocationInfo(PositionStackResponse response, PetSensorData sensorData) {
+        List<PositionStackData> dataList = Optional.ofNullable(response.getData())
+                .orElse(Collections.emptyList());
+        if (dataList.isEmpty()) {
+            log.warn("No location data found for coordinates: {}, {}", 
+                    sensorData.getLatitude(), sensorData.getLongitude());
+            return createEmptyLocationInfo(sensorData);
+        }
+        // Use the first result (most relevant)
+        PositionStackData data = dataList.get(0);
+        log.debug("Mapped location data: {}", data);
+        String neighborhood = data.getNeighborhood();
+        if (neighborhood == null && data.getAdministrativeArea() != null) {
+            neighborhood = data.getAdministrativeArea();
+            log.debug("Using administrativeArea as neighborhood: {}", neighborhood);
+        }
+        return LocationInfo.builder()
+                .sensorId(sensorData.getSensorId())
+                .latitude(sensorData.getLatitude())
+                .longitude(sensorData.getLongitude())
+                .country(data.getCountry())
+                .state(data.getRegion())
+                .city(data.getLocality())
+                .neighborhood(neighborhood)
+                .street(data.getStreet())
+                .number(data.getNumber())
+                .postalCode(data.getPostalCode())
+                .label(data.getLabel())
+                .build();
+    }
+    
+    /**
+     * Creates an empty LocationInfo when no data is available.
+     * 
+     * @param sensorData original sensor data
+     * @return location info with only sensor data
+     */
+    private LocationInfo createEmptyLocationInfo(PetSensorData sensorData) {
+        return LocationInfo.builder()
+                .sensorId(sensorData.getSensorId())
+                .latitude(sensorData.getLatitude())
+                .longitude(sensorData.getLongitude())
+                .build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.itau.challenge_location_api.infrastructure.concurrency.AdaptiveConcurrencyLimiter.Permit;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and adaptive concurrency limit around the calls to the PositionStack API.
+ * When PositionStack fails or slows down the circuit opens and calls are rejected at once. Client errors
+ * such as a bad query or a revoked key are answers, not upstream failures, and do not count against it. The number
+ * of calls in flight follows the upstream round trip time, so that calls do not pile up in PositionStack
+ * queues and a slow upstream cannot hold every request thread. Calls over the limit wait briefly for a
+ * free slot. Rejected calls fail with {@link PositionStackUnavailableException} instead of waiting longer.
+ */
+@Component
+@Slf4j
+public class PositionStackGuard {
+
+    private static final String NAME = "positionStack";
+    private static final String REJECTIONS = "pet.location.upstream.rejected";
+
+    private final PositionStackConfig.Resilience config;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter circuitOpenRejections;
+    private final Counter limitExceededRejections;
+    private volatile long openedAtNanos;
+
+    public PositionStackGuard(PositionStackConfig positionStackConfig, MeterRegistry meterRegistry) {
+        this.config = positionStackConfig.getResilience();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slowCallRateThreshold(config.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(config.getSlowCallDurationThreshold())
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(config.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(config.getPermittedCallsInHalfOpenState())
+                .ignoreException(PositionStackGuard::isClientError)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN) {
+                openedAtNanos = System.nanoTime();
+            }
+            log.warn("PositionStack circuit breaker transitioned {}", event.getStateTransition());
+        });
+        PositionStackConfig.Concurrency concurrency = config.getConcurrency();
+        this.limiter = AdaptiveConcurrencyLimiter.builder()
+                .initialLimit(concurrency.getInitialLimit())
+                .minLimit(concurrency.getMinLimit())
+                .maxLimit(concurrency.getMaxLimit())
+                .maxQueueSize(concurrency.getMaxQueueSize())
+                .rttTolerance(concurrency.getRttTolerance())
+                .smoothing(concurrency.getSmoothing())
+                .baselineWindow(concurrency.getBaselineWindow())
+                .build();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        Gauge.builder("pet.location.upstream.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of concurrent PositionStack calls")
+                .register(meterRegistry);
+        Gauge.builder("pet.location.upstream.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("PositionStack calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("pet.location.upstream.queue.depth", limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .description("Lookups waiting for a free PositionStack call slot")
+                .register(meterRegistry);
+        this.circuitOpenRejections = Counter.builder(REJECTIONS)
+                .description("Total number of PositionStack calls rejected without being attempted")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.limitExceededRejections = Counter.builder(REJECTIONS)
+                .description("Total number of PositionStack calls rejected without being attempted")
+                .tag("reason", "limit_exceeded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a blocking PositionStack call through the circuit breaker and the concurrency limit.
+     * The calling thread waits at most the configured queue wait for a free slot.
+     *
+     * @param call the PositionStack call
+     * @return the call result
+     * @throws PositionStackUnavailableException when the call is rejected
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquireCircuitPermission();
+        Permit permit;
+        try {
+            permit = limiter.acquire(config.getConcurrency().getMaxQueueWait()).join();
+        } catch (CompletionException e) {
+            throw limitExceeded();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            permit.onSuccess();
+            return result;
+        } catch (Throwable e) {
+            // Errors release the slot too, otherwise it would leak
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            release(permit, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a non-blocking PositionStack call through the circuit breaker and the concurrency limit.
+     * No thread is held while waiting for a free slot, and the slot is held until the returned future completes.
+     *
+     * @param call the PositionStack call
+     * @return future of the call result, failed with {@link PositionStackUnavailableException} when rejected
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        try {
+            acquireCircuitPermission();
+        } catch (PositionStackUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return limiter.acquire(config.getConcurrency().getMaxQueueWait())
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(limitExceeded()))
+                .thenCompose(permit -> {
+                    long start = System.nanoTime();
+                    CompletableFuture<T> future;
+                    try {
+                        future = call.get();
+                    } catch (Throwable e) {
+                        future = CompletableFuture.failedFuture(e);
+                    }
+                    return future.whenComplete((result, error) -> {
+                        long elapsed = System.nanoTime() - start;
+                        if (error == null) {
+                            circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                            permit.onSuccess();
+                        } else {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error;
+                            circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, cause);
+                            release(permit, cause);
+                        }
+                    });
+                });
+    }
+
+    /**
+     * Current circuit breaker state.
+     *
+     * @return the state
+     */
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Current adaptive concurrency limit.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * Releases the slot of a failed call. Timeouts, IO failures, 5xx and 429 answers point at upstream
+     * congestion and back the limit off; other client errors say nothing about it.
+     */
+    private static void release(Permit permit, Throwable error) {
+        if (isClientError(error) && ((PositionStackApiException) error).getStatus() != 429) {
+            permit.onIgnore();
+        } else {
+            permit.onDropped();
+        }
+    }
+
+    private static boolean isClientError(Throwable error) {
+        return error instanceof PositionStackApiException apiError
+                && apiError.getStatus() >= 400 && apiError.getStatus() < 500;
+    }
+
+    private void acquireCircuitPermission() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitOpenRejections.increment();
+            throw new PositionStackUnavailableException("PositionStack API is unavailable, circuit breaker is open",
+                    remainingOpenDuration());
+        }
+    }
+
+    private PositionStackUnavailableException limitExceeded() {
+        circuitBreaker.releasePermission();
+        limitExceededRejections.increment();
+        return new PositionStackUnavailableException("PositionStack API concurrency limit reached",
+                config.getConcurrency().getRetryAfter());
+    }
+
+    private Duration remainingOpenDuration() {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - openedAtNanos);
+        Duration remaining = config.getWaitDurationInOpenState().minus(elapsed);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -0,0 +1,352 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.infrastructure.concurrency.TokenBucket;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Spends the request quota of the PositionStack API keys through one token bucket per key, so that peaks
+ * are smoothed to the rate the plans allow instead of being answered with 429s.
+ * <p>
+ * Each call goes to the healthy key with the fewest calls in flight relative to its rate. A key answered
+ * with 429, 401 or 403 is left out of the pool for a while, unless it is the last healthy one. Interactive lookups may use whole buckets,
+ * while batch and stream lookups leave a reserve untouched and wait longer for tokens. A lookup that gets
+ * no token in time fails with {@link PositionStackQuotaExceededException}, which callers may answer with
+ * a coarser result.
+ */
+@Component
+@Slf4j
+public class PositionStackQuota {
+
+    private static final String THROTTLED = "pet.location.upstream.quota.throttled";
+    private static final String DELAYED = "pet.location.upstream.quota.delayed";
+    private static final String KEY_CALLS = "pet.location.upstream.key.calls";
+    private static final String KEY_EJECTIONS = "pet.location.upstream.key.ejections";
+
+    private final PositionStackConfig.Quota config;
+    private final ApiKeyState[] keys;
+    private final Map<LookupPriority, Counter> throttled = new EnumMap<>(LookupPriority.class);
+    private final Map<LookupPriority, Counter> delayed = new EnumMap<>(LookupPriority.class);
+
+    public PositionStackQuota(PositionStackConfig positionStackConfig, MeterRegistry meterRegistry) {
+        this.config = positionStackConfig.getQuota();
+        List<PositionStackConfig.ApiKey> apiKeys = positionStackConfig.getKeys();
+        if (apiKeys.isEmpty()) {
+            PositionStackConfig.ApiKey single = new PositionStackConfig.ApiKey();
+            single.setKey(positionStackConfig.getKey());
+            apiKeys = List.of(single);
+        }
+        List<ApiKeyState> states = new ArrayList<>(apiKeys.size());
+        for (int i = 0; i < apiKeys.size(); i++) {
+            states.add(new ApiKeyState(apiKeys.get(i), i, meterRegistry));
+        }
+        this.keys = states.toArray(ApiKeyState[]::new);
+        Gauge.builder("pet.location.upstream.keys.available", this, PositionStackQuota::getAvailableKeys)
+                .description("PositionStack API keys currently in the pool")
+                .register(meterRegistry);
+        for (LookupPriority priority : LookupPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            throttled.put(priority, Counter.builder(THROTTLED)
+                    .description("Total number of PositionStack calls not attempted because the quota ran out")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            delayed.put(priority, Counter.builder(DELAYED)
+                    .description("Total number of PositionStack calls that waited for the quota")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs a blocking call with a key of the pool, blocking the calling thread at most the wait allowed
+     * for the priority until a key has a token.
+     *
+     * @param priority priority of the lookup
+     * @param call the PositionStack call, given the API key to use
+     * @return the call result
+     * @throws PositionStackQuotaExceededException when no key has a token in time
+     */
+    public <T> T execute(LookupPriority priority, Function<String, T> call) {
+        ApiKeyState key = acquire(priority);
+        try {
+            T result = call.apply(key.apiKey);
+            key.release(null);
+            return result;
+        } catch (RuntimeException e) {
+            key.release(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a non-blocking call with a key of the pool, without blocking the caller while waiting for a token.
+     *
+     * @param priority priority of the lookup
+     * @param call the PositionStack call, given the API key to use
+     * @return future of the call result, failed with {@link PositionStackQuotaExceededException} when no key
+     *         has a token in time
+     */
+    public <T> CompletableFuture<T> executeAsync(LookupPriority priority, Function<String, CompletableFuture<T>> call) {
+        return acquireAsync(priority, System.nanoTime() + maxWait(priority).toNanos(), false)
+                .thenCompose(key -> {
+                    CompletableFuture<T> future;
+                    try {
+                        future = call.apply(key.apiKey);
+                    } catch (RuntimeException e) {
+                        future = CompletableFuture.failedFuture(e);
+                    }
+                    return future.whenComplete((result, error) -> key.release(
+                            error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error));
+                });
+    }
+
+    /**
+     * Number of keys not currently ejected from the pool.
+     *
+     * @return available keys
+     */
+    public int getAvailableKeys() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (ApiKeyState key : keys) {
+            if (key.isHealthy(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    private ApiKeyState acquire(LookupPriority priority) {
+        long deadline = System.nanoTime() + maxWait(priority).toNanos();
+        boolean waited = false;
+        ApiKeyState key;
+        while ((key = tryLease(priority)) == null) {
+            long wait = nanosUntilAvailable(priority);
+            if (wait > deadline - System.nanoTime()) {
+                throw exceeded(priority, wait);
+            }
+            waited = true;
+            LockSupport.parkNanos(wait);
+            if (Thread.currentThread().isInterrupted()) {
+                throw exceeded(priority, wait);
+            }
+        }
+        if (waited) {
+            delayed.get(priority).increment();
+        }
+        return key;
+    }
+
+    private CompletableFuture<ApiKeyState> acquireAsync(LookupPriority priority, long deadline, boolean waited) {
+        ApiKeyState key = tryLease(priority);
+        if (key != null) {
+            if (waited) {
+                delayed.get(priority).increment();
+            }
+            return CompletableFuture.completedFuture(key);
+        }
+        long wait = nanosUntilAvailable(priority);
+        if (wait > deadline - System.nanoTime()) {
+            return CompletableFuture.failedFuture(exceeded(priority, wait));
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                .thenCompose(ignored -> acquireAsync(priority, deadline, true));
+    }
+
+    /**
+     * Takes a token from the least loaded healthy key that has one.
+     */
+    private ApiKeyState tryLease(LookupPriority priority) {
+        long now = System.nanoTime();
+        // Loads are read once, so that concurrent calls cannot change the order while picking
+        double[] loads = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            loads[i] = keys[i].isHealthy(now) ? keys[i].load() : Double.NaN;
+        }
+        for (int attempt = 0; attempt < keys.length; attempt++) {
+            int best = -1;
+            for (int i = 0; i < keys.length; i++) {
+                if (!Double.isNaN(loads[i]) && (best < 0 || loads[i] < loads[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return null;
+            }
+            if (keys[best].tryTake(floor(priority, keys[best]))) {
+                return keys[best];
+            }
+            loads[best] = Double.NaN;
+        }
+        return null;
+    }
+
+    /**
+     * Shortest time until some key could give a token, or until the first ejected key returns.
+     */
+    private long nanosUntilAvailable(LookupPriority priority) {
+        long now = System.nanoTime();
+        long wait = Long.MAX_VALUE;
+        for (ApiKeyState key : keys) {
+            long keyWait = key.isHealthy(now)
+                    ? key.nanosUntilAvailable(floor(priority, key))
+                    : key.ejectedUntilNanos - now;
+            wait = Math.min(wait, keyWait);
+        }
+        return wait;
+    }
+
+    private double floor(LookupPriority priority, ApiKeyState key) {
+        return priority == LookupPriority.INTERACTIVE ? 0 : key.reserve;
+    }
+
+    private Duration maxWait(LookupPriority priority) {
+        return priority == LookupPriority.INTERACTIVE ? config.getInteractiveMaxWait() : config.getBulkMaxWait();
+    }
+
+    /**
+     * Ejects a key unless no other key would be left in the pool, so that a single 429 or 401 cannot
+     * stop every lookup.
+     */
+    private synchronized void eject(ApiKeyState key, Duration duration, Counter ejections) {
+        long now = System.nanoTime();
+        for (ApiKeyState other : keys) {
+            if (other != key && other.isHealthy(now)) {
+                key.eject(now, duration, ejections);
+                return;
+            }
+        }
+        log.warn("PositionStack API key {} kept in the pool as the last healthy key", key.name);
+    }
+
+    private PositionStackQuotaExceededException exceeded(LookupPriority priority, long waitNanos) {
+        throttled.get(priority).increment();
+        return new PositionStackQuotaExceededException("PositionStack API key quota exhausted",
+                Duration.ofNanos(waitNanos));
+    }
+
+    /**
+     * Bucket, load and health of one API key.
+     */
+    private final class ApiKeyState {
+        private final String apiKey;
+        private final String name;
+        private final double rate;
+        private final double reserve;
+        private final TokenBucket bucket;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter successes;
+        private final Counter failures;
+        private final Counter rateLimitedEjections;
+        private final Counter unauthorizedEjections;
+        private volatile long ejectedUntilNanos;
+        private volatile boolean ejected;
+
+        private ApiKeyState(PositionStackConfig.ApiKey apiKey, int index, MeterRegistry meterRegistry) {
+            this.apiKey = apiKey.getKey();
+            this.name = apiKey.getName() != null ? apiKey.getName() : "key-" + index;
+            this.rate = apiKey.getRatePerSecond() != null ? apiKey.getRatePerSecond() : config.getRatePerSecond();
+            int burst = apiKey.getBurst() != null ? apiKey.getBurst() : config.getBurst();
+            if (config.getInteractiveReserve() < 0 || config.getInteractiveReserve() >= burst) {
+                throw new IllegalStateException("position-stack.quota.interactive-reserve must be between 0 and "
+                        + "the burst of each key minus one");
+            }
+            this.reserve = config.getInteractiveReserve();
+            this.bucket = config.isEnabled() ? new TokenBucket(rate, burst) : null;
+            if (bucket != null) {
+                Gauge.builder("pet.location.upstream.quota.remaining", bucket, TokenBucket::getAvailable)
+                        .description("PositionStack calls that can be made right now without waiting for the quota")
+                        .tag("key", name)
+                        .register(meterRegistry);
+            }
+            Gauge.builder("pet.location.upstream.key.inflight", inFlight, AtomicInteger::get)
+                    .description("PositionStack calls currently in flight per API key")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            this.successes = Counter.builder(KEY_CALLS)
+                    .description("Total number of PositionStack calls per API key")
+                    .tags("key", name, "outcome", "success")
+                    .register(meterRegistry);
+            this.failures = Counter.builder(KEY_CALLS)
+                    .description("Total number of PositionStack calls per API key")
+                    .tags("key", name, "outcome", "failure")
+                    .register(meterRegistry);
+            this.rateLimitedEjections = Counter.builder(KEY_EJECTIONS)
+                    .description("Total number of times an API key was left out of the pool")
+                    .tags("key", name, "reason", "rate_limited")
+                    .register(meterRegistry);
+            this.unauthorizedEjections = Counter.builder(KEY_EJECTIONS)
+                    .description("Total number of times an API key was left out of the pool")
+                    .tags("key", name, "reason", "unauthorized")
+                    .register(meterRegistry);
+        }
+
+        private boolean isHealthy(long now) {
+            return !ejected || now - ejectedUntilNanos >= 0;
+        }
+
+        private double load() {
+            return inFlight.get() / rate;
+        }
+
+        private boolean tryTake(double floor) {
+            if (bucket != null && !bucket.tryTake(floor)) {
+                return false;
+            }
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        private long nanosUntilAvailable(double floor) {
+            return bucket != null ? bucket.nanosUntilAvailable(floor) : 0;
+        }
+
+        private void release(Throwable error) {
+            inFlight.decrementAndGet();
+            if (error instanceof PositionStackUnavailableException) {
+                // Rejected by the guard, the key was not used
+                return;
+            }
+            if (error == null) {
+                successes.increment();
+                return;
+            }
+            failures.increment();
+            if (error instanceof PositionStackApiException apiError) {
+                switch (apiError.getStatus()) {
+                    case 429 -> PositionStackQuota.this.eject(this, config.getRateLimitedEjection(),
+                            rateLimitedEjections);
+                    case 401, 403 -> PositionStackQuota.this.eject(this, config.getUnauthorizedEjection(),
+                            unauthorizedEjections);
+                    default -> { }
+                }
+            }
+        }
+
+        private void eject(long now, Duration duration, Counter ejections) {
+            ejectedUntilNanos = now + duration.toNanos();
+            ejected = true;
+            ejections.increment();
+            log.warn("PositionStack API key {} left out of the pool for {}", name, duration);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a PositionStack call is not attempted because the API key quota has no token
+ * left for the lookup within the time it may wait.
+ */
+public class PositionStackQuotaExceededException extends PositionStackUnavailableException {
+
+    public PositionStackQuotaExceededException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
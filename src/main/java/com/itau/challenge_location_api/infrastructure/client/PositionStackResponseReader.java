@@ -0,0 +1,109 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads PositionStack responses with the streaming parser, keeping only what the location mapping uses.
+ * Only the first result of {@code data} is materialized, and only its address fields; the remaining
+ * results and fields are skipped token by token without building strings or objects. The payload is
+ * still read to its end, so the pooled connection it came on can be reused.
+ */
+public class PositionStackResponseReader {
+
+    /**
+     * Number of results requested from PositionStack, only the first one is used.
+     */
+    public static final int RESULT_LIMIT = 1;
+
+    private final JsonFactory jsonFactory;
+
+    public PositionStackResponseReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public PositionStackResponse read(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return read(parser);
+        }
+    }
+
+    public PositionStackResponse read(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return read(parser);
+        }
+    }
+
+    private PositionStackResponse read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "PositionStack response is not a JSON object");
+        }
+        PositionStackResponse response = new PositionStackResponse();
+        response.setData(List.of());
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "data".equals(field)) {
+                response.setData(readFirstResult(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Reads the first object of the array the parser is on and skips the other elements.
+     */
+    private List<PositionStackData> readFirstResult(JsonParser parser) throws IOException {
+        List<PositionStackData> first = List.of();
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of PositionStack response");
+            }
+            if (first.isEmpty() && token == JsonToken.START_OBJECT) {
+                first = List.of(readData(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return first;
+    }
+
+    private PositionStackData readData(JsonParser parser) throws IOException {
+        PositionStackData data = new PositionStackData();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "country" -> data.setCountry(text(parser));
+                case "region" -> data.setRegion(text(parser));
+                case "locality" -> data.setLocality(text(parser));
+                case "neighborhood" -> data.setNeighborhood(text(parser));
+                case "administrative_area" -> data.setAdministrativeArea(text(parser));
+                case "street" -> data.setStreet(text(parser));
+                case "number" -> data.setNumber(text(parser));
+                case "postal_code" -> data.setPostalCode(text(parser));
+                case "label" -> data.setLabel(text(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Text of a scalar value, numbers included; null for null values and skipped structures.
+     */
+    private static String text(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        parser.skipChildren();
+        return text;
+    }
+}
@@ -0,0 +1,23 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a PositionStack call is rejected without being attempted, because the circuit
+ * breaker is open, the concurrency limit is reached or the API key quota is spent.
+ */
+@Getter
+public class PositionStackUnavailableException extends RuntimeException {
+
+    /**
+     * How long callers should wait before trying again.
+     */
+    private final Duration retryAfter;
+
+    public PositionStackUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,70 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.GeocodingProvider;
+import com.itau.challenge_location_api.infrastructure.config.GeocodingConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provider answering every lookup with the same placeholder location after a configurable latency.
+ * Meant for local runs without an API key and for load tests; only registered when
+ * geocoding.providers.stub.enabled is true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "geocoding.providers.stub", name = "enabled", havingValue = "true")
+public class StubGeocodingProvider implements GeocodingProvider {
+
+    public static final String NAME = "stub";
+
+    private final Duration latency;
+
+    public StubGeocodingProvider(GeocodingConfig geocodingConfig) {
+        this.latency = geocodingConfig.getStub().getLatency();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public LocationInfo reverseGeocode(PetSensorData sensorData, LookupPriority priority) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while simulating geocoding latency", e);
+            }
+        }
+        return stubLocation(sensorData);
+    }
+
+    @Override
+    public CompletableFuture<LocationInfo> reverseGeocodeAsync(PetSensorData sensorData, LookupPriority priority) {
+        if (latency.isZero()) {
+            return CompletableFuture.completedFuture(stubLocation(sensorData));
+        }
+        return CompletableFuture.supplyAsync(() -> stubLocation(sensorData),
+                CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private LocationInfo stubLocation(PetSensorData sensorData) {
+        return LocationInfo.builder()
+                .sensorId(sensorData.getSensorId())
+                .latitude(sensorData.getLatitude())
+                .longitude(sensorData.getLongitude())
+                .country("Stub")
+                .state("Stub")
+                .city("Stub")
+                .label("Stub location")
+                .build();
+    }
+}
@@ -0,0 +1,226 @@
+package com.itau.challenge_location_api.infrastructure.concurrency;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to the round trip time observed on the protected calls.
+ * <p>
+ * A long-term average of the RTT stands for the unloaded baseline. When recent calls take longer
+ * than the baseline times a tolerance, the upstream is queueing, and the limit is scaled down by the
+ * ratio between both. While the RTT stays near the baseline the limit grows by about the square root
+ * of itself per sample, but only when the calls actually use the current limit. Failed calls cut
+ * the limit by a constant factor. Callers over the limit wait in a bounded queue for a short time
+ * and are rejected when the queue is full or the wait expires.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double RECOVERY_RATIO = 2.0;
+    private static final double RECOVERY_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double baselineWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+    private volatile double limit;
+    private volatile int inFlight;
+    private double baselineRttNanos;
+
+    /**
+     * @param initialLimit   limit before any RTT has been observed
+     * @param minLimit       lowest limit the algorithm may reach
+     * @param maxLimit       highest limit the algorithm may reach
+     * @param maxQueueSize   callers allowed to wait for a permit at the same time
+     * @param rttTolerance   how much slower than the baseline recent calls may be before the limit shrinks
+     * @param smoothing      weight of each new limit estimate, between 0 and 1
+     * @param baselineWindow number of samples the baseline RTT average spans
+     */
+    @Builder
+    private AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueueSize,
+                                       double rttTolerance, double smoothing, int baselineWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.baselineWeight = 2.0 / (Math.max(1, baselineWindow) + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Acquires a permit, waiting at most the given time when the limit is reached.
+     * The returned future may complete on the thread releasing the permit it takes over.
+     *
+     * @param maxWait longest time to wait in the queue, zero to fail at once when the limit is reached
+     * @return future of the permit, failed with {@link RejectedExecutionException} when the queue is full
+     *         or with {@link java.util.concurrent.TimeoutException} when the wait expires
+     */
+    public CompletableFuture<Permit> acquire(Duration maxWait) {
+        CompletableFuture<Permit> waiter;
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit(inFlight));
+            }
+            if (maxWait.isZero() || waiters.size() >= maxQueueSize) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "Concurrency limit of " + (int) limit + " reached"));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+        } finally {
+            lock.unlock();
+        }
+        waiter.orTimeout(maxWait.toNanos(), TimeUnit.NANOSECONDS).whenComplete((permit, error) -> {
+            if (error != null) {
+                lock.lock();
+                try {
+                    waiters.remove(waiter);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * Current concurrency limit.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Number of permits currently held.
+     *
+     * @return permits in use
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Number of callers waiting for a permit.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, int inFlightAtStart, boolean dropped, boolean sampled) {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        List<Permit> permits = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlight--;
+            if (dropped) {
+                limit = Math.max(minLimit, limit * DROP_BACKOFF);
+            } else if (sampled) {
+                updateLimit(rttNanos, inFlightAtStart);
+            }
+            while (!waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                granted.add(waiters.pollFirst());
+                permits.add(new Permit(inFlight));
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Completing outside the lock, the waiter's continuation may run on this thread
+        for (int i = 0; i < granted.size(); i++) {
+            if (!granted.get(i).complete(permits.get(i))) {
+                permits.get(i).release(0, false, false);
+            }
+        }
+    }
+
+    private void updateLimit(long rttNanos, int inFlightAtStart) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        } else {
+            baselineRttNanos += (rttNanos - baselineRttNanos) * baselineWeight;
+        }
+        // After a sustained slowdown the baseline has absorbed the higher RTT, let it come back down
+        if (baselineRttNanos / rttNanos > RECOVERY_RATIO) {
+            baselineRttNanos *= RECOVERY_DECAY;
+        }
+        // Calls not using the current limit say nothing about whether it could be higher
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * baselineRttNanos / rttNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    /**
+     * Permission to run one call. Exactly one of the completion methods must be called when the call ends.
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Releases the permit after a successful call, feeding its RTT to the limit.
+         */
+        public void onSuccess() {
+            release(System.nanoTime() - startNanos, false, true);
+        }
+
+        /**
+         * Releases the permit after a failed call, backing the limit off.
+         */
+        public void onDropped() {
+            release(System.nanoTime() - startNanos, true, false);
+        }
+
+        /**
+         * Releases the permit without affecting the limit, for calls that never reached the upstream or
+         * whose outcome says nothing about its load.
+         */
+        public void onIgnore() {
+            release(0, false, false);
+        }
+
+        private void release(long rttNanos, boolean dropped, boolean sampled) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(rttNanos, inFlightAtStart, dropped, sampled);
+            }
+        }
+    }
+}
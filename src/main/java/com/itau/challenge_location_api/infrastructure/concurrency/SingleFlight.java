@@ -0,0 +1,64 @@
+package com.itau.challenge_location_api.infrastructure.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ * While a call for a key is pending, later callers for that key share its future
+ * and observe the same result or the same error.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the call for the key, unless a call for the same key is already pending.
+     *
+     * @param key         key identifying equivalent calls
+     * @param call        call to run when no equivalent call is pending
+     * @param onCoalesced callback invoked when this caller joins a pending call
+     * @return future completed with the result of the shared call
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call, Runnable onCoalesced) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            onCoalesced.run();
+            return existing;
+        }
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            // Remove first so that callers arriving after completion start a fresh call
+            inFlight.remove(key, pending);
+            if (error != null) {
+                pending.completeExceptionally(unwrap(error));
+            } else {
+                pending.complete(value);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * @return number of keys with a pending call
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
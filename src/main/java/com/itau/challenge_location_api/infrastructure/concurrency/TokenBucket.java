@@ -0,0 +1,83 @@
+package com.itau.challenge_location_api.infrastructure.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to a burst capacity.
+ * <p>
+ * Each take is checked against a floor: a caller may only take a token when at least the floor
+ * remains afterwards. Giving low-priority callers a higher floor keeps part of the burst for the others.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param ratePerSecond tokens added per second
+     * @param capacity      most tokens the bucket holds, it starts full
+     * @param nanoClock     source of {@link System#nanoTime()}-like readings
+     */
+    public TokenBucket(double ratePerSecond, double capacity, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Token bucket needs a positive rate and a capacity of at least one token");
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    /**
+     * Takes one token when at least {@code floor} tokens would remain.
+     *
+     * @param floor tokens that must be left in the bucket after the take
+     * @return true when the token was taken
+     */
+    public synchronized boolean tryTake(double floor) {
+        refill();
+        if (tokens - 1 < floor) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Time until a take with the given floor could succeed, assuming no other take happens meanwhile.
+     *
+     * @param floor tokens that must be left in the bucket after the take
+     * @return nanoseconds to wait, zero when a token is available now
+     */
+    public synchronized long nanosUntilAvailable(double floor) {
+        refill();
+        double missing = floor + 1 - tokens;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    /**
+     * Tokens currently in the bucket.
+     *
+     * @return available tokens
+     */
+    public synchronized double getAvailable() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
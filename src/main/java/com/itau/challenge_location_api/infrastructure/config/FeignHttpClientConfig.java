@@ -0,0 +1,27 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics for the connection pool behind the Feign clients.
+ * Publishes {@code httpcomponents.httpclient.pool.*} with the leased, available and pending connections,
+ * which tells whether PositionStack calls are waiting for a pooled connection.
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfUnique() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the reverse geocoding cache.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "geocode-cache")
+@Data
+public class GeocodeCacheConfig {
+    private boolean enabled = true;
+    /**
+     * Number of decimal places kept when quantizing coordinates into a cache cell
+     * (4 decimal places is roughly an 11 meter grid at the equator, at most 7 are supported).
+     */
+    private int precision = 4;
+    private long maxSize = 100_000;
+    private Duration ttl = Duration.ofHours(24);
+    private Persistent persistent = new Persistent();
+
+    /**
+     * Disk-backed tier that keeps resolved locations across restarts.
+     */
+    @Data
+    public static class Persistent {
+        private boolean enabled = false;
+        private String path = "data/geocode-cache.dat";
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+        private Duration ttl = Duration.ofDays(30);
+    }
+}
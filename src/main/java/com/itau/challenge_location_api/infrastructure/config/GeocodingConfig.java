@@ -0,0 +1,72 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the reverse geocoding providers.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "geocoding")
+@Data
+public class GeocodingConfig {
+    /**
+     * Settings per provider name. Providers without an entry are enabled with priority 0.
+     */
+    private Map<String, Provider> providers = new HashMap<>();
+    private Hedging hedging = new Hedging();
+    private Stub stub = new Stub();
+
+    /**
+     * Registration of one provider.
+     */
+    @Data
+    public static class Provider {
+        private boolean enabled = true;
+        /**
+         * Lower values are tried first, the lowest one is the primary provider.
+         */
+        private int priority;
+    }
+
+    /**
+     * Hedged lookups: when the primary has not answered within its recent latency percentile, the next
+     * provider is called as well and the first answer wins. Only interactive lookups are hedged.
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        /**
+         * Number of recent primary latencies the percentile is computed over.
+         */
+        private int window = 1000;
+        /**
+         * Latencies needed before the percentile is trusted, {@link #initialDelay} is used until then.
+         */
+        private int minSamples = 50;
+        private Duration initialDelay = Duration.ofMillis(200);
+        /**
+         * Lower bound of the hedging delay, so that a very fast primary does not double every call.
+         */
+        private Duration minDelay = Duration.ofMillis(10);
+        /**
+         * How often the percentile is recomputed.
+         */
+        private Duration refreshInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Stub provider answering every lookup with a fixed location, for local runs and load tests.
+     */
+    @Data
+    public static class Stub {
+        private Duration latency = Duration.ZERO;
+    }
+}
@@ -0,0 +1,53 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Defines the executor used to resolve batch lookups concurrently.
+ * Its concurrency bounds how many upstream calls a batch can have in flight.
+ * With spring.threads.virtual.enabled each blocking lookup runs on its own virtual thread,
+ * otherwise a fixed pool of platform threads is used. Submitting never blocks the caller in either case.
+ */
+@Configuration
+public class GeocodingExecutorConfig {
+
+    private static final String THREAD_NAME_PREFIX = "geocoding-";
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor geocodingExecutor(LocationBatchConfig batchConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(batchConfig.getParallelism());
+        executor.setMaxPoolSize(batchConfig.getParallelism());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "geocodingExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualGeocodingExecutor(LocationBatchConfig batchConfig) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        // Tasks wait for a permit on their own virtual thread; a concurrency limit on the executor
+        // would block the thread submitting the batch instead
+        Semaphore permits = new Semaphore(batchConfig.getParallelism());
+        executor.setTaskDecorator(task -> () -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+        return executor;
+    }
+}
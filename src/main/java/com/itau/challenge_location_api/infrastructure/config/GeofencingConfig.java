@@ -0,0 +1,32 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the geofencing engine.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "geofencing")
+@Data
+public class GeofencingConfig {
+    private boolean enabled = true;
+    /**
+     * Side of a cell of the geofence grid in degrees (0.01 is roughly 1.1 km at the equator).
+     */
+    private double cellSize = 0.01;
+    /**
+     * Fences overlapping more grid cells than this are tested on every reading instead.
+     */
+    private int maxCellsPerFence = 4096;
+    private long maxSensors = 1_000_000;
+    /**
+     * How long the inside/outside state of a silent sensor is kept; its next reading after that
+     * reports entries again. After an exit it is also how long readings older than the exit are ignored.
+     */
+    private Duration stateTtl = Duration.ofHours(24);
+}
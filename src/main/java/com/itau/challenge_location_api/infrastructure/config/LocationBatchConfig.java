@@ -0,0 +1,20 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for batch location lookups.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "location-batch")
+@Data
+public class LocationBatchConfig {
+    private int maxSize = 1000;
+    /**
+     * Maximum number of distinct coordinates resolved concurrently.
+     */
+    private int parallelism = 8;
+}
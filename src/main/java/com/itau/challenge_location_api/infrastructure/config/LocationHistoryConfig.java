@@ -0,0 +1,29 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-process location history of each sensor.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "location-history")
+@Data
+public class LocationHistoryConfig {
+    private boolean enabled = true;
+    /**
+     * Readings older than this, relative to the sensor's newest reading, are dropped. A sensor that
+     * reports nothing for this long is dropped as a whole.
+     */
+    private Duration retention = Duration.ofHours(24);
+    private long maxSensors = 1_000_000;
+    /**
+     * Size of the encoded blocks a sensor's history is stored in; retention drops whole blocks.
+     */
+    private DataSize chunkSize = DataSize.ofKilobytes(1);
+}
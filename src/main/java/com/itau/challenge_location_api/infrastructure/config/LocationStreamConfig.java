@@ -0,0 +1,31 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for NDJSON streaming lookups.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "location-stream")
+@Data
+public class LocationStreamConfig {
+    /**
+     * Maximum number of readings of a stream being resolved at the same time. Reading the
+     * input pauses while this many lookups are pending, which keeps memory flat.
+     */
+    private int maxInFlight = 64;
+    /**
+     * Result lines written before the output is flushed. It is also flushed once no lookup is pending,
+     * so a slow stream never holds results back.
+     */
+    private int flushLines = 64;
+    /**
+     * Maximum time a written result line waits for the next flush while lookups are pending.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+}
@@ -0,0 +1,27 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the movement threshold short-circuit.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "movement-threshold")
+@Data
+public class MovementThresholdConfig {
+    private boolean enabled = true;
+    /**
+     * Readings closer than this to the sensor's last resolved fix reuse its location.
+     */
+    private double distanceMeters = 25;
+    /**
+     * Maximum time between the last resolved fix and a reading for the fix to be reused.
+     */
+    private Duration window = Duration.ofMinutes(5);
+    private long maxSensors = 1_000_000;
+}
@@ -0,0 +1,46 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the offline reverse geocoder.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "offline-geocoder")
+@Data
+public class OfflineGeocoderConfig {
+
+    /**
+     * How the offline geocoder takes part in lookups.
+     */
+    public enum Mode {
+        /**
+         * Boundaries are not loaded and every lookup goes to PositionStack.
+         */
+        DISABLED,
+        /**
+         * Lookups are answered only from the boundary dataset, PositionStack is never called.
+         */
+        STANDALONE,
+        /**
+         * The boundary dataset answers country/state/city/neighborhood and PositionStack is only
+         * called for points outside the dataset or when street-level fields are required.
+         */
+        FIRST_TIER
+    }
+
+    private Mode mode = Mode.DISABLED;
+    /**
+     * GeoJSON FeatureCollection with Polygon/MultiPolygon features, as a Spring resource location.
+     */
+    private String boundariesPath;
+    private String levelProperty = "level";
+    private String nameProperty = "name";
+    /**
+     * In FIRST_TIER mode, whether PositionStack is still called to fill label/street/number.
+     */
+    private boolean streetLevel = false;
+}
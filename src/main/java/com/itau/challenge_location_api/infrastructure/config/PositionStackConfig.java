@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for the PositionStack API.
  * Maps properties from application.yml to this class.
@@ -13,5 +17,129 @@ import org.springframework.context.annotation.Configuration;
 @Data
 public class PositionStackConfig {
     private String baseUrl;
+    /**
+     * Single API key, used when no {@link #keys} are configured.
+     */
     private String key;
+    /**
+     * Pool of API keys, each call goes to the least loaded healthy one.
+     */
+    private List<ApiKey> keys = new ArrayList<>();
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Resilience resilience = new Resilience();
+    private Quota quota = new Quota();
+
+    /**
+     * One API key of the pool. Rate and burst default to the ones of {@link Quota}.
+     */
+    @Data
+    public static class ApiKey {
+        /**
+         * Label of the key in metrics and logs, so that the key itself is never exposed.
+         */
+        private String name;
+        private String key;
+        private Double ratePerSecond;
+        private Integer burst;
+    }
+
+    /**
+     * Circuit breaker and adaptive concurrency limit guarding the calls to the PositionStack API.
+     */
+    @Data
+    public static class Resilience {
+        private Concurrency concurrency = new Concurrency();
+        /**
+         * Percentage of failed calls in the sliding window that opens the circuit.
+         */
+        private float failureRateThreshold = 50;
+        /**
+         * Percentage of slow calls in the sliding window that opens the circuit.
+         */
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+        /**
+         * Number of most recent calls the failure and slow call rates are computed over.
+         */
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        /**
+         * How long the circuit stays open before letting trial calls through.
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    /**
+     * Adaptive limit on concurrent PositionStack calls, driven by the observed round trip time.
+     */
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        /**
+         * Upper bound of the limit, kept well below the request thread pool so that a slow upstream
+         * cannot take every request thread.
+         */
+        private int maxLimit = 100;
+        /**
+         * Calls allowed to wait for a free slot, further calls are rejected at once.
+         */
+        private int maxQueueSize = 50;
+        private Duration maxQueueWait = Duration.ofMillis(50);
+        /**
+         * How much slower than the baseline RTT calls may get before the limit shrinks.
+         */
+        private double rttTolerance = 1.5;
+        /**
+         * Weight of each new limit estimate, between 0 and 1.
+         */
+        private double smoothing = 0.2;
+        /**
+         * Number of calls the baseline RTT average spans.
+         */
+        private int baselineWindow = 500;
+        /**
+         * Retry-After advertised to clients rejected because the limit is reached.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Token buckets spending the request quota of each API key, shared by all lookups of this instance.
+     */
+    @Data
+    public static class Quota {
+        /**
+         * Off by default: when on, calls over the rate wait for a token and then fail or degrade, so the
+         * rate and burst must match the PositionStack plan of the keys.
+         */
+        private boolean enabled = false;
+        /**
+         * Sustained calls per second allowed by the PositionStack plan of a key.
+         */
+        private double ratePerSecond = 25;
+        /**
+         * Calls that may be made at once after an idle period.
+         */
+        private int burst = 100;
+        /**
+         * Part of the burst only interactive lookups may spend.
+         */
+        private int interactiveReserve = 20;
+        private Duration interactiveMaxWait = Duration.ofMillis(200);
+        /**
+         * How long batch and stream lookups wait for a token before degrading.
+         */
+        private Duration bulkMaxWait = Duration.ofSeconds(2);
+        /**
+         * How long a key answered with 429 is left out of the pool. The last healthy key is never left out.
+         */
+        private Duration rateLimitedEjection = Duration.ofMinutes(1);
+        /**
+         * How long a key answered with 401 or 403 is left out of the pool.
+         */
+        private Duration unauthorizedEjection = Duration.ofMinutes(10);
+    }
 }
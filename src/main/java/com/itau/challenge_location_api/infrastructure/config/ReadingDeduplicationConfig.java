@@ -0,0 +1,35 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the deduplication of retried readings.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "reading-deduplication")
+@Data
+public class ReadingDeduplicationConfig {
+    private boolean enabled = true;
+    /**
+     * How long a reading is remembered; retries arriving later are resolved again.
+     */
+    private Duration window = Duration.ofMinutes(10);
+    /**
+     * Number of distinct readings expected per window, used to size the filter.
+     */
+    private long expectedReadings = 1_000_000;
+    /**
+     * Share of new readings the filter takes for already seen ones when it holds the expected number
+     * of readings. Such readings are only looked up in the response cache for nothing.
+     */
+    private double falsePositiveRate = 0.001;
+    /**
+     * Maximum number of responses kept to answer retries with.
+     */
+    private long maxResponses = 100_000;
+}
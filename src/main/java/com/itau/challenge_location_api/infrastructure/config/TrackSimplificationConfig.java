@@ -0,0 +1,37 @@
+package com.itau.challenge_location_api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the streaming simplification of sensor tracks.
+ * Maps properties from application.yml to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "track-simplification")
+@Data
+public class TrackSimplificationConfig {
+    private boolean enabled = true;
+    /**
+     * Maximum distance between a dropped reading and the stored path.
+     */
+    private double toleranceMeters = 10;
+    /**
+     * Segments are broken past this length, so readings reusing the location resolved along a
+     * segment stay close to it.
+     */
+    private double maxSegmentMeters = 100;
+    /**
+     * Segments are broken past this duration, so a pet staying in place still gets a point this
+     * often. The pending end of a sensor silent for this long is stored.
+     */
+    private Duration maxInterval = Duration.ofMinutes(5);
+    /**
+     * Segments are broken past this number of readings, which bounds the work per reading.
+     */
+    private int maxWindow = 64;
+    private long maxSensors = 1_000_000;
+}
@@ -0,0 +1,11 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+/**
+ * Administrative levels resolved by the offline geocoder, from the coarsest to the finest.
+ */
+public enum AdminLevel {
+    COUNTRY,
+    STATE,
+    CITY,
+    NEIGHBORHOOD
+}
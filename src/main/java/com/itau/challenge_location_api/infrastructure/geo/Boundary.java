@@ -0,0 +1,97 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Administrative boundary made of one or more polygons, each with an outer ring and optional holes.
+ * Rings are stored as parallel longitude/latitude arrays to keep point-in-polygon tests allocation free.
+ */
+@Getter
+public class Boundary {
+
+    private final AdminLevel level;
+    private final String name;
+    /**
+     * polygons[p][r] is ring r of polygon p, as {longitudes, latitudes}; ring 0 is the outer ring.
+     */
+    private final double[][][][] polygons;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    public Boundary(AdminLevel level, String name, List<List<double[][]>> polygons) {
+        this.level = level;
+        this.name = name;
+        this.polygons = new double[polygons.size()][][][];
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int p = 0; p < polygons.size(); p++) {
+            List<double[][]> rings = polygons.get(p);
+            this.polygons[p] = rings.toArray(new double[0][][]);
+            double[][] outer = rings.get(0);
+            for (int i = 0; i < outer[0].length; i++) {
+                minLon = Math.min(minLon, outer[0][i]);
+                maxLon = Math.max(maxLon, outer[0][i]);
+                minLat = Math.min(minLat, outer[1][i]);
+                maxLat = Math.max(maxLat, outer[1][i]);
+            }
+        }
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+    }
+
+    /**
+     * @return the larger side of the bounding box, in degrees
+     */
+    public double extent() {
+        return Math.max(maxLatitude - minLatitude, maxLongitude - minLongitude);
+    }
+
+    /**
+     * Tests whether the point lies inside the boundary (inside an outer ring and outside its holes).
+     *
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return true when the point is inside the boundary
+     */
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude || longitude < minLongitude || longitude > maxLongitude) {
+            return false;
+        }
+        for (double[][][] polygon : polygons) {
+            // Even-odd rule over all rings of a polygon handles holes
+            boolean inside = false;
+            for (double[][] ring : polygon) {
+                if (ringContains(ring[0], ring[1], latitude, longitude)) {
+                    inside = !inside;
+                }
+            }
+            if (inside) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ray casting test of a point against a single ring.
+     */
+    static boolean ringContains(double[] longitudes, double[] latitudes, double latitude, double longitude) {
+        boolean inside = false;
+        for (int i = 0, j = longitudes.length - 1; i < longitudes.length; j = i++) {
+            if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                    && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i])
+                    / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,97 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of administrative boundaries.
+ * Each administrative level has its own uniform grid whose cell size follows the typical size
+ * of the boundaries at that level, so countries use coarse cells and neighborhoods fine ones.
+ * A lookup only runs point-in-polygon tests against the few boundaries registered in the
+ * grid cell containing the point.
+ */
+public class BoundaryIndex {
+
+    private static final double MIN_CELL_SIZE = 0.001;
+    private static final double MAX_CELL_SIZE = 10.0;
+    private static final Boundary[] NO_BOUNDARIES = new Boundary[0];
+
+    private final Map<AdminLevel, LevelGrid> grids = new EnumMap<>(AdminLevel.class);
+    private final int size;
+
+    public BoundaryIndex(List<Boundary> boundaries) {
+        Map<AdminLevel, List<Boundary>> byLevel = new EnumMap<>(AdminLevel.class);
+        for (Boundary boundary : boundaries) {
+            byLevel.computeIfAbsent(boundary.getLevel(), level -> new ArrayList<>()).add(boundary);
+        }
+        byLevel.forEach((level, levelBoundaries) -> grids.put(level, new LevelGrid(levelBoundaries)));
+        this.size = boundaries.size();
+    }
+
+    /**
+     * Finds the boundary containing the point at the given level.
+     *
+     * @param level     administrative level
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return containing boundary or null when no boundary at that level contains the point
+     */
+    public Boundary find(AdminLevel level, double latitude, double longitude) {
+        LevelGrid grid = grids.get(level);
+        return grid != null ? grid.find(latitude, longitude) : null;
+    }
+
+    /**
+     * @return number of indexed boundaries
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class LevelGrid {
+
+        private final double cellSize;
+        private final Map<Long, Boundary[]> cells = new HashMap<>();
+
+        private LevelGrid(List<Boundary> boundaries) {
+            double[] extents = boundaries.stream().mapToDouble(Boundary::extent).sorted().toArray();
+            double median = extents[extents.length / 2];
+            this.cellSize = Math.min(MAX_CELL_SIZE, Math.max(MIN_CELL_SIZE, median));
+
+            Map<Long, List<Boundary>> building = new HashMap<>();
+            for (Boundary boundary : boundaries) {
+                long minRow = cell(boundary.getMinLatitude());
+                long maxRow = cell(boundary.getMaxLatitude());
+                long minCol = cell(boundary.getMinLongitude());
+                long maxCol = cell(boundary.getMaxLongitude());
+                for (long row = minRow; row <= maxRow; row++) {
+                    for (long col = minCol; col <= maxCol; col++) {
+                        building.computeIfAbsent(key(row, col), k -> new ArrayList<>()).add(boundary);
+                    }
+                }
+            }
+            building.forEach((key, cellBoundaries) -> cells.put(key, cellBoundaries.toArray(NO_BOUNDARIES)));
+        }
+
+        private Boundary find(double latitude, double longitude) {
+            Boundary[] candidates = cells.getOrDefault(key(cell(latitude), cell(longitude)), NO_BOUNDARIES);
+            for (Boundary candidate : candidates) {
+                if (candidate.contains(latitude, longitude)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private long cell(double degrees) {
+            return (long) Math.floor(degrees / cellSize);
+        }
+
+        private static long key(long row, long col) {
+            return (row << 32) | (col & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import java.util.Locale;
+
+/**
+ * Encodings of coordinates used on every lookup: the fixed-precision "latitude,longitude" query
+ * sent to PositionStack and the primitive cell key used by the geocode caches.
+ * Both avoid the formatter and intermediate objects of {@link String#format}.
+ */
+public final class CoordinateCodec {
+
+    /**
+     * Highest cell precision whose quantized longitude still fits the 32 bits of one Morton axis.
+     */
+    public static final int MAX_CELL_PRECISION = 7;
+
+    /**
+     * Six decimals, as printed by {@code %f}.
+     */
+    private static final double QUERY_SCALE = 1_000_000d;
+    /**
+     * Scaled values this close to a rounding tie are delegated to {@link String#format}, which rounds
+     * the shortest decimal representation half-up. Farther away, rounding the binary value agrees with it.
+     */
+    private static final double TIE_TOLERANCE = 1e-6;
+    private static final double MAX_FAST_VALUE = 1e9;
+    private static final long AXIS_MASK = 0xFFFFFFFFL;
+
+    private static final ThreadLocal<StringBuilder> QUERY_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private CoordinateCodec() {
+    }
+
+    /**
+     * Formats coordinates as the "latitude,longitude" query expected by PositionStack, with six decimals.
+     * The output is identical to {@code String.format(Locale.US, "%f,%f", latitude, longitude)}.
+     *
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return formatted query
+     */
+    public static String formatQuery(double latitude, double longitude) {
+        StringBuilder buffer = QUERY_BUFFER.get();
+        buffer.setLength(0);
+        appendQuery(buffer, latitude, longitude);
+        return buffer.toString();
+    }
+
+    /**
+     * Appends the "latitude,longitude" query to a caller-provided buffer.
+     *
+     * @param target    buffer the query is appended to
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return the target buffer
+     */
+    public static StringBuilder appendQuery(StringBuilder target, double latitude, double longitude) {
+        appendFixed(target, latitude);
+        target.append(',');
+        appendFixed(target, longitude);
+        return target;
+    }
+
+    /**
+     * Appends a value with six decimals, as {@code %f} does.
+     *
+     * @param target buffer the value is appended to
+     * @param value  value to append
+     * @return the target buffer
+     */
+    public static StringBuilder appendFixed(StringBuilder target, double value) {
+        if (!Double.isFinite(value) || Math.abs(value) >= MAX_FAST_VALUE) {
+            return target.append(String.format(Locale.US, "%f", value));
+        }
+        double scaled = Math.abs(value) * QUERY_SCALE;
+        long units = (long) scaled;
+        double fraction = scaled - units;
+        if (Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+            return target.append(String.format(Locale.US, "%f", value));
+        }
+        if (fraction > 0.5) {
+            units++;
+        }
+        // %f keeps the sign of values that round to zero, including -0.0
+        if (Double.doubleToRawLongBits(value) < 0) {
+            target.append('-');
+        }
+        target.append(units / (long) QUERY_SCALE).append('.');
+        int decimals = (int) (units % (long) QUERY_SCALE);
+        for (int divisor = (int) QUERY_SCALE / 10; divisor > 0; divisor /= 10) {
+            target.append((char) ('0' + decimals / divisor % 10));
+        }
+        return target;
+    }
+
+    /**
+     * Quantizes coordinates into a grid cell and interleaves the bits of both cell indexes into a
+     * Morton (Z-order) key, so that nearby cells get numerically close keys.
+     *
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @param scale     cells per degree, {@code 10^precision} with precision at most {@link #MAX_CELL_PRECISION}
+     * @return key identifying the cell containing the coordinates
+     */
+    public static long cellKey(double latitude, double longitude, double scale) {
+        return interleave(quantize(latitude + 90, scale), quantize(longitude + 180, scale));
+    }
+
+    /**
+     * Interleaves the low 32 bits of two values, {@code y} taking the even bits and {@code x} the odd ones.
+     *
+     * @param x value for the odd bits
+     * @param y value for the even bits
+     * @return interleaved value
+     */
+    static long interleave(long x, long y) {
+        return (spread(x) << 1) | spread(y);
+    }
+
+    private static long quantize(double offsetDegrees, double scale) {
+        long index = Math.round(offsetDegrees * scale);
+        return Math.max(0, Math.min(index, AXIS_MASK));
+    }
+
+    private static long spread(long value) {
+        long v = value & AXIS_MASK;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+}
@@ -0,0 +1,35 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+/**
+ * Great-circle distance helpers.
+ */
+public final class GeoDistance {
+
+    /**
+     * Mean Earth radius in meters.
+     */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Computes the haversine distance between two points.
+     *
+     * @param latitude1  latitude of the first point in decimal degrees
+     * @param longitude1 longitude of the first point in decimal degrees
+     * @param latitude2  latitude of the second point in decimal degrees
+     * @param longitude2 longitude of the second point in decimal degrees
+     * @return distance in meters
+     */
+    public static double haversineMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double sinLatitude = Math.sin(deltaLatitude / 2);
+        double sinLongitude = Math.sin(deltaLongitude / 2);
+        double a = sinLatitude * sinLatitude
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
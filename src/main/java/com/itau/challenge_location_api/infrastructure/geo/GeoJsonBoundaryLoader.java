@@ -0,0 +1,112 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Loads administrative boundaries from a GeoJSON FeatureCollection.
+ * Features are read one at a time with the streaming parser, so only the boundaries
+ * themselves are kept in memory, not the whole document tree.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class GeoJsonBoundaryLoader {
+
+    private final ObjectMapper objectMapper;
+    private final String levelProperty;
+    private final String nameProperty;
+
+    /**
+     * Reads every Polygon/MultiPolygon feature carrying a known administrative level.
+     *
+     * @param inputStream GeoJSON FeatureCollection
+     * @return parsed boundaries
+     * @throws IOException when the document cannot be read
+     */
+    public List<Boundary> load(InputStream inputStream) throws IOException {
+        List<Boundary> boundaries = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (!seekFeatures(parser)) {
+                throw new IOException("GeoJSON document has no 'features' array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode feature = parser.readValueAsTree();
+                Boundary boundary = toBoundary(feature);
+                if (boundary != null) {
+                    boundaries.add(boundary);
+                }
+            }
+        }
+        return boundaries;
+    }
+
+    private static boolean seekFeatures(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private Boundary toBoundary(JsonNode feature) {
+        JsonNode properties = feature.path("properties");
+        String name = properties.path(nameProperty).asText(null);
+        AdminLevel level = parseLevel(properties.path(levelProperty).asText(""));
+        JsonNode geometry = feature.path("geometry");
+        String type = geometry.path("type").asText("");
+        if (name == null || level == null) {
+            log.debug("Skipping feature without a known level or name: {}", properties);
+            return null;
+        }
+        List<List<double[][]>> polygons = new ArrayList<>();
+        switch (type) {
+            case "Polygon" -> polygons.add(toRings(geometry.path("coordinates")));
+            case "MultiPolygon" -> geometry.path("coordinates").forEach(polygon -> polygons.add(toRings(polygon)));
+            default -> {
+                log.debug("Skipping feature {} with unsupported geometry type: {}", name, type);
+                return null;
+            }
+        }
+        return new Boundary(level, name, polygons);
+    }
+
+    private static List<double[][]> toRings(JsonNode polygon) {
+        List<double[][]> rings = new ArrayList<>(polygon.size());
+        for (JsonNode ring : polygon) {
+            double[] longitudes = new double[ring.size()];
+            double[] latitudes = new double[ring.size()];
+            for (int i = 0; i < ring.size(); i++) {
+                // GeoJSON positions are [longitude, latitude]
+                longitudes[i] = ring.get(i).get(0).asDouble();
+                latitudes[i] = ring.get(i).get(1).asDouble();
+            }
+            rings.add(new double[][]{longitudes, latitudes});
+        }
+        return rings;
+    }
+
+    private static AdminLevel parseLevel(String level) {
+        try {
+            return AdminLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import com.itau.challenge_location_api.domain.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatial index of geofences on a uniform grid.
+ * Each fence is registered in every grid cell its bounding box overlaps, so a lookup only tests
+ * the few fences of the cell containing the point. Fences spanning more cells than the configured
+ * limit are kept in a short list tested on every lookup instead.
+ * <p>
+ * Lookups are lock free: cells hold arrays that are replaced, never modified, when fences change.
+ */
+public class GeofenceIndex {
+
+    private static final IndexedFence[] NO_FENCES = new IndexedFence[0];
+    private static final double METERS_PER_DEGREE = Math.toRadians(GeoDistance.EARTH_RADIUS_METERS);
+
+    private final double cellSize;
+    private final int maxCellsPerFence;
+    private final Map<String, IndexedFence> fences = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedFence[]> cells = new ConcurrentHashMap<>();
+    private volatile IndexedFence[] largeFences = NO_FENCES;
+
+    /**
+     * @param cellSize         side of a grid cell in degrees
+     * @param maxCellsPerFence fences overlapping more cells are tested on every lookup
+     */
+    public GeofenceIndex(double cellSize, int maxCellsPerFence) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Geofence grid cell size must be positive");
+        }
+        this.cellSize = cellSize;
+        this.maxCellsPerFence = maxCellsPerFence;
+    }
+
+    /**
+     * Adds a fence, replacing the one with the same id.
+     *
+     * @param geofence fence with an id and a valid shape
+     * @throws IllegalArgumentException when the shape is incomplete
+     */
+    public synchronized void put(Geofence geofence) {
+        IndexedFence fence = new IndexedFence(geofence);
+        remove(geofence.getId());
+        fences.put(fence.id, fence);
+        if (isLarge(fence)) {
+            largeFences = append(largeFences, fence);
+            return;
+        }
+        for (long row = cell(fence.minLatitude); row <= cell(fence.maxLatitude); row++) {
+            for (long col = cell(fence.minLongitude); col <= cell(fence.maxLongitude); col++) {
+                cells.compute(key(row, col), (key, cell) -> append(cell != null ? cell : NO_FENCES, fence));
+            }
+        }
+    }
+
+    /**
+     * Removes a fence.
+     *
+     * @param id id of the fence
+     * @return true when the fence was registered
+     */
+    public synchronized boolean remove(String id) {
+        IndexedFence fence = id != null ? fences.remove(id) : null;
+        if (fence == null) {
+            return false;
+        }
+        if (isLarge(fence)) {
+            largeFences = without(largeFences, fence);
+            return true;
+        }
+        for (long row = cell(fence.minLatitude); row <= cell(fence.maxLatitude); row++) {
+            for (long col = cell(fence.minLongitude); col <= cell(fence.maxLongitude); col++) {
+                cells.computeIfPresent(key(row, col), (key, cell) -> {
+                    IndexedFence[] remaining = without(cell, fence);
+                    return remaining.length > 0 ? remaining : null;
+                });
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the fences of a sensor that contain the point.
+     *
+     * @param sensorId  sensor the fences must apply to
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return ids of the containing fences, empty when none
+     */
+    public List<String> findContaining(String sensorId, double latitude, double longitude) {
+        IndexedFence[] cell = cells.getOrDefault(key(cell(latitude), cell(longitude)), NO_FENCES);
+        List<String> containing = collectContaining(cell, sensorId, latitude, longitude, List.of());
+        return collectContaining(largeFences, sensorId, latitude, longitude, containing);
+    }
+
+    public Geofence get(String id) {
+        IndexedFence fence = fences.get(id);
+        return fence != null ? fence.geofence : null;
+    }
+
+    public boolean contains(String id) {
+        return fences.containsKey(id);
+    }
+
+    public Collection<Geofence> getAll() {
+        return fences.values().stream().map(fence -> fence.geofence).toList();
+    }
+
+    public int size() {
+        return fences.size();
+    }
+
+    private static List<String> collectContaining(IndexedFence[] candidates, String sensorId, double latitude,
+                                                  double longitude, List<String> containing) {
+        for (IndexedFence fence : candidates) {
+            // The bounding box fields sit in the fence itself, so they are tested before the sensor set
+            if (fence.covers(latitude, longitude) && fence.sensorIds.contains(sensorId)
+                    && fence.contains(latitude, longitude)) {
+                if (containing.isEmpty()) {
+                    containing = new ArrayList<>(2);
+                }
+                containing.add(fence.id);
+            }
+        }
+        return containing;
+    }
+
+    private boolean isLarge(IndexedFence fence) {
+        long rows = cell(fence.maxLatitude) - cell(fence.minLatitude) + 1;
+        long cols = cell(fence.maxLongitude) - cell(fence.minLongitude) + 1;
+        return rows * cols > maxCellsPerFence;
+    }
+
+    private long cell(double degrees) {
+        return (long) Math.floor(degrees / cellSize);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private static IndexedFence[] append(IndexedFence[] fences, IndexedFence fence) {
+        IndexedFence[] appended = Arrays.copyOf(fences, fences.length + 1);
+        appended[fences.length] = fence;
+        return appended;
+    }
+
+    private static IndexedFence[] without(IndexedFence[] fences, IndexedFence fence) {
+        return Arrays.stream(fences).filter(candidate -> candidate != fence).toArray(IndexedFence[]::new);
+    }
+
+    /**
+     * Fence with its shape flattened into primitives and its bounding box precomputed.
+     */
+    private static final class IndexedFence {
+        private final Geofence geofence;
+        private final String id;
+        private final Set<String> sensorIds;
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+        private final double centerLatitude;
+        private final double centerLongitude;
+        private final double radiusMeters;
+        private final double[] longitudes;
+        private final double[] latitudes;
+
+        private IndexedFence(Geofence geofence) {
+            if (geofence.getId() == null || geofence.getShape() == null) {
+                throw new IllegalArgumentException("Geofence needs an id and a shape");
+            }
+            this.geofence = geofence;
+            this.id = geofence.getId();
+            this.sensorIds = geofence.getSensorIds() != null ? Set.copyOf(geofence.getSensorIds()) : Set.of();
+            if (geofence.getShape() == Geofence.Shape.CIRCLE) {
+                if (geofence.getCenterLatitude() == null || geofence.getCenterLongitude() == null
+                        || geofence.getRadiusMeters() == null || !(geofence.getRadiusMeters() > 0)) {
+                    throw new IllegalArgumentException("Circle geofence needs a center and a positive radius");
+                }
+                this.centerLatitude = geofence.getCenterLatitude();
+                this.centerLongitude = geofence.getCenterLongitude();
+                this.radiusMeters = geofence.getRadiusMeters();
+                this.longitudes = null;
+                this.latitudes = null;
+                double latitudeSpan = radiusMeters / METERS_PER_DEGREE;
+                double cosLatitude = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(centerLatitude) + latitudeSpan)));
+                double longitudeSpan = Math.min(180.0, latitudeSpan / cosLatitude);
+                this.minLatitude = centerLatitude - latitudeSpan;
+                this.maxLatitude = centerLatitude + latitudeSpan;
+                this.minLongitude = centerLongitude - longitudeSpan;
+                this.maxLongitude = centerLongitude + longitudeSpan;
+            } else {
+                List<Geofence.Vertex> vertices = geofence.getVertices();
+                if (vertices == null || vertices.size() < 3) {
+                    throw new IllegalArgumentException("Polygon geofence needs at least three vertices");
+                }
+                this.centerLatitude = 0;
+                this.centerLongitude = 0;
+                this.radiusMeters = 0;
+                this.longitudes = new double[vertices.size()];
+                this.latitudes = new double[vertices.size()];
+                double minLat = Double.POSITIVE_INFINITY;
+                double maxLat = Double.NEGATIVE_INFINITY;
+                double minLon = Double.POSITIVE_INFINITY;
+                double maxLon = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < vertices.size(); i++) {
+                    longitudes[i] = vertices.get(i).getLongitude();
+                    latitudes[i] = vertices.get(i).getLatitude();
+                    minLat = Math.min(minLat, latitudes[i]);
+                    maxLat = Math.max(maxLat, latitudes[i]);
+                    minLon = Math.min(minLon, longitudes[i]);
+                    maxLon = Math.max(maxLon, longitudes[i]);
+                }
+                this.minLatitude = minLat;
+                this.maxLatitude = maxLat;
+                this.minLongitude = minLon;
+                this.maxLongitude = maxLon;
+            }
+        }
+
+        private boolean covers(double latitude, double longitude) {
+            return latitude >= minLatitude && latitude <= maxLatitude
+                    && longitude >= minLongitude && longitude <= maxLongitude;
+        }
+
+        private boolean contains(double latitude, double longitude) {
+            if (latitudes == null) {
+                return GeoDistance.haversineMeters(centerLatitude, centerLongitude, latitude, longitude)
+                        <= radiusMeters;
+            }
+            return Boundary.ringContains(longitudes, latitudes, latitude, longitude);
+        }
+    }
+}
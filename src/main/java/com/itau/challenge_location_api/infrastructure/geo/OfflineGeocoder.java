@@ -0,0 +1,126 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.infrastructure.config.OfflineGeocoderConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Resolves country, state, city and neighborhood in-process from a boundary dataset
+ * loaded at startup, without calling any external API.
+ */
+@Component
+@Slf4j
+public class OfflineGeocoder {
+
+    private final OfflineGeocoderConfig config;
+    private final BoundaryIndex index;
+
+    public OfflineGeocoder(OfflineGeocoderConfig config, ObjectMapper objectMapper, ResourceLoader resourceLoader) {
+        this.config = config;
+        this.index = config.getMode() == OfflineGeocoderConfig.Mode.DISABLED
+                ? null
+                : loadIndex(config, objectMapper, resourceLoader);
+    }
+
+    /**
+     * @return true when a boundary dataset is loaded
+     */
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    /**
+     * @return true when lookups must be answered only from the boundary dataset
+     */
+    public boolean isStandalone() {
+        return isEnabled() && config.getMode() == OfflineGeocoderConfig.Mode.STANDALONE;
+    }
+
+    /**
+     * @return true when the boundary dataset answers before PositionStack
+     */
+    public boolean isFirstTier() {
+        return isEnabled() && config.getMode() == OfflineGeocoderConfig.Mode.FIRST_TIER;
+    }
+
+    /**
+     * @return true when PositionStack must still be called for label/street/number in first-tier mode
+     */
+    public boolean isStreetLevelRequired() {
+        return config.isStreetLevel();
+    }
+
+    /**
+     * Resolves the administrative areas containing the point.
+     *
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     * @return location with the resolved coarse fields, or null when the point is outside the dataset
+     */
+    public LocationInfo resolve(double latitude, double longitude) {
+        if (index == null) {
+            return null;
+        }
+        Boundary country = index.find(AdminLevel.COUNTRY, latitude, longitude);
+        if (country == null) {
+            return null;
+        }
+        return LocationInfo.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .country(country.getName())
+                .state(nameAt(AdminLevel.STATE, latitude, longitude))
+                .city(nameAt(AdminLevel.CITY, latitude, longitude))
+                .neighborhood(nameAt(AdminLevel.NEIGHBORHOOD, latitude, longitude))
+                .build();
+    }
+
+    /**
+     * Tells whether an offline result is complete enough to skip PositionStack.
+     *
+     * @param locationInfo result of {@link #resolve(double, double)}
+     * @return true when country, state and city were all resolved
+     */
+    public boolean isComplete(LocationInfo locationInfo) {
+        return locationInfo != null
+                && locationInfo.getCountry() != null
+                && locationInfo.getState() != null
+                && locationInfo.getCity() != null;
+    }
+
+    private String nameAt(AdminLevel level, double latitude, double longitude) {
+        Boundary boundary = index.find(level, latitude, longitude);
+        return boundary != null ? boundary.getName() : null;
+    }
+
+    private static BoundaryIndex loadIndex(OfflineGeocoderConfig config, ObjectMapper objectMapper,
+                                           ResourceLoader resourceLoader) {
+        if (!StringUtils.hasText(config.getBoundariesPath())) {
+            throw new IllegalStateException(
+                    "offline-geocoder.boundaries-path is required when offline-geocoder.mode is " + config.getMode());
+        }
+        long start = System.nanoTime();
+        Resource resource = resourceLoader.getResource(config.getBoundariesPath());
+        GeoJsonBoundaryLoader loader = new GeoJsonBoundaryLoader(objectMapper,
+                config.getLevelProperty(), config.getNameProperty());
+        try (InputStream inputStream = resource.getInputStream()) {
+            List<Boundary> boundaries = loader.load(inputStream);
+            BoundaryIndex index = new BoundaryIndex(boundaries);
+            log.info("Offline geocoder loaded {} boundaries from {} in {} ms", index.size(),
+                    config.getBoundariesPath(), (System.nanoTime() - start) / 1_000_000);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load boundaries from " + config.getBoundariesPath(), e);
+        }
+    }
+}
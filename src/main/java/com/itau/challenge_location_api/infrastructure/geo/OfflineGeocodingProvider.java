@@ -0,0 +1,44 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.GeocodingProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reverse geocoding from the local boundary dataset. Answers in microseconds with country, state,
+ * city and neighborhood only, which makes it a cheap fallback or hedge for a remote provider.
+ * Available when the offline geocoder has a dataset loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class OfflineGeocodingProvider implements GeocodingProvider {
+
+    public static final String NAME = "offline";
+
+    private final OfflineGeocoder offlineGeocoder;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return offlineGeocoder.isEnabled();
+    }
+
+    @Override
+    public LocationInfo reverseGeocode(PetSensorData sensorData, LookupPriority priority) {
+        LocationInfo resolved = offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude());
+        if (resolved == null) {
+            throw new IllegalStateException("No boundary contains coordinates "
+                    + sensorData.getLatitude() + ", " + sensorData.getLongitude());
+        }
+        return resolved.toBuilder()
+                .sensorId(sensorData.getSensorId())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.itau.challenge_location_api.infrastructure.history;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.LocationHistoryConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the recent readings of each sensor so that its path can be answered without a separate system.
+ * Readings are held as delta and varint encoded timestamps and micro-degree coordinates in byte chunks,
+ * a few bytes each, and are kept for the configured retention behind the sensor's newest reading.
+ * Timestamps are stored with millisecond precision and coordinates to six decimals.
+ */
+@Component
+public class LocationHistoryStore {
+
+    private static final double MICROS_PER_DEGREE = 1_000_000d;
+
+    private final LocationHistoryConfig config;
+    private final Cache<String, SensorTrack> tracks;
+    private final AtomicLong encodedBytes = new AtomicLong();
+    private final Counter recordedReadings;
+
+    public LocationHistoryStore(LocationHistoryConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.tracks = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSensors())
+                .expireAfterWrite(config.getRetention())
+                .<String, SensorTrack>removalListener((sensorId, track, cause) -> {
+                    if (track != null && cause != RemovalCause.REPLACED) {
+                        encodedBytes.addAndGet(-track.encodedBytes());
+                    }
+                })
+                .build();
+        Gauge.builder("pet.location.history.sensors", tracks, Cache::estimatedSize)
+                .description("Number of sensors with a stored location history")
+                .register(meterRegistry);
+        Gauge.builder("pet.location.history.bytes", encodedBytes, AtomicLong::get)
+                .description("Encoded size of the stored location histories")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.recordedReadings = Counter.builder("pet.location.history.readings")
+                .description("Total number of readings recorded in the location history")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends a reading to the history of its sensor.
+     *
+     * @param sensorData reading to record
+     */
+    public void record(PetSensorData sensorData) {
+        if (!config.isEnabled() || sensorData.getSensorId() == null || sensorData.getTimestamp() == null
+                || !(Math.abs(sensorData.getLatitude()) <= 90) || !(Math.abs(sensorData.getLongitude()) <= 180)) {
+            return;
+        }
+        SensorTrack track = tracks.get(sensorData.getSensorId(),
+                sensorId -> new SensorTrack((int) config.getChunkSize().toBytes()));
+        encodedBytes.addAndGet(track.append(toEpochMillis(sensorData.getTimestamp()),
+                toMicros(sensorData.getLatitude()), toMicros(sensorData.getLongitude()),
+                config.getRetention().toMillis()));
+        // Keeps the sensor from expiring while it reports
+        tracks.put(sensorData.getSensorId(), track);
+        recordedReadings.increment();
+    }
+
+    /**
+     * Passes the stored readings of a sensor within a time range to the visitor, in arrival order.
+     * The history is decoded chunk by chunk, nothing is materialized.
+     *
+     * @param sensorId sensor whose history is read
+     * @param from     first timestamp included, null for the oldest stored reading
+     * @param to       last timestamp included, null for the newest stored reading
+     * @param visitor  receives each reading
+     * @return number of readings passed to the visitor
+     */
+    public long forEach(String sensorId, LocalDateTime from, LocalDateTime to, HistoryVisitor visitor) {
+        SensorTrack track = tracks.getIfPresent(sensorId);
+        if (track == null) {
+            return 0;
+        }
+        long fromMillis = from != null ? toEpochMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? toEpochMillis(to) : Long.MAX_VALUE;
+        List<SensorTrack.ChunkView> chunks = track.snapshot();
+        long[] visited = new long[1];
+        for (SensorTrack.ChunkView chunk : chunks) {
+            chunk.forEach(fromMillis, toMillis, (millis, latitude, longitude) -> {
+                visitor.visit(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                                (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC),
+                        latitude / MICROS_PER_DEGREE, longitude / MICROS_PER_DEGREE);
+                visited[0]++;
+            });
+        }
+        return visited[0];
+    }
+
+    /**
+     * Encoded size of a sensor's history.
+     *
+     * @param sensorId sensor whose history is measured
+     * @return bytes used by its readings, zero when nothing is stored
+     */
+    public long encodedBytes(String sensorId) {
+        SensorTrack track = tracks.getIfPresent(sensorId);
+        return track != null ? track.encodedBytes() : 0;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static int toMicros(double degrees) {
+        return (int) Math.round(degrees * MICROS_PER_DEGREE);
+    }
+
+    /**
+     * Receives the readings of a sensor's history.
+     */
+    @FunctionalInterface
+    public interface HistoryVisitor {
+        void visit(LocalDateTime timestamp, double latitude, double longitude);
+    }
+}
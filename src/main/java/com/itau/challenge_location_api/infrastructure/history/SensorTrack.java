@@ -0,0 +1,214 @@
+package com.itau.challenge_location_api.infrastructure.history;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Readings of one sensor, encoded in append-only byte chunks.
+ * <p>
+ * Each reading is stored as three zigzag varints: the difference in milliseconds from the previous
+ * reading's timestamp and the differences in micro-degrees from its latitude and longitude. The first
+ * reading of a chunk is relative to the chunk base, so every chunk decodes on its own and retention
+ * drops whole chunks. A pet reporting every few seconds while walking costs five to seven bytes per reading.
+ */
+final class SensorTrack {
+
+    /**
+     * Longest encoding of a reading: a 64-bit and two 32-bit zigzag varints.
+     */
+    private static final int MAX_READING_BYTES = 10 + 5 + 5;
+    private static final int INITIAL_CHUNK_BYTES = 64;
+
+    private final int chunkBytes;
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+    private long newestMillis = Long.MIN_VALUE;
+    private long encodedBytes;
+    private long readings;
+
+    SensorTrack(int chunkBytes) {
+        this.chunkBytes = Math.max(chunkBytes, MAX_READING_BYTES);
+    }
+
+    /**
+     * Appends a reading and drops the chunks that fell out of retention.
+     *
+     * @param epochMillis     timestamp of the reading
+     * @param latitudeMicros  latitude in micro-degrees
+     * @param longitudeMicros longitude in micro-degrees
+     * @param retentionMillis how far behind the newest reading readings are kept
+     * @return change in encoded bytes of the track, negative when chunks were dropped
+     */
+    synchronized long append(long epochMillis, int latitudeMicros, int longitudeMicros, long retentionMillis) {
+        long before = encodedBytes;
+        newestMillis = Math.max(newestMillis, epochMillis);
+        long cutoff = newestMillis - retentionMillis;
+        if (epochMillis < cutoff) {
+            return 0;
+        }
+        Chunk open = chunks.peekLast();
+        if (open == null || open.length + MAX_READING_BYTES > chunkBytes) {
+            if (open != null) {
+                open.seal();
+            }
+            open = new Chunk(epochMillis, latitudeMicros, longitudeMicros, Math.min(INITIAL_CHUNK_BYTES, chunkBytes));
+            chunks.addLast(open);
+        }
+        encodedBytes += open.append(epochMillis, latitudeMicros, longitudeMicros, chunkBytes);
+        readings++;
+        while (chunks.size() > 1 && chunks.peekFirst().maxMillis < cutoff) {
+            Chunk dropped = chunks.pollFirst();
+            encodedBytes -= dropped.length;
+            readings -= dropped.count;
+        }
+        return encodedBytes - before;
+    }
+
+    /**
+     * Takes a consistent view of the track that can be decoded without holding its lock.
+     *
+     * @return chunk views in append order
+     */
+    synchronized List<ChunkView> snapshot() {
+        List<ChunkView> views = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            views.add(new ChunkView(chunk.data, chunk.length, chunk.count, chunk.baseMillis, chunk.baseLatitude,
+                    chunk.baseLongitude, chunk.minMillis, chunk.maxMillis));
+        }
+        return views;
+    }
+
+    synchronized long encodedBytes() {
+        return encodedBytes;
+    }
+
+    synchronized long readings() {
+        return readings;
+    }
+
+    /**
+     * Immutable view of a chunk up to the readings it held when the snapshot was taken.
+     */
+    record ChunkView(byte[] data, int length, int count, long baseMillis, int baseLatitude, int baseLongitude,
+                     long minMillis, long maxMillis) {
+
+        /**
+         * Decodes the readings of the chunk within the given time range.
+         *
+         * @param fromMillis first timestamp included
+         * @param toMillis   last timestamp included
+         * @param visitor    receives each reading in append order
+         */
+        void forEach(long fromMillis, long toMillis, ReadingVisitor visitor) {
+            if (maxMillis < fromMillis || minMillis > toMillis) {
+                return;
+            }
+            long millis = baseMillis;
+            int latitude = baseLatitude;
+            int longitude = baseLongitude;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                long raw = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    raw |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                millis += (raw >>> 1) ^ -(raw & 1);
+                raw = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    raw |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                latitude += (int) ((raw >>> 1) ^ -(raw & 1));
+                raw = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    raw |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                longitude += (int) ((raw >>> 1) ^ -(raw & 1));
+                if (millis >= fromMillis && millis <= toMillis) {
+                    visitor.visit(millis, latitude, longitude);
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives decoded readings.
+     */
+    @FunctionalInterface
+    interface ReadingVisitor {
+        void visit(long epochMillis, int latitudeMicros, int longitudeMicros);
+    }
+
+    private static final class Chunk {
+        private final long baseMillis;
+        private final int baseLatitude;
+        private final int baseLongitude;
+        private byte[] data;
+        private int length;
+        private int count;
+        private long minMillis = Long.MAX_VALUE;
+        private long maxMillis = Long.MIN_VALUE;
+        private long lastMillis;
+        private int lastLatitude;
+        private int lastLongitude;
+
+        private Chunk(long baseMillis, int baseLatitude, int baseLongitude, int initialBytes) {
+            this.baseMillis = baseMillis;
+            this.baseLatitude = baseLatitude;
+            this.baseLongitude = baseLongitude;
+            this.lastMillis = baseMillis;
+            this.lastLatitude = baseLatitude;
+            this.lastLongitude = baseLongitude;
+            this.data = new byte[initialBytes];
+        }
+
+        /**
+         * @return bytes the reading took
+         */
+        private int append(long millis, int latitude, int longitude, int chunkBytes) {
+            int start = length;
+            if (length + MAX_READING_BYTES > data.length) {
+                // Snapshots keep reading the previous array, which is never written again
+                data = Arrays.copyOf(data, Math.min(chunkBytes, Math.max(data.length * 2, length + MAX_READING_BYTES)));
+            }
+            writeZigZag(millis - lastMillis);
+            writeZigZag((long) latitude - lastLatitude);
+            writeZigZag((long) longitude - lastLongitude);
+            lastMillis = millis;
+            lastLatitude = latitude;
+            lastLongitude = longitude;
+            minMillis = Math.min(minMillis, millis);
+            maxMillis = Math.max(maxMillis, millis);
+            count++;
+            return length - start;
+        }
+
+        /**
+         * Trims the unused tail once no more readings go into the chunk.
+         */
+        private void seal() {
+            if (data.length > length) {
+                data = Arrays.copyOf(data, length);
+            }
+        }
+
+        private void writeZigZag(long value) {
+            long encoded = (value << 1) ^ (value >> 63);
+            while ((encoded & ~0x7FL) != 0) {
+                data[length++] = (byte) ((encoded & 0x7F) | 0x80);
+                encoded >>>= 7;
+            }
+            data[length++] = (byte) encoded;
+        }
+    }
+}
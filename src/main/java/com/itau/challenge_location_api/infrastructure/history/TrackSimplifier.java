@@ -0,0 +1,211 @@
+package com.itau.challenge_location_api.infrastructure.history;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.TrackSimplificationConfig;
+import com.itau.challenge_location_api.infrastructure.geo.GeoDistance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Simplifies the track of each sensor as its readings arrive and stores only the significant ones
+ * in the location history.
+ * Readings are grouped into straight segments: a reading extends the current segment while every
+ * reading since the segment start lies within the tolerance of the line from the start to it. When a
+ * reading breaks the segment, the previous reading is stored as the segment end and starts the next
+ * segment, and the readings in between are dropped. Walks along a straight line and jitter around a
+ * resting spot are reduced to a few points, and the stored path stays within the tolerance of the
+ * received one.
+ * <p>
+ * The end of the current segment is only known once a later reading breaks it; {@link #pending}
+ * returns it meanwhile, and it is stored when the sensor has sent nothing for the maximum interval.
+ * Reading it does not keep the segment open.
+ */
+@Component
+public class TrackSimplifier {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(GeoDistance.EARTH_RADIUS_METERS);
+
+    private final TrackSimplificationConfig config;
+    private final LocationHistoryStore locationHistory;
+    private final Cache<String, SegmentWindow> windows;
+    private final Counter droppedReadings;
+
+    @Autowired
+    public TrackSimplifier(TrackSimplificationConfig config, LocationHistoryStore locationHistory,
+                           MeterRegistry meterRegistry) {
+        this(config, locationHistory, meterRegistry, Ticker.systemTicker());
+    }
+
+    TrackSimplifier(TrackSimplificationConfig config, LocationHistoryStore locationHistory,
+                    MeterRegistry meterRegistry, Ticker ticker) {
+        this.config = config;
+        this.locationHistory = locationHistory;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSensors())
+                // Only offer counts as an access, pending reads the window quietly
+                .expireAfterAccess(config.getMaxInterval())
+                // Stores the end of a silent sensor's segment on time, not at the next cache activity
+                .scheduler(Scheduler.systemScheduler())
+                .ticker(ticker)
+                .<String, SegmentWindow>removalListener((sensorId, window, cause) -> {
+                    if (window != null && cause != RemovalCause.REPLACED) {
+                        close(window);
+                    }
+                })
+                .build();
+        this.droppedReadings = Counter.builder("pet.location.track.dropped")
+                .description("Total number of readings left out of the location history by track simplification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds a reading to the track of its sensor, storing the readings that turn out significant.
+     * Readings older than the sensor's latest one are stored as they are.
+     *
+     * @param sensorData reading to add
+     * @return true when the reading continues the sensor's current segment, so it needs no lookup of its own
+     */
+    public boolean offer(PetSensorData sensorData) {
+        if (!config.isEnabled() || sensorData.getSensorId() == null || sensorData.getTimestamp() == null) {
+            locationHistory.record(sensorData);
+            return false;
+        }
+        while (true) {
+            SegmentWindow window = windows.get(sensorData.getSensorId(), sensorId -> new SegmentWindow());
+            synchronized (window) {
+                // A window evicted in the meantime has already stored its end, start a new one
+                if (!window.closed) {
+                    return offer(window, sensorData);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the sensor's current segment while it is not stored yet.
+     *
+     * @param sensorId sensor whose track is read
+     * @return latest reading of the sensor when it is pending, otherwise null
+     */
+    public PetSensorData pending(String sensorId) {
+        SegmentWindow window = windows.policy().getIfPresentQuietly(sensorId);
+        if (window == null) {
+            return null;
+        }
+        synchronized (window) {
+            return window.closed ? null : window.end;
+        }
+    }
+
+    private boolean offer(SegmentWindow window, PetSensorData sensorData) {
+        if (window.start == null) {
+            start(window, sensorData);
+            return false;
+        }
+        PetSensorData latest = window.end != null ? window.end : window.start;
+        if (sensorData.getTimestamp().isBefore(latest.getTimestamp())) {
+            locationHistory.record(sensorData);
+            return false;
+        }
+        if (extend(window, sensorData)) {
+            return true;
+        }
+        if (window.end != null) {
+            start(window, window.end);
+            if (extend(window, sensorData)) {
+                return false;
+            }
+        }
+        start(window, sensorData);
+        return false;
+    }
+
+    private void start(SegmentWindow window, PetSensorData sensorData) {
+        locationHistory.record(sensorData);
+        window.start = sensorData;
+        window.end = null;
+        window.size = 0;
+        window.cosLatitude = Math.cos(Math.toRadians(sensorData.getLatitude()));
+    }
+
+    /**
+     * Makes the reading the new end of the segment when the segment stays within the tolerance.
+     * Readings are projected on a plane tangent at the segment start, which is accurate to well
+     * under a meter at segment lengths.
+     */
+    private boolean extend(SegmentWindow window, PetSensorData sensorData) {
+        if (window.size >= config.getMaxWindow()) {
+            return false;
+        }
+        Duration elapsed = Duration.between(window.start.getTimestamp(), sensorData.getTimestamp());
+        if (elapsed.compareTo(config.getMaxInterval()) > 0) {
+            return false;
+        }
+        double x = Math.IEEEremainder(sensorData.getLongitude() - window.start.getLongitude(), 360.0)
+                * window.cosLatitude * METERS_PER_DEGREE;
+        double y = (sensorData.getLatitude() - window.start.getLatitude()) * METERS_PER_DEGREE;
+        double lengthSquared = x * x + y * y;
+        if (!(lengthSquared <= config.getMaxSegmentMeters() * config.getMaxSegmentMeters())) {
+            return false;
+        }
+        double tolerance = config.getToleranceMeters();
+        for (int i = 0; i < window.size; i++) {
+            if (distanceToSegment(window.xs[i], window.ys[i], x, y, lengthSquared) > tolerance) {
+                return false;
+            }
+        }
+        window.add(x, y);
+        if (window.end != null) {
+            droppedReadings.increment();
+        }
+        window.end = sensorData;
+        return true;
+    }
+
+    private static double distanceToSegment(double px, double py, double x, double y, double lengthSquared) {
+        double t = lengthSquared > 0 ? Math.max(0, Math.min(1, (px * x + py * y) / lengthSquared)) : 0;
+        return Math.hypot(px - t * x, py - t * y);
+    }
+
+    private void close(SegmentWindow window) {
+        synchronized (window) {
+            window.closed = true;
+            if (window.end != null) {
+                locationHistory.record(window.end);
+            }
+        }
+    }
+
+    /**
+     * Readings of a sensor's current segment, as offsets in meters from its start.
+     */
+    private static final class SegmentWindow {
+        private PetSensorData start;
+        private PetSensorData end;
+        private double cosLatitude;
+        private float[] xs = new float[4];
+        private float[] ys = new float[4];
+        private int size;
+        private boolean closed;
+
+        private void add(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            xs[size] = (float) x;
+            ys[size] = (float) y;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.itau.challenge_location_api.infrastructure.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size window over the most recent latencies, for percentiles that drive runtime decisions
+ * regardless of the meter registry in use.
+ * Recording is lock-free; a reader may miss samples written concurrently, which is fine for estimates.
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    /**
+     * @param size number of recent latencies kept
+     */
+    public LatencyWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Latency window must hold at least one sample");
+        }
+        this.samples = new long[size];
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        samples[(int) (recorded.getAndIncrement() % samples.length)] = nanos;
+    }
+
+    /**
+     * Total number of latencies recorded, including the ones that left the window.
+     *
+     * @return recorded samples
+     */
+    public long count() {
+        return recorded.get();
+    }
+
+    /**
+     * Latency below which the given fraction of the samples in the window fall.
+     *
+     * @param percentile fraction between 0 and 1
+     * @return latency in nanoseconds, or -1 when nothing was recorded
+     */
+    public long percentile(double percentile) {
+        int size = (int) Math.min(recorded.get(), samples.length);
+        if (size == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+}
@@ -1,31 +1,118 @@
 package com.itau.challenge_location_api.infrastructure.metrics;
 
+import com.itau.challenge_location_api.domain.model.GeofenceEvent;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service for tracking custom metrics related to pet location operations.
  * Uses Spring Boot Actuator's Micrometer for simple metrics collection.
+ * Meters are registered once and reused, so recording on the request path does not
+ * allocate builders or look meters up in the registry.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class LocationMetricsService {
 
+    private static final String REQUEST_DURATION = "pet.location.request.duration";
+    private static final String STAGE_DURATION = "pet.location.stage.duration";
+
+    /**
+     * Stages of a location lookup whose latency is recorded separately.
+     */
+    public enum Stage {
+        VALIDATION("validation"),
+        CACHE_LOOKUP("cache_lookup"),
+        UPSTREAM("upstream"),
+        MAPPING("mapping"),
+        GEOFENCE("geofence");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
     private final MeterRegistry meterRegistry;
+    private final Counter requests;
+    private final Counter successfulRequests;
+    private final ConcurrentMap<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Counter batchRequests;
+    private final DistributionSummary batchSize;
+    private final Counter streamRequests;
+    private final Counter streamReadings;
+    private final Counter coalescedLookups;
+    private final Counter shortCircuitedReadings;
+    private final Counter degradedLookups;
+    private final Timer requestDuration;
+    private final Map<Stage, Timer> stageDurations = new EnumMap<>(Stage.class);
+    private final Map<GeofenceEvent.Type, Counter> geofenceEvents = new EnumMap<>(GeofenceEvent.Type.class);
+
+    public LocationMetricsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.requests = Counter.builder("pet.location.requests.total")
+                .description("Total number of pet location requests")
+                .register(meterRegistry);
+        this.successfulRequests = Counter.builder("pet.location.requests.success")
+                .description("Total number of successful pet location requests")
+                .register(meterRegistry);
+        this.batchRequests = Counter.builder("pet.location.batch.requests")
+                .description("Total number of batch pet location requests")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("pet.location.batch.size")
+                .description("Number of readings per batch pet location request")
+                .register(meterRegistry);
+        this.streamRequests = Counter.builder("pet.location.stream.requests")
+                .description("Total number of streaming pet location requests")
+                .register(meterRegistry);
+        this.streamReadings = Counter.builder("pet.location.stream.readings")
+                .description("Total number of readings received through streaming pet location requests")
+                .register(meterRegistry);
+        this.coalescedLookups = Counter.builder("pet.location.upstream.coalesced")
+                .description("Total number of lookups coalesced into a pending upstream call")
+                .register(meterRegistry);
+        this.shortCircuitedReadings = Counter.builder("pet.location.shortcircuit")
+                .description("Total number of readings answered from the sensor's last resolved fix")
+                .register(meterRegistry);
+        this.degradedLookups = Counter.builder("pet.location.degraded")
+                .description("Total number of lookups answered with a coarse location because the quota ran out")
+                .register(meterRegistry);
+        this.requestDuration = Timer.builder(REQUEST_DURATION)
+                .description("Duration of pet location requests")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (GeofenceEvent.Type type : GeofenceEvent.Type.values()) {
+            geofenceEvents.put(type, Counter.builder("pet.location.geofence.events")
+                    .description("Total number of geofence entries and exits")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        for (Stage stage : Stage.values()) {
+            stageDurations.put(stage, Timer.builder(STAGE_DURATION)
+                    .description("Duration of each stage of a pet location lookup")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
 
     /**
      * Increment total location requests counter.
      */
     public void incrementLocationRequests() {
-        Counter.builder("pet.location.requests.total")
-                .description("Total number of pet location requests")
-                .register(meterRegistry)
-                .increment();
+        requests.increment();
         log.debug("Incremented location requests counter");
     }
 
@@ -33,10 +120,7 @@ public class LocationMetricsService {
      * Increment successful location requests counter.
      */
     public void incrementLocationRequestsSuccess() {
-        Counter.builder("pet.location.requests.success")
-                .description("Total number of successful pet location requests")
-                .register(meterRegistry)
-                .increment();
+        successfulRequests.increment();
         log.debug("Incremented successful location requests counter");
     }
 
@@ -46,23 +130,92 @@ public class LocationMetricsService {
      * @param errorType the type of error that occurred
      */
     public void incrementLocationRequestsError(String errorType) {
-        Counter.builder("pet.location.requests.error")
-                .description("Total number of failed pet location requests")
-                .tag("error.type", errorType)
-                .register(meterRegistry)
+        errorCounters.computeIfAbsent(errorType, type -> Counter.builder("pet.location.requests.error")
+                        .description("Total number of failed pet location requests")
+                        .tag("error.type", type)
+                        .register(meterRegistry))
                 .increment();
         log.debug("Incremented error location requests counter for error type: {}", errorType);
     }
 
+    /**
+     * Record a batch location request and the number of readings it carried.
+     *
+     * @param size number of readings in the batch
+     */
+    public void recordBatchRequest(int size) {
+        batchRequests.increment();
+        batchSize.record(size);
+        log.debug("Recorded batch location request with {} readings", size);
+    }
+
+    /**
+     * Increment the counter of streaming location requests.
+     */
+    public void incrementStreamRequests() {
+        streamRequests.increment();
+        log.debug("Incremented stream requests counter");
+    }
+
+    /**
+     * Increment the counter of readings received through streaming location requests.
+     */
+    public void incrementStreamReadings() {
+        streamReadings.increment();
+    }
+
+    /**
+     * Increment the counter of lookups that joined an identical pending upstream call
+     * instead of issuing their own.
+     */
+    public void incrementCoalescedLookups() {
+        coalescedLookups.increment();
+        log.debug("Incremented coalesced lookups counter");
+    }
+
+    /**
+     * Increment the counter of readings answered from the sensor's last fix because the pet
+     * has not moved.
+     */
+    public void incrementShortCircuitedReadings() {
+        shortCircuitedReadings.increment();
+        log.debug("Incremented short-circuited readings counter");
+    }
+
+    /**
+     * Increment the counter of lookups answered with a coarse location because the PositionStack
+     * quota ran out.
+     */
+    public void incrementDegradedLookups() {
+        degradedLookups.increment();
+        log.debug("Incremented degraded lookups counter");
+    }
+
+    /**
+     * Increment the counter of geofence events of the given type.
+     *
+     * @param type whether the sensor entered or left a geofence
+     */
+    public void incrementGeofenceEvents(GeofenceEvent.Type type) {
+        geofenceEvents.get(type).increment();
+    }
+
+    /**
+     * Record the duration of one stage of a location lookup.
+     *
+     * @param stage the stage that completed
+     * @param nanos elapsed time in nanoseconds, as measured with {@link System#nanoTime()}
+     */
+    public void recordStage(Stage stage, long nanos) {
+        stageDurations.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Create a timer for measuring location request duration.
      *
      * @return Timer.Sample to be stopped when operation completes
      */
     public Timer.Sample startLocationRequestTimer() {
-        Timer timer = Timer.builder("pet.location.request.duration")
-                .description("Duration of pet location requests")
-                .register(meterRegistry);
         return Timer.start(meterRegistry);
     }
 
@@ -72,10 +225,7 @@ public class LocationMetricsService {
      * @param timerSample the timer sample to stop
      */
     public void stopTimer(Timer.Sample timerSample) {
-        Timer timer = meterRegistry.find("pet.location.request.duration").timer();
-        if (timer != null) {
-            timerSample.stop(timer);
-            log.debug("Stopped location request timer");
-        }
+        timerSample.stop(requestDuration);
+        log.debug("Stopped location request timer");
     }
 }
@@ -0,0 +1,110 @@
+package com.itau.challenge_location_api.presentation.controller;
+
+import com.itau.challenge_location_api.application.service.GeofenceService;
+import com.itau.challenge_location_api.domain.model.Geofence;
+import com.itau.challenge_location_api.presentation.dto.request.GeofenceRequest;
+import com.itau.challenge_location_api.presentation.dto.response.GeofenceResponse;
+import com.itau.challenge_location_api.presentation.exception.InvalidGeofenceException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for geofence registration.
+ * Entries and exits of the registered fences are detected as readings reach the location endpoints.
+ */
+@RestController
+@RequestMapping("/v1/geofences")
+@RequiredArgsConstructor
+@Slf4j
+public class GeofenceController {
+
+    private final GeofenceService geofenceService;
+
+    /**
+     * Registers a geofence.
+     *
+     * @param request the fence shape and the sensors it applies to
+     * @return the registered fence with its generated id
+     */
+    @PostMapping
+    public ResponseEntity<GeofenceResponse> register(@Valid @RequestBody GeofenceRequest request) {
+        try {
+            Geofence geofence = geofenceService.register(mapToGeofence(request));
+            return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(geofence));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidGeofenceException(e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the registered geofences.
+     *
+     * @return every registered fence
+     */
+    @GetMapping
+    public List<GeofenceResponse> findAll() {
+        return geofenceService.findAll().stream().map(this::mapToResponse).toList();
+    }
+
+    /**
+     * Retrieves a geofence.
+     *
+     * @param id id of the fence
+     * @return the fence, or 404 when it is not registered
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<GeofenceResponse> find(@PathVariable String id) {
+        Geofence geofence = geofenceService.find(id);
+        return geofence != null ? ResponseEntity.ok(mapToResponse(geofence)) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Removes a geofence.
+     *
+     * @param id id of the fence
+     * @return 204, or 404 when it is not registered
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> remove(@PathVariable String id) {
+        return geofenceService.remove(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private Geofence mapToGeofence(GeofenceRequest request) {
+        return Geofence.builder()
+                .name(request.getName())
+                .sensorIds(request.getSensorIds())
+                .shape(request.getShape())
+                .centerLatitude(request.getCenterLatitude())
+                .centerLongitude(request.getCenterLongitude())
+                .radiusMeters(request.getRadiusMeters())
+                .vertices(request.getVertices() == null ? null : request.getVertices().stream()
+                        .map(vertex -> new Geofence.Vertex(vertex.getLatitude(), vertex.getLongitude()))
+                        .toList())
+                .build();
+    }
+
+    private GeofenceResponse mapToResponse(Geofence geofence) {
+        return GeofenceResponse.builder()
+                .id(geofence.getId())
+                .name(geofence.getName())
+                .sensorIds(geofence.getSensorIds())
+                .shape(geofence.getShape())
+                .centerLatitude(geofence.getCenterLatitude())
+                .centerLongitude(geofence.getCenterLongitude())
+                .radiusMeters(geofence.getRadiusMeters())
+                .vertices(geofence.getVertices())
+                .build();
+    }
+}
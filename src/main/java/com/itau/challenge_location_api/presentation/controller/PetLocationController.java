@@ -1,21 +1,54 @@
 package com.itau.challenge_location_api.presentation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LocationLookupResult;
 import com.itau.challenge_location_api.domain.model.PetSensorData;
 import com.itau.challenge_location_api.domain.service.LocationService;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackUnavailableException;
+import com.itau.challenge_location_api.infrastructure.config.LocationBatchConfig;
+import com.itau.challenge_location_api.infrastructure.history.LocationHistoryStore;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
 import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
 import com.itau.challenge_location_api.presentation.dto.request.PetLocationRequest;
+import com.itau.challenge_location_api.presentation.dto.response.BatchLocationResponse;
+import com.itau.challenge_location_api.presentation.dto.response.LocationHistoryResponse;
 import com.itau.challenge_location_api.presentation.dto.response.LocationResponse;
+import com.itau.challenge_location_api.presentation.dto.response.LocationResultResponse;
+import com.itau.challenge_location_api.presentation.exception.InvalidBatchRequestException;
+import com.itau.challenge_location_api.presentation.stream.NdjsonLocationStreamer;
 import io.micrometer.core.instrument.Timer;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
 /**
  * REST Controller for pet location operations.
  * Handles HTTP requests for retrieving location information from pet sensor data.
@@ -28,6 +61,12 @@ public class PetLocationController {
 
     private final LocationService locationService;
     private final LocationMetricsService metricsService;
+    private final LocationBatchConfig batchConfig;
+    private final Validator validator;
+    private final NdjsonLocationStreamer locationStreamer;
+    private final LocationHistoryStore locationHistory;
+    private final TrackSimplifier trackSimplifier;
+    private final ObjectMapper objectMapper;
 
     /**
      * Retrieves location information from pet sensor data.
@@ -36,18 +75,14 @@ public class PetLocationController {
      * @return location information including country, state, city, neighborhood, and address
      */
     @PostMapping
-    public ResponseEntity<LocationResponse> getLocationFromSensorData(@Valid @RequestBody PetLocationRequest request) {
+    public ResponseEntity<LocationResponse> getLocationFromSensorData(@RequestBody PetLocationRequest request) {
+        validateRequest(request);
         Timer.Sample requestTimer = metricsService.startLocationRequestTimer();
         metricsService.incrementLocationRequests();
         
         try {
             log.info("Received location request for sensor: {}", request.getSensorId());
-            PetSensorData sensorData = PetSensorData.builder()
-                    .sensorId(request.getSensorId())
-                    .latitude(request.getLatitude())
-                    .longitude(request.getLongitude())
-                    .timestamp(request.getTimestamp())
-                    .build();
+            PetSensorData sensorData = mapToSensorData(request);
             
             LocationInfo locationInfo = locationService.getLocationFromCoordinates(sensorData);
             LocationResponse response = mapToResponse(locationInfo);
@@ -57,7 +92,7 @@ public class PetLocationController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            metricsService.incrementLocationRequestsError("processing_error");
+            metricsService.incrementLocationRequestsError(errorType(e));
             log.error("Error processing location request for sensor: {}", request.getSensorId(), e);
             throw e;
         } finally {
@@ -65,6 +100,277 @@ public class PetLocationController {
         }
     }
 
+    /**
+     * Retrieves location information from pet sensor data without holding a request thread
+     * while the external geocoding call is in flight.
+     *
+     * @param request the pet location request containing sensor data
+     * @return future completed with the location information
+     */
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<LocationResponse>> getLocationFromSensorDataAsync(
+            @RequestBody PetLocationRequest request) {
+        validateRequest(request);
+        Timer.Sample requestTimer = metricsService.startLocationRequestTimer();
+        metricsService.incrementLocationRequests();
+        log.info("Received async location request for sensor: {}", request.getSensorId());
+
+        CompletableFuture<LocationInfo> lookup;
+        try {
+            lookup = locationService.getLocationFromCoordinatesAsync(mapToSensorData(request));
+        } catch (RuntimeException e) {
+            // A lookup failing before it starts is counted and timed like any other failure
+            lookup = CompletableFuture.failedFuture(e);
+        }
+        return lookup
+                .thenApply(locationInfo -> {
+                    metricsService.incrementLocationRequestsSuccess();
+                    log.info("Location found for sensor: {}", request.getSensorId());
+                    return ResponseEntity.ok(mapToResponse(locationInfo));
+                })
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        metricsService.incrementLocationRequestsError(errorType(error));
+                        log.error("Error processing async location request for sensor: {}",
+                                request.getSensorId(), error);
+                    }
+                    metricsService.stopTimer(requestTimer);
+                });
+    }
+
+    /**
+     * Retrieves location information for several pet sensor readings at once.
+     * Each reading is validated on its own, so invalid or unresolvable readings
+     * are reported individually without failing the rest of the batch.
+     *
+     * @param requests the pet location requests
+     * @return one result per reading, in the same order as the input
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLocationResponse> getLocationsFromSensorData(
+            @RequestBody List<PetLocationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidBatchRequestException("Batch must contain at least one reading");
+        }
+        if (requests.size() > batchConfig.getMaxSize()) {
+            throw new InvalidBatchRequestException(
+                    "Batch must contain at most " + batchConfig.getMaxSize() + " readings");
+        }
+        Timer.Sample requestTimer = metricsService.startLocationRequestTimer();
+        metricsService.recordBatchRequest(requests.size());
+        
+        try {
+            log.info("Received batch location request with {} readings", requests.size());
+            LocationResultResponse[] results = new LocationResultResponse[requests.size()];
+            List<Integer> validIndexes = new ArrayList<>(requests.size());
+            List<PetSensorData> validReadings = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                PetLocationRequest request = requests.get(i);
+                String validationError = validate(request);
+                if (validationError != null) {
+                    results[i] = LocationResultResponse.builder()
+                            .index(i)
+                            .sensorId(request != null ? request.getSensorId() : null)
+                            .error(validationError)
+                            .build();
+                } else {
+                    validIndexes.add(i);
+                    validReadings.add(mapToSensorData(request));
+                }
+            }
+
+            List<LocationLookupResult> lookups = validReadings.isEmpty()
+                    ? List.of()
+                    : locationService.getLocationsFromCoordinates(validReadings);
+            for (int i = 0; i < lookups.size(); i++) {
+                int index = validIndexes.get(i);
+                results[index] = mapToResultResponse(index, lookups.get(i));
+            }
+
+            int succeeded = 0;
+            for (LocationResultResponse result : results) {
+                if (result.getError() == null) {
+                    succeeded++;
+                }
+            }
+            log.info("Batch resolved {} of {} readings", succeeded, requests.size());
+            
+            return ResponseEntity.ok(BatchLocationResponse.builder()
+                    .succeeded(succeeded)
+                    .failed(requests.size() - succeeded)
+                    .results(List.of(results))
+                    .build());
+        } catch (Exception e) {
+            metricsService.incrementLocationRequestsError("batch_processing_error");
+            log.error("Error processing batch location request", e);
+            throw e;
+        } finally {
+            metricsService.stopTimer(requestTimer);
+        }
+    }
+
+    /**
+     * Retrieves location information for a stream of pet sensor readings.
+     * The request body is newline-delimited JSON with one reading per line; one result line
+     * is written back per reading as soon as it is resolved, so results may arrive out of
+     * order and carry the index of their reading.
+     *
+     * @param body the NDJSON request body
+     * @param response the HTTP response the NDJSON results are written to
+     * @throws IOException when the stream cannot be read or written
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamLocationsFromSensorData(InputStream body, HttpServletResponse response) throws IOException {
+        Timer.Sample requestTimer = metricsService.startLocationRequestTimer();
+        metricsService.incrementStreamRequests();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        
+        try {
+            log.info("Received streaming location request");
+            locationStreamer.stream(body, response.getOutputStream());
+        } catch (Exception e) {
+            metricsService.incrementLocationRequestsError("stream_processing_error");
+            log.error("Error processing streaming location request", e);
+            throw e;
+        } finally {
+            metricsService.stopTimer(requestTimer);
+        }
+    }
+
+    /**
+     * Retrieves the stored readings of a sensor within a time range.
+     * The history is written as newline-delimited JSON, one reading per line in arrival order,
+     * while it is decoded, so long ranges are never materialized. Only the significant readings of
+     * the simplified track are stored, the sensor's latest reading is always included.
+     *
+     * @param sensorId the sensor whose history is read
+     * @param from first timestamp included, the oldest stored reading when absent
+     * @param to last timestamp included, the newest stored reading when absent
+     * @param response the HTTP response the NDJSON readings are written to
+     * @throws IOException when the response cannot be written
+     */
+    @GetMapping(value = "/{sensorId}/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getLocationHistory(
+            @PathVariable String sensorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+        log.info("Received location history request for sensor: {}", sensorId);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = new BufferedOutputStream(response.getOutputStream());
+        long readings;
+        try {
+            readings = locationHistory.forEach(sensorId, from, to, (timestamp, latitude, longitude) ->
+                    writeHistoryLine(output, timestamp, latitude, longitude));
+            // The end of the sensor's current segment is only stored once a later reading breaks it
+            PetSensorData pending = trackSimplifier.pending(sensorId);
+            if (pending != null && (from == null || !pending.getTimestamp().isBefore(from))
+                    && (to == null || !pending.getTimestamp().isAfter(to))) {
+                writeHistoryLine(output, pending.getTimestamp(), pending.getLatitude(), pending.getLongitude());
+                readings++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        output.flush();
+        log.info("Location history of sensor {} returned {} readings", sensorId, readings);
+    }
+
+    private void writeHistoryLine(OutputStream output, LocalDateTime timestamp, double latitude, double longitude) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(LocationHistoryResponse.builder()
+                    .timestamp(timestamp)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .build()));
+            output.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Classifies a failed lookup for the error counter.
+     *
+     * @param error the failure, possibly wrapped by a future
+     * @return the error type tag
+     */
+    private String errorType(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof PositionStackUnavailableException ? "upstream_unavailable" : "processing_error";
+    }
+
+    /**
+     * Validates a single location request, timing it as the validation stage like batch readings are.
+     *
+     * @param request the pet location request
+     * @throws ConstraintViolationException when the request is invalid
+     */
+    private void validateRequest(PetLocationRequest request) {
+        long start = System.nanoTime();
+        Set<ConstraintViolation<PetLocationRequest>> violations = validator.validate(request);
+        metricsService.recordStage(Stage.VALIDATION, System.nanoTime() - start);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * Validates a single reading of a batch.
+     *
+     * @param request the pet location request
+     * @return the validation messages joined, or null when the reading is valid
+     */
+    private String validate(PetLocationRequest request) {
+        if (request == null) {
+            return "Reading is required";
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<PetLocationRequest>> violations = validator.validate(request);
+        metricsService.recordStage(Stage.VALIDATION, System.nanoTime() - start);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Maps PetLocationRequest DTO to PetSensorData domain model.
+     *
+     * @param request the request DTO
+     * @return the domain model
+     */
+    private PetSensorData mapToSensorData(PetLocationRequest request) {
+        return PetSensorData.builder()
+                .sensorId(request.getSensorId())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .timestamp(request.getTimestamp())
+                .build();
+    }
+
+    /**
+     * Maps a LocationLookupResult domain model to LocationResultResponse DTO.
+     *
+     * @param index position of the reading in the request
+     * @param lookupResult the domain model
+     * @return the response DTO
+     */
+    private LocationResultResponse mapToResultResponse(int index, LocationLookupResult lookupResult) {
+        return LocationResultResponse.builder()
+                .index(index)
+                .sensorId(lookupResult.getSensorId())
+                .location(lookupResult.isSuccess() ? mapToResponse(lookupResult.getLocation()) : null)
+                .error(lookupResult.getError())
+                .build();
+    }
+
     /**
      * Maps LocationInfo domain model to LocationResponse DTO.
      *
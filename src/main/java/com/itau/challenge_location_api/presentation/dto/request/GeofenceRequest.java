@@ -0,0 +1,48 @@
+package com.itau.challenge_location_api.presentation.dto.request;
+
+import com.itau.challenge_location_api.domain.model.Geofence;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Request DTO for registering a geofence.
+ * Circles need a center and a radius, polygons at least three vertices.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeofenceRequest {
+    @NotBlank(message = "Name is required")
+    private String name;
+    @NotEmpty(message = "At least one sensor ID is required")
+    private Set<String> sensorIds;
+    @NotNull(message = "Shape is required")
+    private Geofence.Shape shape;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusMeters;
+    private List<@Valid Vertex> vertices;
+
+    /**
+     * Corner of a polygon fence.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Vertex {
+        @NotNull(message = "Latitude is required")
+        private Double latitude;
+        @NotNull(message = "Longitude is required")
+        private Double longitude;
+    }
+}
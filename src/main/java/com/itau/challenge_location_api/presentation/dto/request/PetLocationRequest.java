@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
  * Request DTO for pet location data.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PetLocationRequest {
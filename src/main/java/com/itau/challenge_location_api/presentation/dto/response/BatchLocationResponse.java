@@ -0,0 +1,21 @@
+package com.itau.challenge_location_api.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch location requests, with one result per reading in input order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLocationResponse {
+    private int succeeded;
+    private int failed;
+    private List<LocationResultResponse> results;
+}
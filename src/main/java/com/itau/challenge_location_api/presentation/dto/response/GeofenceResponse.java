@@ -0,0 +1,28 @@
+package com.itau.challenge_location_api.presentation.dto.response;
+
+import com.itau.challenge_location_api.domain.model.Geofence;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Response DTO for a registered geofence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeofenceResponse {
+    private String id;
+    private String name;
+    private Set<String> sensorIds;
+    private Geofence.Shape shape;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusMeters;
+    private List<Geofence.Vertex> vertices;
+}
@@ -0,0 +1,21 @@
+package com.itau.challenge_location_api.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one reading of a sensor's location history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationHistoryResponse {
+    private LocalDateTime timestamp;
+    private double latitude;
+    private double longitude;
+}
@@ -0,0 +1,23 @@
+package com.itau.challenge_location_api.presentation.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a single reading of a multi-reading request.
+ * Carries either the location or the error message for the reading at the given index.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LocationResultResponse {
+    private int index;
+    private String sensorId;
+    private LocationResponse location;
+    private String error;
+}
@@ -1,6 +1,9 @@
 package com.itau.challenge_location_api.presentation.exception;
 
+import com.itau.challenge_location_api.infrastructure.client.PositionStackUnavailableException;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -49,6 +52,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handles validation errors for request DTOs validated explicitly by the controller.
+     *
+     * @param ex the constraint violation exception
+     * @return response with error details, shaped like {@link #handleValidationExceptions}
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationExceptions(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        
+        log.warn("Validation error: {}", errors);
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Validation Error")
+                .message("Invalid input data")
+                .details(errors)
+                .build();
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
     /**
      * Handles JSON deserialization errors (e.g., string sent instead of number).
      *
@@ -81,6 +109,70 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handles batch requests that cannot be processed as a whole.
+     *
+     * @param ex the invalid batch exception
+     * @return response with error details
+     */
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchExceptions(InvalidBatchRequestException ex) {
+        log.warn("Invalid batch request: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Invalid Batch")
+                .message(ex.getMessage())
+                .build();
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
+    /**
+     * Handles geofences that cannot be registered.
+     *
+     * @param ex the invalid geofence exception
+     * @return response with error details
+     */
+    @ExceptionHandler(InvalidGeofenceException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidGeofenceExceptions(InvalidGeofenceException ex) {
+        log.warn("Invalid geofence: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Invalid Geofence")
+                .message(ex.getMessage())
+                .build();
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
+    /**
+     * Handles lookups rejected because the PositionStack API is failing or saturated.
+     * Clients are told when to retry instead of getting a generic server error.
+     *
+     * @param ex the unavailable exception
+     * @return response with error details and a Retry-After header
+     */
+    @ExceptionHandler(PositionStackUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailableExceptions(PositionStackUnavailableException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        log.warn("Upstream unavailable, retry after {}s: {}", retryAfterSeconds, ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+    
     /**
      * Handles generic runtime exceptions.
      *
@@ -0,0 +1,11 @@
+package com.itau.challenge_location_api.presentation.exception;
+
+/**
+ * Thrown when a batch request as a whole cannot be processed (e.g. empty or too large).
+ */
+public class InvalidBatchRequestException extends RuntimeException {
+
+    public InvalidBatchRequestException(String message) {
+        super(message);
+    }
+}
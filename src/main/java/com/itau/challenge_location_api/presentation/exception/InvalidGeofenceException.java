@@ -0,0 +1,11 @@
+package com.itau.challenge_location_api.presentation.exception;
+
+/**
+ * Thrown when a geofence cannot be registered because its shape is incomplete.
+ */
+public class InvalidGeofenceException extends RuntimeException {
+
+    public InvalidGeofenceException(String message) {
+        super(message);
+    }
+}
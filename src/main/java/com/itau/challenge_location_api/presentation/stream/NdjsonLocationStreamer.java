@@ -0,0 +1,268 @@
+package com.itau.challenge_location_api.presentation.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.LocationService;
+import com.itau.challenge_location_api.infrastructure.config.LocationStreamConfig;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
+import com.itau.challenge_location_api.presentation.dto.request.PetLocationRequest;
+import com.itau.challenge_location_api.presentation.dto.response.LocationResponse;
+import com.itau.challenge_location_api.presentation.dto.response.LocationResultResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves an NDJSON stream of pet location readings into an NDJSON stream of results.
+ * Readings are parsed one at a time with Jackson's streaming parser and resolved through
+ * {@link LocationService} with a bounded number of lookups in flight, and each result line
+ * is written as soon as its lookup completes. Memory use does not depend on the stream length.
+ * The output is flushed every few lines or milliseconds, and whenever no lookup is pending.
+ * A reading that does not bind, such as a text latitude, gets an error line and the stream goes on;
+ * only malformed JSON ends it.
+ * Lookups are bulk priority, so they leave the reserved geocoding quota to interactive requests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NdjsonLocationStreamer {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LocationService locationService;
+    private final LocationStreamConfig streamConfig;
+    private final LocationMetricsService metricsService;
+
+    /**
+     * Reads readings from the input until it ends and writes one result line per reading.
+     *
+     * @param input  NDJSON stream of {@link PetLocationRequest}
+     * @param output NDJSON stream of {@link LocationResultResponse}, in completion order
+     * @return number of readings processed
+     * @throws IOException when the input cannot be read or the output cannot be written
+     */
+    public int stream(InputStream input, OutputStream output) throws IOException {
+        int maxInFlight = streamConfig.getMaxInFlight();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger pending = new AtomicInteger();
+        AtomicBoolean outputFailed = new AtomicBoolean();
+        ResultWriter writer = new ResultWriter(output, outputFailed, pending);
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            JsonToken token;
+            while (!outputFailed.get() && (token = nextToken(parser, index, writer)) != null) {
+                int readingIndex = index++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    writer.write(error(readingIndex, null, "Reading must be a JSON object"));
+                    continue;
+                }
+                JsonStreamContext enclosing = parser.getParsingContext().getParent();
+                PetLocationRequest request;
+                try {
+                    request = objectMapper.readValue(parser, PetLocationRequest.class);
+                } catch (DatabindException e) {
+                    // The JSON itself is well formed, so the next reading can still be read
+                    writer.write(error(readingIndex, null, "Invalid reading: " + e.getOriginalMessage()));
+                    if (!skipReading(parser, enclosing)) {
+                        break;
+                    }
+                    continue;
+                } catch (JsonProcessingException e) {
+                    // The parser cannot resynchronize after malformed input, so the stream ends here
+                    writer.write(error(readingIndex, null, "Invalid JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+                metricsService.incrementStreamReadings();
+                String validationError = validate(request);
+                if (validationError != null) {
+                    writer.write(error(readingIndex, request.getSensorId(), validationError));
+                    continue;
+                }
+                acquire(inFlight);
+                pending.incrementAndGet();
+                resolve(readingIndex, request).whenComplete((result, failure) -> {
+                    try {
+                        pending.decrementAndGet();
+                        writer.write(result);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            // Wait for pending lookups so that every result is written before the response completes
+            acquire(inFlight, maxInFlight);
+            writer.flush();
+        }
+        if (outputFailed.get()) {
+            throw new IOException("Failed to write location stream");
+        }
+        log.info("Location stream processed {} readings", index);
+        return index;
+    }
+
+    private CompletableFuture<LocationResultResponse> resolve(int index, PetLocationRequest request) {
+        PetSensorData sensorData = PetSensorData.builder()
+                .sensorId(request.getSensorId())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .timestamp(request.getTimestamp())
+                .build();
+        CompletableFuture<LocationInfo> lookup;
+        try {
+            lookup = locationService.getLocationFromCoordinatesAsync(sensorData, LookupPriority.BULK);
+        } catch (RuntimeException e) {
+            lookup = CompletableFuture.failedFuture(e);
+        }
+        return lookup.handle((locationInfo, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                return error(index, request.getSensorId(), cause.getMessage());
+            }
+            return LocationResultResponse.builder()
+                    .index(index)
+                    .sensorId(request.getSensorId())
+                    .location(LocationResponse.builder()
+                            .country(locationInfo.getCountry())
+                            .state(locationInfo.getState())
+                            .city(locationInfo.getCity())
+                            .neighborhood(locationInfo.getNeighborhood())
+                            .address(locationInfo.getLabel())
+                            .build())
+                    .build();
+        });
+    }
+
+    /**
+     * Moves the parser to the end of a reading that failed to bind, so the next reading can be read.
+     *
+     * @param enclosing parsing context the reading object is in
+     * @return false when the input ends or turns out to be malformed first, which ends the stream
+     */
+    private boolean skipReading(JsonParser parser, JsonStreamContext enclosing) throws IOException {
+        try {
+            JsonToken token = parser.currentToken();
+            while (token != null && !(token == JsonToken.END_OBJECT && parser.getParsingContext() == enclosing)) {
+                token = token.isStructStart() ? parser.skipChildren().currentToken() : parser.nextToken();
+            }
+            return token != null;
+        } catch (JsonProcessingException e) {
+            // The reading already has its error line
+            return false;
+        }
+    }
+
+    private JsonToken nextToken(JsonParser parser, int index, ResultWriter writer) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            writer.write(error(index, null, "Invalid JSON: " + e.getOriginalMessage()));
+            return null;
+        }
+    }
+
+    private String validate(PetLocationRequest request) {
+        long start = System.nanoTime();
+        Set<ConstraintViolation<PetLocationRequest>> violations = validator.validate(request);
+        metricsService.recordStage(Stage.VALIDATION, System.nanoTime() - start);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static LocationResultResponse error(int index, String sensorId, String message) {
+        return LocationResultResponse.builder()
+                .index(index)
+                .sensorId(sensorId)
+                .error(message)
+                .build();
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        acquire(semaphore, 1);
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for pending lookups", e);
+        }
+    }
+
+    /**
+     * Serializes result lines from the reading thread and from lookup completion threads, flushing
+     * them in groups rather than one socket write per line.
+     */
+    private final class ResultWriter {
+        private final OutputStream output;
+        private final AtomicBoolean failed;
+        private final AtomicInteger pending;
+        private final long flushIntervalNanos;
+        private int unflushed;
+        private long lastFlush = System.nanoTime();
+
+        private ResultWriter(OutputStream output, AtomicBoolean failed, AtomicInteger pending) {
+            this.output = output;
+            this.failed = failed;
+            this.pending = pending;
+            this.flushIntervalNanos = streamConfig.getFlushInterval().toNanos();
+        }
+
+        synchronized void write(LocationResultResponse result) {
+            if (failed.get()) {
+                return;
+            }
+            try {
+                output.write(objectMapper.writeValueAsBytes(result));
+                output.write(NEWLINE);
+                unflushed++;
+                long now = System.nanoTime();
+                if (pending.get() == 0 || unflushed >= streamConfig.getFlushLines()
+                        || now - lastFlush >= flushIntervalNanos) {
+                    output.flush();
+                    unflushed = 0;
+                    lastFlush = now;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Failed to write location stream result: {}", e.getMessage());
+                failed.set(true);
+            }
+        }
+
+        synchronized void flush() throws IOException {
+            if (!failed.get()) {
+                output.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.itau.challenge_location_api.application.service;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.GeocodingProvider;
+import com.itau.challenge_location_api.infrastructure.config.GeocodingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeocodingRouterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeocodingConfig config;
+    private PetSensorData sensorData;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new GeocodingConfig();
+        config.getHedging().setInitialDelay(Duration.ofMillis(20));
+        config.getHedging().setMinDelay(Duration.ofMillis(1));
+        sensorData = PetSensorData.builder()
+                .sensorId("sensor-1")
+                .latitude(-23.5505)
+                .longitude(-46.6333)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private void priority(String name, int priority) {
+        GeocodingConfig.Provider provider = new GeocodingConfig.Provider();
+        provider.setPriority(priority);
+        config.getProviders().put(name, provider);
+    }
+
+    @Test
+    void resolve_ShouldUseProvidersByPriority() {
+        priority("secondary", 10);
+        priority("primary", 0);
+        GeocodingRouter router = new GeocodingRouter(
+                List.of(new FakeProvider("secondary"), new FakeProvider("primary")), config, meterRegistry);
+
+        GeocodingRouter.Result result = router.resolve(sensorData, LookupPriority.INTERACTIVE);
+
+        assertEquals("primary", result.provider());
+        assertEquals("primary", result.locationInfo().getCity());
+        assertTrue(result.primary());
+        assertEquals(1, meterRegistry.get("pet.location.provider.duration").tag("provider", "primary").timer().count());
+    }
+
+    @Test
+    void resolve_ShouldFailOver_WhenPrimaryFails() {
+        priority("secondary", 10);
+        FakeProvider primary = new FakeProvider("primary");
+        primary.failure = new IllegalStateException("primary down");
+        GeocodingRouter router = new GeocodingRouter(
+                List.of(primary, new FakeProvider("secondary")), config, meterRegistry);
+
+        GeocodingRouter.Result result = router.resolve(sensorData, LookupPriority.BULK);
+        GeocodingRouter.Result asyncResult = router.resolveAsync(sensorData, LookupPriority.BULK).join();
+
+        assertEquals("secondary", result.provider());
+        assertFalse(result.primary());
+        assertEquals("secondary", asyncResult.provider());
+        assertEquals(2, meterRegistry.get("pet.location.provider.failures").tag("provider", "primary")
+                .counter().count());
+    }
+
+    @Test
+    void resolve_ShouldThrowPrimaryFailure_WhenEveryProviderFails() {
+        priority("secondary", 10);
+        FakeProvider primary = new FakeProvider("primary");
+        IllegalStateException primaryFailure = new IllegalStateException("primary down");
+        primary.failure = primaryFailure;
+        FakeProvider secondary = new FakeProvider("secondary");
+        secondary.failure = new IllegalArgumentException("secondary down");
+        GeocodingRouter router = new GeocodingRouter(List.of(primary, secondary), config, meterRegistry);
+
+        assertSame(primaryFailure, assertThrows(IllegalStateException.class,
+                () -> router.resolve(sensorData, LookupPriority.BULK)));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> router.resolveAsync(sensorData, LookupPriority.BULK).join());
+        assertSame(primaryFailure, exception.getCause());
+    }
+
+    @Test
+    void resolve_ShouldSkipDisabledAndUnavailableProviders() {
+        priority("secondary", 10);
+        config.getProviders().get("secondary").setEnabled(false);
+        FakeProvider unavailable = new FakeProvider("unavailable");
+        unavailable.available = false;
+        GeocodingRouter router = new GeocodingRouter(
+                List.of(unavailable, new FakeProvider("secondary"), new FakeProvider("primary")), config,
+                        meterRegistry);
+
+        assertEquals("primary", router.resolve(sensorData, LookupPriority.INTERACTIVE).provider());
+        assertThrows(IllegalStateException.class,
+                () -> new GeocodingRouter(List.of(unavailable), new GeocodingConfig(), meterRegistry));
+    }
+
+    @Test
+    void resolveAsync_ShouldHedge_WhenPrimaryIsSlow() {
+        config.getHedging().setEnabled(true);
+        priority("secondary", 10);
+        FakeProvider primary = new FakeProvider("primary");
+        CompletableFuture<LocationInfo> pending = new CompletableFuture<>();
+        primary.async = () -> pending;
+        GeocodingRouter router = new GeocodingRouter(
+                List.of(primary, new FakeProvider("secondary")), config, meterRegistry);
+
+        GeocodingRouter.Result result = router.resolve(sensorData, LookupPriority.INTERACTIVE);
+
+        assertEquals("secondary", result.provider());
+        assertFalse(result.primary());
+        assertEquals(1, meterRegistry.get("pet.location.provider.hedged").counter().count());
+        assertEquals(1, meterRegistry.get("pet.location.provider.hedge.wins").counter().count());
+    }
+
+    @Test
+    void resolveAsync_ShouldWaitForSecondary_WhenPrimaryFailsWhileHedging() {
+        config.getHedging().setEnabled(true);
+        priority("secondary", 10);
+        FakeProvider primary = new FakeProvider("primary");
+        CompletableFuture<LocationInfo> primaryPending = new CompletableFuture<>();
+        primary.async = () -> primaryPending;
+        FakeProvider secondary = new FakeProvider("secondary");
+        CompletableFuture<LocationInfo> secondaryPending = new CompletableFuture<>();
+        // The primary fails as the hedge starts the secondary, which answers afterwards
+        secondary.async = () -> {
+            primaryPending.completeExceptionally(new IllegalStateException("primary down"));
+            return secondaryPending;
+        };
+        GeocodingRouter router = new GeocodingRouter(List.of(primary, secondary), config, meterRegistry);
+
+        CompletableFuture<GeocodingRouter.Result> result = router.resolveAsync(sensorData, LookupPriority.INTERACTIVE);
+        while (secondary.calls.get() == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(result.isDone());
+        secondaryPending.complete(LocationInfo.builder().city("secondary").build());
+
+        assertEquals("secondary", result.join().provider());
+        assertEquals(1, secondary.calls.get());
+    }
+
+    @Test
+    void resolveAsync_ShouldAnswerFromSecondary_WhenPrimaryFailsAroundHedgeDelay() throws InterruptedException {
+        config.getHedging().setEnabled(true);
+        config.getHedging().setInitialDelay(Duration.ofMillis(1));
+        priority("secondary", 10);
+        FakeProvider primary = new FakeProvider("primary");
+        FakeProvider secondary = new FakeProvider("secondary");
+        secondary.async = () -> CompletableFuture.supplyAsync(() -> LocationInfo.builder().city("secondary").build(),
+                CompletableFuture.delayedExecutor(2, TimeUnit.MILLISECONDS));
+        GeocodingRouter router = new GeocodingRouter(List.of(primary, secondary), config, meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            CompletableFuture<LocationInfo> primaryPending = new CompletableFuture<>();
+            primary.async = () -> primaryPending;
+            CompletableFuture<GeocodingRouter.Result> result =
+                    router.resolveAsync(sensorData, LookupPriority.INTERACTIVE);
+            Thread.sleep(1);
+            primaryPending.completeExceptionally(new IllegalStateException("primary down"));
+
+            assertEquals("secondary", result.join().provider());
+        }
+    }
+
+    @Test
+    void resolveAsync_ShouldNotHedge_WhenPrimaryAnswersInTime() {
+        config.getHedging().setEnabled(true);
+        config.getHedging().setInitialDelay(Duration.ofSeconds(5));
+        priority("secondary", 10);
+        FakeProvider secondary = new FakeProvider("secondary");
+        GeocodingRouter router = new GeocodingRouter(
+                List.of(new FakeProvider("primary"), secondary), config, meterRegistry);
+
+        assertEquals("primary", router.resolveAsync(sensorData, LookupPriority.INTERACTIVE).join().provider());
+        assertEquals(0, secondary.calls.get());
+        assertEquals(0, meterRegistry.get("pet.location.provider.hedged").counter().count());
+    }
+
+    @Test
+    void resolveAsync_ShouldNotHedgeBulkLookups() {
+        config.getHedging().setEnabled(true);
+        priority("secondary", 10);
+        FakeProvider primary = new FakeProvider("primary");
+        CompletableFuture<LocationInfo> pending = new CompletableFuture<>();
+        primary.async = () -> pending;
+        FakeProvider secondary = new FakeProvider("secondary");
+        GeocodingRouter router = new GeocodingRouter(List.of(primary, secondary), config, meterRegistry);
+
+        CompletableFuture<GeocodingRouter.Result> result = router.resolveAsync(sensorData, LookupPriority.BULK);
+        pending.completeExceptionally(new IllegalStateException("primary down"));
+
+        assertEquals("secondary", result.join().provider());
+        assertEquals(1, secondary.calls.get());
+        assertEquals(0, meterRegistry.get("pet.location.provider.hedged").counter().count());
+    }
+
+    private static final class FakeProvider implements GeocodingProvider {
+        private final String name;
+        private final AtomicInteger calls = new AtomicInteger();
+        private RuntimeException failure;
+        private boolean available = true;
+        private Supplier<CompletableFuture<LocationInfo>> async;
+
+        private FakeProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Override
+        public LocationInfo reverseGeocode(PetSensorData sensorData, LookupPriority priority) {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return LocationInfo.builder().sensorId(sensorData.getSensorId()).city(name).build();
+        }
+
+        @Override
+        public CompletableFuture<LocationInfo> reverseGeocodeAsync(PetSensorData sensorData, LookupPriority priority) {
+            if (async != null) {
+                calls.incrementAndGet();
+                return async.get();
+            }
+            return GeocodingProvider.super.reverseGeocodeAsync(sensorData, priority);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.itau.challenge_location_api.application.service;
+
+import com.itau.challenge_location_api.domain.model.Geofence;
+import com.itau.challenge_location_api.domain.model.GeofenceEvent;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.GeofencingConfig;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeofenceServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final double HOME_LATITUDE = -23.5505;
+    private static final double HOME_LONGITUDE = -46.6333;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> published;
+    private GeofenceService service;
+    private String homeId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        service = new GeofenceService(new GeofencingConfig(), published::add,
+                new LocationMetricsService(meterRegistry));
+        homeId = service.register(Geofence.builder()
+                .name("Home")
+                .sensorIds(Set.of("sensor-1"))
+                .shape(Geofence.Shape.CIRCLE)
+                .centerLatitude(HOME_LATITUDE)
+                .centerLongitude(HOME_LONGITUDE)
+                .radiusMeters(100.0)
+                .build()).getId();
+    }
+
+    private static PetSensorData reading(String sensorId, int minute, double latitude, double longitude) {
+        return PetSensorData.builder()
+                .sensorId(sensorId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(START.plusMinutes(minute))
+                .build();
+    }
+
+    private static PetSensorData home(int minute) {
+        return reading("sensor-1", minute, HOME_LATITUDE, HOME_LONGITUDE);
+    }
+
+    private static PetSensorData away(int minute) {
+        return reading("sensor-1", minute, HOME_LATITUDE - 0.01, HOME_LONGITUDE);
+    }
+
+    @Test
+    void register_ShouldGenerateId() {
+        assertNotNull(homeId);
+        assertEquals("Home", service.find(homeId).getName());
+    }
+
+    @Test
+    void evaluate_ShouldReportEntryOnce() {
+        List<GeofenceEvent> entered = service.evaluate(home(0));
+        List<GeofenceEvent> stayed = service.evaluate(home(1));
+
+        assertEquals(1, entered.size());
+        assertEquals(GeofenceEvent.Type.ENTER, entered.get(0).getType());
+        assertEquals(homeId, entered.get(0).getGeofenceId());
+        assertTrue(stayed.isEmpty());
+    }
+
+    @Test
+    void evaluate_ShouldReportExitAfterEntry() {
+        service.evaluate(away(0));
+        service.evaluate(home(1));
+        List<GeofenceEvent> left = service.evaluate(away(2));
+
+        assertEquals(1, left.size());
+        assertEquals(GeofenceEvent.Type.EXIT, left.get(0).getType());
+        assertTrue(service.evaluate(away(3)).isEmpty());
+    }
+
+    @Test
+    void evaluate_ShouldIgnoreOutOfOrderReadings() {
+        service.evaluate(home(5));
+
+        assertTrue(service.evaluate(away(1)).isEmpty());
+        assertEquals(GeofenceEvent.Type.EXIT, service.evaluate(away(6)).get(0).getType());
+    }
+
+    @Test
+    void evaluate_ShouldIgnoreReadingsOlderThanExit() {
+        service.evaluate(home(1));
+        service.evaluate(away(5));
+
+        assertTrue(service.evaluate(home(3)).isEmpty());
+        assertTrue(service.evaluate(away(6)).isEmpty());
+        assertEquals(GeofenceEvent.Type.ENTER, service.evaluate(home(7)).get(0).getType());
+    }
+
+    @Test
+    void evaluate_ShouldIgnoreSensorsTheFenceDoesNotApplyTo() {
+        assertTrue(service.evaluate(reading("sensor-2", 0, HOME_LATITUDE, HOME_LONGITUDE)).isEmpty());
+    }
+
+    @Test
+    void evaluate_ShouldNotReportExit_WhenFenceWasRemoved() {
+        service.evaluate(home(0));
+        service.remove(homeId);
+
+        assertTrue(service.evaluate(away(1)).isEmpty());
+    }
+
+    @Test
+    void evaluate_ShouldPublishAndCountEvents() {
+        service.evaluate(home(0));
+        service.evaluate(away(1));
+
+        assertEquals(2, published.size());
+        assertEquals(1.0, meterRegistry.get("pet.location.geofence.events").tag("type", "enter").counter().count());
+        assertEquals(1.0, meterRegistry.get("pet.location.geofence.events").tag("type", "exit").counter().count());
+    }
+}
@@ -1,24 +1,47 @@
 package com.itau.challenge_location_api.application.service;
 
 import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LocationLookupResult;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
 import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.cache.GeocodeCache;
+import com.itau.challenge_location_api.infrastructure.cache.LastKnownLocationStore;
+import com.itau.challenge_location_api.infrastructure.cache.ReadingDeduplicator;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackAsyncClient;
 import com.itau.challenge_location_api.infrastructure.client.PositionStackClient;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackGeocodingProvider;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackGuard;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackQuota;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackQuotaExceededException;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackUnavailableException;
 import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
 import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.infrastructure.config.GeocodingConfig;
 import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import com.itau.challenge_location_api.infrastructure.geo.OfflineGeocoder;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -29,9 +52,39 @@ class LocationServiceImplTest {
     private PositionStackClient positionStackClient;
 
     @Mock
-    private PositionStackConfig positionStackConfig;
+    private PositionStackAsyncClient positionStackAsyncClient;
+
+    @Spy
+    private PositionStackGuard positionStackGuard =
+            new PositionStackGuard(new PositionStackConfig(), new SimpleMeterRegistry());
+
+    @Spy
+    private PositionStackQuota positionStackQuota = new PositionStackQuota(keyConfig(), new SimpleMeterRegistry());
+
+    @Mock
+    private GeocodeCache geocodeCache;
+
+    @Spy
+    private Executor geocodingExecutor = new SyncTaskExecutor();
+
+    @Mock
+    private LocationMetricsService metricsService;
+
+    @Mock
+    private OfflineGeocoder offlineGeocoder;
+
+    @Mock
+    private LastKnownLocationStore lastKnownLocations;
+
+    @Mock
+    private TrackSimplifier trackSimplifier;
+
+    @Mock
+    private GeofenceService geofenceService;
+
+    @Mock
+    private ReadingDeduplicator readingDeduplicator;
 
-    @InjectMocks
     private LocationServiceImpl locationService;
 
     private PetSensorData sensorData;
@@ -39,8 +92,21 @@ class LocationServiceImplTest {
     private PositionStackData positionStackData;
     private static final String API_KEY = "test-api-key";
 
+    private static PositionStackConfig keyConfig() {
+        PositionStackConfig config = new PositionStackConfig();
+        config.setKey(API_KEY);
+        return config;
+    }
+
     @BeforeEach
     void setUp() {
+        PositionStackGeocodingProvider positionStackProvider = new PositionStackGeocodingProvider(positionStackClient,
+                positionStackAsyncClient, positionStackGuard, positionStackQuota, metricsService);
+        GeocodingRouter geocodingRouter = new GeocodingRouter(List.of(positionStackProvider), new GeocodingConfig(),
+                new SimpleMeterRegistry());
+        locationService = new LocationServiceImpl(geocodingRouter, geocodeCache, geocodingExecutor, metricsService,
+                offlineGeocoder, lastKnownLocations, trackSimplifier, geofenceService, readingDeduplicator);
+
         // Set up test data
         sensorData = PetSensorData.builder()
                 .sensorId("test-sensor-123")
@@ -64,9 +130,49 @@ class LocationServiceImplTest {
 
         positionStackResponse = new PositionStackResponse();
         positionStackResponse.setData(List.of(positionStackData));
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldReturnCachedLocation_WhenCellIsCached() {
+        // Arrange
+        LocationInfo cached = LocationInfo.builder()
+                .sensorId("other-sensor")
+                .latitude(-23.55051)
+                .longitude(-46.63331)
+                .country("Brazil")
+                .city("São Paulo")
+                .label("Avenida Paulista, 123, São Paulo, Brazil")
+                .build();
+        when(geocodeCache.cellKey(sensorData.getLatitude(), sensorData.getLongitude())).thenReturn(42L);
+        when(geocodeCache.get(42L)).thenReturn(cached);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals(sensorData.getSensorId(), result.getSensorId());
+        assertEquals(sensorData.getLatitude(), result.getLatitude());
+        assertEquals(sensorData.getLongitude(), result.getLongitude());
+        assertEquals("Brazil", result.getCountry());
+        assertEquals(cached.getLabel(), result.getLabel());
+        verifyNoInteractions(positionStackClient);
+        verify(trackSimplifier).offer(sensorData);
+        verify(geofenceService).evaluate(sensorData);
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldCacheResolvedLocation() {
+        // Arrange
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        when(geocodeCache.cellKey(sensorData.getLatitude(), sensorData.getLongitude())).thenReturn(42L);
+        when(positionStackClient.reverseGeocode(eq(API_KEY), eq(coordinates)))
+                .thenReturn(positionStackResponse);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
 
-        // Mock config
-        when(positionStackConfig.getKey()).thenReturn(API_KEY);
+        // Assert
+        verify(geocodeCache).put(42L, result);
     }
 
     @Test
@@ -95,7 +201,6 @@ class LocationServiceImplTest {
 
         // Verify interactions
         verify(positionStackClient).reverseGeocode(eq(API_KEY), eq(coordinates));
-        verify(positionStackConfig).getKey();
     }
 
     @Test
@@ -125,7 +230,6 @@ class LocationServiceImplTest {
 
         // Verify interactions
         verify(positionStackClient).reverseGeocode(eq(API_KEY), eq(coordinates));
-        verify(positionStackConfig).getKey();
     }
 
     @Test
@@ -140,7 +244,6 @@ class LocationServiceImplTest {
 
         // Verify interactions
         verify(positionStackClient).reverseGeocode(eq(API_KEY), eq(coordinates));
-        verify(positionStackConfig).getKey();
     }
 
     @Test
@@ -253,6 +356,326 @@ class LocationServiceImplTest {
 
         // Verify interactions
         verify(positionStackClient).reverseGeocode(eq(API_KEY), eq(coordinates));
-        verify(positionStackConfig).getKey();
+    }
+
+    @Test
+    void getLocationsFromCoordinates_ShouldResolveEachCellOnceAndKeepInputOrder() {
+        // Arrange
+        PetSensorData sameCell = sensorData.toBuilder().sensorId("test-sensor-456").build();
+        PetSensorData otherCell = sensorData.toBuilder()
+                .sensorId("test-sensor-789").latitude(-22.9068).longitude(-43.1729).build();
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        String otherCoordinates = String.format(Locale.US, "%f,%f", otherCell.getLatitude(), otherCell.getLongitude());
+        when(geocodeCache.cellKey(sensorData.getLatitude(), sensorData.getLongitude())).thenReturn(1L);
+        when(geocodeCache.cellKey(otherCell.getLatitude(), otherCell.getLongitude())).thenReturn(2L);
+        when(positionStackClient.reverseGeocode(eq(API_KEY), eq(coordinates)))
+                .thenReturn(positionStackResponse);
+        when(positionStackClient.reverseGeocode(eq(API_KEY), eq(otherCoordinates)))
+                .thenThrow(new RuntimeException("API call failed"));
+
+        // Act
+        List<LocationLookupResult> results = locationService.getLocationsFromCoordinates(
+                List.of(sensorData, otherCell, sameCell));
+
+        // Assert
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(sensorData.getSensorId(), results.get(0).getSensorId());
+        assertEquals("Brazil", results.get(0).getLocation().getCountry());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(otherCell.getSensorId(), results.get(1).getSensorId());
+        assertEquals("Failed to retrieve location information", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(sameCell.getSensorId(), results.get(2).getLocation().getSensorId());
+        assertEquals("Brazil", results.get(2).getLocation().getCountry());
+
+        // Verify interactions
+        verify(positionStackClient, times(1)).reverseGeocode(eq(API_KEY), eq(coordinates));
+        verify(positionStackClient, times(1)).reverseGeocode(eq(API_KEY), eq(otherCoordinates));
+    }
+
+    @Test
+    void getLocationFromCoordinatesAsync_ShouldCompleteWithLocationInfo_WhenApiReturnsData() {
+        // Arrange
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        CompletableFuture<PositionStackResponse> upstream = new CompletableFuture<>();
+        when(positionStackAsyncClient.reverseGeocode(eq(API_KEY), eq(coordinates))).thenReturn(upstream);
+
+        // Act
+        CompletableFuture<LocationInfo> result = locationService.getLocationFromCoordinatesAsync(sensorData);
+
+        // Assert
+        assertFalse(result.isDone());
+        upstream.complete(positionStackResponse);
+        assertEquals(sensorData.getSensorId(), result.join().getSensorId());
+        assertEquals(positionStackData.getCountry(), result.join().getCountry());
+        assertEquals(positionStackData.getLabel(), result.join().getLabel());
+        verify(geocodeCache).put(anyLong(), eq(result.join()));
+        verifyNoInteractions(positionStackClient);
+    }
+
+    @Test
+    void getLocationFromCoordinatesAsync_ShouldCompleteExceptionally_WhenApiCallFails() {
+        // Arrange
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        when(positionStackAsyncClient.reverseGeocode(eq(API_KEY), eq(coordinates)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API call failed")));
+
+        // Act
+        CompletableFuture<LocationInfo> result = locationService.getLocationFromCoordinatesAsync(sensorData);
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertEquals("Failed to retrieve location information", exception.getCause().getMessage());
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldSkipApi_WhenOfflineFirstTierResolvesCoarseFields() {
+        // Arrange
+        LocationInfo offline = LocationInfo.builder()
+                .country("Brazil")
+                .state("São Paulo")
+                .city("São Paulo")
+                .neighborhood("Centro")
+                .build();
+        when(offlineGeocoder.isFirstTier()).thenReturn(true);
+        when(offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude())).thenReturn(offline);
+        when(offlineGeocoder.isComplete(offline)).thenReturn(true);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals(sensorData.getSensorId(), result.getSensorId());
+        assertEquals("Brazil", result.getCountry());
+        assertEquals("Centro", result.getNeighborhood());
+        assertNull(result.getLabel());
+        verifyNoInteractions(positionStackClient);
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldMergeOfflineAreasWithStreetLevelFields_WhenStreetLevelIsRequired() {
+        // Arrange
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        LocationInfo offline = LocationInfo.builder()
+                .country("Brasil")
+                .state("SP")
+                .city("São Paulo")
+                .build();
+        when(offlineGeocoder.isFirstTier()).thenReturn(true);
+        when(offlineGeocoder.isStreetLevelRequired()).thenReturn(true);
+        when(offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude())).thenReturn(offline);
+        when(offlineGeocoder.isComplete(offline)).thenReturn(true);
+        when(positionStackClient.reverseGeocode(eq(API_KEY), eq(coordinates)))
+                .thenReturn(positionStackResponse);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals("Brasil", result.getCountry());
+        assertEquals("SP", result.getState());
+        assertEquals(positionStackData.getNeighborhood(), result.getNeighborhood());
+        assertEquals(positionStackData.getStreet(), result.getStreet());
+        assertEquals(positionStackData.getLabel(), result.getLabel());
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldReuseLastFix_WhenSensorHasNotMoved() {
+        // Arrange
+        LocationInfo lastFix = LocationInfo.builder()
+                .sensorId(sensorData.getSensorId())
+                .latitude(-23.55051)
+                .longitude(-46.63331)
+                .country("Brazil")
+                .build();
+        when(lastKnownLocations.findUnmoved(sensorData)).thenReturn(lastFix);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals("Brazil", result.getCountry());
+        assertEquals(sensorData.getLatitude(), result.getLatitude());
+        verify(metricsService).incrementShortCircuitedReadings();
+        verifyNoInteractions(geocodeCache, positionStackClient);
+        verify(lastKnownLocations, never()).record(any(), any());
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldReuseRecentFix_WhenReadingContinuesSegment() {
+        // Arrange
+        LocationInfo recent = LocationInfo.builder()
+                .sensorId(sensorData.getSensorId())
+                .latitude(-23.5510)
+                .longitude(-46.6340)
+                .street("Avenida Paulista")
+                .build();
+        when(trackSimplifier.offer(sensorData)).thenReturn(true);
+        when(lastKnownLocations.findRecent(sensorData)).thenReturn(recent);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals("Avenida Paulista", result.getStreet());
+        assertEquals(sensorData.getLatitude(), result.getLatitude());
+        verify(lastKnownLocations, never()).findUnmoved(any());
+        verifyNoInteractions(geocodeCache, positionStackClient);
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldRecordResolvedLocationAsLastFix() {
+        // Arrange
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        when(positionStackClient.reverseGeocode(eq(API_KEY), eq(coordinates)))
+                .thenReturn(positionStackResponse);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        verify(lastKnownLocations).record(sensorData, result);
+        verify(readingDeduplicator).record(sensorData, result);
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldReturnPreviousResponse_WhenReadingIsRetried() {
+        // Arrange
+        LocationInfo previous = LocationInfo.builder()
+                .sensorId(sensorData.getSensorId())
+                .latitude(sensorData.getLatitude())
+                .longitude(sensorData.getLongitude())
+                .street("Avenida Paulista")
+                .build();
+        when(readingDeduplicator.findPrevious(sensorData)).thenReturn(previous);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertSame(previous, result);
+        verifyNoInteractions(trackSimplifier, geocodeCache, positionStackClient);
+        verify(geofenceService).evaluate(sensorData);
+        verify(readingDeduplicator, never()).markSeen(any());
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldResolveAndTrackReading_WhenNoResponseIsKept() {
+        // Arrange
+        String coordinates = String.format(Locale.US, "%f,%f", sensorData.getLatitude(), sensorData.getLongitude());
+        when(positionStackClient.reverseGeocode(eq(API_KEY), eq(coordinates)))
+                .thenReturn(positionStackResponse);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals(positionStackData.getStreet(), result.getStreet());
+        verify(readingDeduplicator).markSeen(sensorData);
+        verify(trackSimplifier).offer(sensorData);
+        verify(geofenceService).evaluate(sensorData);
+        verify(readingDeduplicator).record(sensorData, result);
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldPropagateRejection_WhenPositionStackIsUnavailable() {
+        // Arrange
+        PositionStackUnavailableException rejection =
+                new PositionStackUnavailableException("PositionStack API concurrency limit reached",
+                        Duration.ofSeconds(1));
+        doThrow(rejection).when(positionStackGuard).execute(any());
+
+        // Act & Assert
+        PositionStackUnavailableException thrown = assertThrows(PositionStackUnavailableException.class,
+                () -> locationService.getLocationFromCoordinates(sensorData));
+        assertSame(rejection, thrown);
+        verifyNoInteractions(positionStackClient);
+        verify(geocodeCache, never()).put(anyLong(), any());
+    }
+
+    @Test
+    void getLocationFromCoordinatesAsync_ShouldPropagateRejection_WhenPositionStackIsUnavailable() {
+        // Arrange
+        PositionStackUnavailableException rejection =
+                new PositionStackUnavailableException("PositionStack API is unavailable, circuit breaker is open",
+                        Duration.ofSeconds(30));
+        doReturn(CompletableFuture.failedFuture(rejection)).when(positionStackGuard).executeAsync(any());
+
+        // Act
+        CompletableFuture<LocationInfo> result = locationService.getLocationFromCoordinatesAsync(sensorData);
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertSame(rejection, exception.getCause());
+        verifyNoInteractions(positionStackAsyncClient);
+    }
+
+    @Test
+    void getLocationFromCoordinates_ShouldDegradeToOfflineAreas_WhenQuotaIsExhausted() {
+        // Arrange
+        LocationInfo offline = LocationInfo.builder()
+                .country("Brazil")
+                .state("São Paulo")
+                .city("São Paulo")
+                .build();
+        doThrow(new PositionStackQuotaExceededException("PositionStack API key quota exhausted", Duration.ofMillis(40)))
+                .when(positionStackQuota).execute(eq(LookupPriority.INTERACTIVE), any());
+        when(offlineGeocoder.resolve(sensorData.getLatitude(), sensorData.getLongitude())).thenReturn(offline);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinates(sensorData);
+
+        // Assert
+        assertEquals(sensorData.getSensorId(), result.getSensorId());
+        assertEquals("São Paulo", result.getCity());
+        assertNull(result.getStreet());
+        verify(metricsService).incrementDegradedLookups();
+        verifyNoInteractions(positionStackClient);
+        verify(geocodeCache, never()).put(anyLong(), any());
+    }
+
+    @Test
+    void getLocationFromCoordinatesAsync_ShouldDegradeToCoarseRecentFix_WhenBulkQuotaIsExhausted() {
+        // Arrange
+        LocationInfo recent = LocationInfo.builder()
+                .country("Brazil")
+                .state("São Paulo")
+                .city("São Paulo")
+                .neighborhood("Bela Vista")
+                .street("Rua Augusta")
+                .build();
+        doReturn(CompletableFuture.failedFuture(
+                new PositionStackQuotaExceededException("PositionStack API key quota exhausted",
+                        Duration.ofMillis(40))))
+                .when(positionStackQuota).executeAsync(eq(LookupPriority.BULK), any());
+        when(lastKnownLocations.findRecent(sensorData)).thenReturn(recent);
+
+        // Act
+        LocationInfo result = locationService.getLocationFromCoordinatesAsync(sensorData, LookupPriority.BULK).join();
+
+        // Assert
+        assertEquals("São Paulo", result.getCity());
+        assertEquals(sensorData.getLatitude(), result.getLatitude());
+        assertNull(result.getNeighborhood());
+        assertNull(result.getStreet());
+        verify(metricsService).incrementDegradedLookups();
+        verifyNoInteractions(positionStackAsyncClient);
+    }
+
+    @Test
+    void getLocationsFromCoordinates_ShouldReportQuotaRejection_WhenNoCoarseLocationExists() {
+        // Arrange
+        doThrow(new PositionStackQuotaExceededException("PositionStack API key quota exhausted", Duration.ofMillis(40)))
+                .when(positionStackQuota).execute(eq(LookupPriority.BULK), any());
+
+        // Act
+        List<LocationLookupResult> results = locationService.getLocationsFromCoordinates(List.of(sensorData));
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("PositionStack API key quota exhausted", results.get(0).getError());
+        verifyNoInteractions(positionStackClient);
+        verify(metricsService, never()).incrementDegradedLookups();
     }
 }
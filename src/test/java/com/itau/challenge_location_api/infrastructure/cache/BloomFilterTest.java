@@ -0,0 +1,58 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void put_ShouldReportElementsAlreadyInserted() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertFalse(filter.put(42));
+        assertTrue(filter.put(42));
+        assertTrue(filter.mightContain(42));
+    }
+
+    @Test
+    void mightContain_ShouldNeverMissInsertedElements() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] hashes = random.longs(10_000).toArray();
+        for (long hash : hashes) {
+            filter.put(hash);
+        }
+
+        for (long hash : hashes) {
+            assertTrue(filter.mightContain(hash));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(random.nextLong());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeocodeCacheTest {
+
+    private GeocodeCacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private GeocodeCache geocodeCache;
+
+    @BeforeEach
+    void setUp() {
+        config = new GeocodeCacheConfig();
+        config.setPrecision(4);
+        meterRegistry = new SimpleMeterRegistry();
+        geocodeCache = new GeocodeCache(config, meterRegistry, new PersistentGeocodeStore(config, meterRegistry));
+    }
+
+    @Test
+    void cellKey_ShouldBeEqual_WhenCoordinatesFallInSameCell() {
+        assertEquals(geocodeCache.cellKey(-23.55051, -46.63331), geocodeCache.cellKey(-23.55049, -46.63329));
+    }
+
+    @Test
+    void cellKey_ShouldDiffer_WhenCoordinatesFallInDifferentCells() {
+        assertNotEquals(geocodeCache.cellKey(-23.5505, -46.6333), geocodeCache.cellKey(-23.5506, -46.6333));
+        assertNotEquals(geocodeCache.cellKey(-23.5505, -46.6333), geocodeCache.cellKey(-23.5505, -46.6334));
+        assertNotEquals(geocodeCache.cellKey(-23.5505, -46.6333), geocodeCache.cellKey(-46.6333, -23.5505));
+    }
+
+    @Test
+    void get_ShouldReturnStoredLocationAndRecordHitsAndMisses() {
+        long key = geocodeCache.cellKey(-23.5505, -46.6333);
+        LocationInfo locationInfo = LocationInfo.builder().country("Brazil").build();
+
+        assertNull(geocodeCache.get(key));
+        geocodeCache.put(key, locationInfo);
+
+        assertSame(locationInfo, geocodeCache.get(key));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenCacheIsDisabled() {
+        config.setEnabled(false);
+        long key = geocodeCache.cellKey(-23.5505, -46.6333);
+
+        geocodeCache.put(key, LocationInfo.builder().country("Brazil").build());
+
+        assertNull(geocodeCache.get(key));
+    }
+
+    @Test
+    void get_ShouldPromoteEntryFromPersistentTier_WhenMemoryTierIsCold(@TempDir Path tempDir) {
+        config.getPersistent().setEnabled(true);
+        config.getPersistent().setPath(tempDir.resolve("geocode-cache.dat").toString());
+        PersistentGeocodeStore store = new PersistentGeocodeStore(config, meterRegistry);
+        long key = geocodeCache.cellKey(-23.5505, -46.6333);
+        new GeocodeCache(config, meterRegistry, store).put(key, LocationInfo.builder().country("Brazil").build());
+
+        // A fresh memory tier, as after a restart
+        GeocodeCache restarted = new GeocodeCache(config, new SimpleMeterRegistry(), store);
+
+        assertEquals("Brazil", restarted.get(key).getCountry());
+        store.close();
+    }
+
+    @Test
+    void put_ShouldKeepEntryInMemory_WhenPersistentTierFails() {
+        PersistentGeocodeStore failing = new PersistentGeocodeStore(config, meterRegistry) {
+            @Override
+            public void put(long cellKey, LocationInfo locationInfo) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        };
+        GeocodeCache cache = new GeocodeCache(config, new SimpleMeterRegistry(), failing);
+        long key = cache.cellKey(-23.5505, -46.6333);
+
+        assertDoesNotThrow(() -> cache.put(key, LocationInfo.builder().country("Brazil").build()));
+        assertEquals("Brazil", cache.get(key).getCountry());
+    }
+}
@@ -0,0 +1,72 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.MovementThresholdConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LastKnownLocationStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private MovementThresholdConfig config;
+    private LastKnownLocationStore store;
+    private PetSensorData fix;
+    private LocationInfo fixLocation;
+
+    @BeforeEach
+    void setUp() {
+        config = new MovementThresholdConfig();
+        store = new LastKnownLocationStore(config);
+        fix = PetSensorData.builder()
+                .sensorId("test-sensor-123")
+                .latitude(-23.5505)
+                .longitude(-46.6333)
+                .timestamp(NOW)
+                .build();
+        fixLocation = LocationInfo.builder().country("Brazil").neighborhood("Centro").build();
+        store.record(fix, fixLocation);
+    }
+
+    @Test
+    void findUnmoved_ShouldReturnLastFix_WhenReadingIsNearbyAndRecent() {
+        // ~11 meters north, one minute later
+        PetSensorData reading = fix.toBuilder().latitude(-23.5504).timestamp(NOW.plusMinutes(1)).build();
+
+        assertSame(fixLocation, store.findUnmoved(reading));
+    }
+
+    @Test
+    void findUnmoved_ShouldReturnNull_WhenPetMovedFartherThanThreshold() {
+        // ~111 meters north
+        PetSensorData reading = fix.toBuilder().latitude(-23.5495).timestamp(NOW.plusMinutes(1)).build();
+
+        assertNull(store.findUnmoved(reading));
+    }
+
+    @Test
+    void findUnmoved_ShouldReturnNull_WhenReadingIsOutsideTimeWindow() {
+        PetSensorData reading = fix.toBuilder().timestamp(NOW.plusMinutes(6)).build();
+
+        assertNull(store.findUnmoved(reading));
+    }
+
+    @Test
+    void findUnmoved_ShouldReturnNull_ForOtherSensors() {
+        PetSensorData reading = fix.toBuilder().sensorId("test-sensor-456").build();
+
+        assertNull(store.findUnmoved(reading));
+    }
+
+    @Test
+    void findUnmoved_ShouldReturnNull_WhenDisabled() {
+        config.setEnabled(false);
+
+        assertNull(store.findUnmoved(fix));
+    }
+}
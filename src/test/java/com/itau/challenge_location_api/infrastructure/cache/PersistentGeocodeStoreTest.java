@@ -0,0 +1,175 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.infrastructure.config.GeocodeCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentGeocodeStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GeocodeCacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private PersistentGeocodeStore store;
+
+    private final LocationInfo paulista = LocationInfo.builder()
+            .country("Brazil")
+            .state("São Paulo")
+            .city("São Paulo")
+            .neighborhood("Bela Vista")
+            .street("Avenida Paulista")
+            .number("1578")
+            .postalCode("01310-200")
+            .label("Avenida Paulista, 1578, São Paulo, Brazil")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        config = new GeocodeCacheConfig();
+        config.getPersistent().setEnabled(true);
+        config.getPersistent().setPath(tempDir.resolve("geocode-cache.dat").toString());
+        config.getPersistent().setMaxSize(DataSize.ofKilobytes(64));
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void get_ShouldReturnStoredLocation() {
+        store.put(1L, paulista);
+
+        assertEquals(paulista, store.get(1L));
+        assertNull(store.get(2L));
+    }
+
+    @Test
+    void get_ShouldKeepNullFields() {
+        LocationInfo coarse = LocationInfo.builder().country("Brazil").city("São Paulo").build();
+
+        store.put(1L, coarse);
+
+        assertEquals(coarse, store.get(1L));
+    }
+
+    @Test
+    void get_ShouldReturnLatestRecord_WhenKeyIsWrittenTwice() {
+        store.put(1L, paulista);
+        store.put(1L, paulista.toBuilder().number("1000").build());
+
+        assertEquals("1000", store.get(1L).getNumber());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void open_ShouldReloadEntriesWrittenBeforeRestart() {
+        store.put(1L, paulista);
+        store.put(2L, paulista.toBuilder().city("Campinas").build());
+        store.close();
+
+        store = open();
+
+        assertEquals(2, store.size());
+        assertEquals(paulista, store.get(1L));
+        assertEquals("Campinas", store.get(2L).getCity());
+    }
+
+    @Test
+    void open_ShouldDiscardEntries_WhenPrecisionChanged() {
+        store.put(1L, paulista);
+        store.close();
+        config.setPrecision(5);
+
+        store = open();
+
+        assertEquals(0, store.size());
+        assertNull(store.get(1L));
+    }
+
+    @Test
+    void put_ShouldCompactFile_WhenItIsFull() {
+        config.getPersistent().setMaxSize(DataSize.ofKilobytes(4));
+        store.close();
+        store = open(Runnable::run);
+
+        for (long key = 0; key < 200; key++) {
+            store.put(key % 10, paulista.toBuilder().number(String.valueOf(key)).build());
+        }
+        // Entries are dropped while the file is full, write the last round again once it has room
+        for (long key = 0; key < 10; key++) {
+            store.put(key, paulista.toBuilder().number("last-" + key).build());
+        }
+
+        assertTrue(meterRegistry.get("pet.location.cache.persistent.compactions").counter().count() > 0);
+        assertEquals(10, store.size());
+        for (long key = 0; key < 10; key++) {
+            assertEquals("last-" + key, store.get(key).getNumber());
+        }
+    }
+
+    @Test
+    void put_ShouldDropEntriesWithoutBlockingLookups_WhileCompacting() {
+        config.getPersistent().setMaxSize(DataSize.ofKilobytes(4));
+        store.close();
+        List<Runnable> compactions = new ArrayList<>();
+        store = open(compactions::add);
+        store.put(1L, paulista);
+        for (long key = 2; compactions.isEmpty(); key++) {
+            store.put(key, paulista);
+        }
+        int stored = store.size();
+
+        store.put(1000L, paulista);
+
+        assertEquals(stored, store.size());
+        assertEquals(paulista, store.get(1L));
+        compactions.get(0).run();
+        store.put(1000L, paulista);
+        assertEquals(paulista, store.get(1000L));
+        assertTrue(meterRegistry.get("pet.location.cache.persistent.dropped").counter().count() >= 2);
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenEntryExpired() throws InterruptedException {
+        config.getPersistent().setTtl(Duration.ofMillis(1));
+        store.put(1L, paulista);
+        Thread.sleep(5);
+
+        assertNull(store.get(1L));
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenDisabled() {
+        GeocodeCacheConfig disabledConfig = new GeocodeCacheConfig();
+        PersistentGeocodeStore disabled = new PersistentGeocodeStore(disabledConfig, new SimpleMeterRegistry());
+
+        disabled.put(1L, paulista);
+
+        assertNull(disabled.get(1L));
+    }
+
+    private PersistentGeocodeStore open() {
+        return new PersistentGeocodeStore(config, new SimpleMeterRegistry());
+    }
+
+    private PersistentGeocodeStore open(Executor compactionExecutor) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new PersistentGeocodeStore(config, meterRegistry, compactionExecutor);
+    }
+}
@@ -0,0 +1,123 @@
+package com.itau.challenge_location_api.infrastructure.cache;
+
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.ReadingDeduplicationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadingDeduplicatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ReadingDeduplicationConfig config;
+    private ReadingDeduplicator deduplicator;
+    private PetSensorData reading;
+    private LocationInfo response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new ReadingDeduplicationConfig();
+        config.setExpectedReadings(10_000);
+        deduplicator = new ReadingDeduplicator(config, meterRegistry, clock::get);
+        reading = PetSensorData.builder()
+                .sensorId("test-sensor-123")
+                .latitude(-23.5505)
+                .longitude(-46.6333)
+                .timestamp(NOW)
+                .build();
+        response = LocationInfo.builder().sensorId("test-sensor-123").country("Brazil").build();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("pet.location.dedup").tag("result", result).counter().count();
+    }
+
+    @Test
+    void findPrevious_ShouldReturnResponse_WhenReadingIsRetried() {
+        assertNull(deduplicator.findPrevious(reading));
+        deduplicator.markSeen(reading);
+        deduplicator.record(reading, response);
+
+        assertSame(response, deduplicator.findPrevious(reading.toBuilder().build()));
+        assertEquals(1, count("replayed"));
+    }
+
+    @Test
+    void findPrevious_ShouldReturnNull_ForOtherTimestampsAndSensors() {
+        deduplicator.markSeen(reading);
+        deduplicator.record(reading, response);
+
+        assertNull(deduplicator.findPrevious(reading.toBuilder().timestamp(NOW.plusSeconds(1)).build()));
+        assertNull(deduplicator.findPrevious(reading.toBuilder().sensorId("other-sensor").build()));
+        assertEquals(0, count("replayed"));
+    }
+
+    @Test
+    void markSeen_ShouldCountRetry_WhenResponseIsNotKept() {
+        deduplicator.markSeen(reading);
+        assertEquals(0, count("resolved"));
+
+        deduplicator.markSeen(reading);
+        assertNull(deduplicator.findPrevious(reading));
+        assertEquals(1, count("resolved"));
+    }
+
+    @Test
+    void markSeen_ShouldRememberReadingsBetweenOneAndTwoWindows() {
+        long window = config.getWindow().toNanos();
+        deduplicator.markSeen(reading);
+
+        clock.addAndGet(window);
+        PetSensorData later = reading.toBuilder().timestamp(NOW.plusMinutes(1)).build();
+        deduplicator.markSeen(later);
+        assertEquals(0, count("resolved"));
+
+        clock.addAndGet(window);
+        deduplicator.markSeen(later);
+        assertEquals(1, count("resolved"));
+        deduplicator.markSeen(reading);
+        assertEquals(1, count("resolved"));
+    }
+
+    @Test
+    void findPrevious_ShouldForgetResponses_AfterWindow() {
+        deduplicator.markSeen(reading);
+        deduplicator.record(reading, response);
+
+        clock.addAndGet(config.getWindow().toNanos() + 1);
+
+        assertNull(deduplicator.findPrevious(reading));
+    }
+
+    @Test
+    void findPrevious_ShouldIgnoreReadingsWithoutTimestamp() {
+        PetSensorData untimed = reading.toBuilder().timestamp(null).build();
+        deduplicator.markSeen(untimed);
+        deduplicator.record(untimed, response);
+
+        deduplicator.markSeen(untimed);
+        assertEquals(0, count("resolved"));
+        assertNull(deduplicator.findPrevious(untimed));
+    }
+
+    @Test
+    void findPrevious_ShouldReturnNull_WhenDisabled() {
+        config.setEnabled(false);
+        deduplicator.record(reading, response);
+
+        deduplicator.markSeen(reading);
+        deduplicator.markSeen(reading);
+        assertEquals(0, count("resolved"));
+        assertNull(deduplicator.findPrevious(reading));
+    }
+}
@@ -0,0 +1,73 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionStackAsyncClientTest {
+
+    private HttpServer server;
+    private PositionStackAsyncClient client;
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile String body =
+            "{\"data\":[{\"country\":\"Brazil\",\"region\":\"São Paulo\",\"postal_code\":\"01310-000\"}]}";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/reverse", exchange -> {
+            lastQuery.set(exchange.getRequestURI().getRawQuery());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        PositionStackConfig config = new PositionStackConfig();
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+        client = new PositionStackAsyncClient(config, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void reverseGeocode_ShouldDecodeResponse() {
+        PositionStackResponse response = client.reverseGeocode("test-api-key", "-23.550500,-46.633300").join();
+
+        assertEquals("Brazil", response.getData().get(0).getCountry());
+        assertEquals("São Paulo", response.getData().get(0).getRegion());
+        assertEquals("01310-000", response.getData().get(0).getPostalCode());
+        assertEquals("access_key=test-api-key&query=-23.550500,-46.633300&limit=1", lastQuery.get());
+    }
+
+    @Test
+    void reverseGeocode_ShouldFailWithStatus_WhenApiReturnsError() {
+        status = 429;
+        body = "{\"error\":{\"code\":\"rate_limit_reached\"}}";
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.reverseGeocode("test-api-key", "-23.550500,-46.633300").join());
+
+        PositionStackApiException cause = assertInstanceOf(PositionStackApiException.class, exception.getCause());
+        assertEquals(429, cause.getStatus());
+    }
+}
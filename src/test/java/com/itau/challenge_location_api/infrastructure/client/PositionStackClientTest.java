@@ -0,0 +1,132 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the Feign client over the pooled HTTP transport against a local server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PositionStackClientTest {
+
+    private static final String BODY =
+            "{\"data\":[{\"country\":\"Brazil\",\"region\":\"São Paulo\",\"postal_code\":\"01310-000\"}]}";
+
+    private static final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+    private static final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private static final AtomicInteger lastClientPort = new AtomicInteger();
+    private static volatile int status = 200;
+    private static final HttpServer server = startServer();
+
+    @Autowired
+    private PositionStackClient positionStackClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void positionStackProperties(DynamicPropertyRegistry registry) {
+        registry.add("position-stack.base-url", () -> "http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+        registry.add("position-stack.key", () -> "test-api-key");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @AfterEach
+    void resetStatus() {
+        status = 200;
+    }
+
+    @Test
+    void reverseGeocode_ShouldDecodeGzipResponse_AndReuseConnection() {
+        PositionStackResponse first = positionStackClient.reverseGeocode("test-api-key", "-23.550500,-46.633300");
+        int firstPort = lastClientPort.get();
+        PositionStackResponse second = positionStackClient.reverseGeocode("test-api-key", "-23.550500,-46.633300");
+
+        assertEquals("Brazil", first.getData().get(0).getCountry());
+        assertEquals("01310-000", second.getData().get(0).getPostalCode());
+        assertTrue(acceptEncoding.get().contains("gzip"));
+        assertEquals(firstPort, lastClientPort.get());
+    }
+
+    @Test
+    void reverseGeocode_ShouldRequestFirstResultOnly() {
+        positionStackClient.reverseGeocode("test-api-key", "-23.550500,-46.633300");
+
+        assertTrue(lastQuery.get().contains("limit=1"), lastQuery.get());
+    }
+
+    @Test
+    void reverseGeocode_ShouldFailWithStatus_WhenApiReturnsError() {
+        status = 429;
+
+        PositionStackApiException exception = assertThrows(PositionStackApiException.class,
+                () -> positionStackClient.reverseGeocode("test-api-key", "-23.550500,-46.633300"));
+
+        assertEquals(429, exception.getStatus());
+    }
+
+    @Test
+    void connectionPool_ShouldPublishMetrics() {
+        positionStackClient.reverseGeocode("test-api-key", "-23.550500,-46.633300");
+
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge());
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge());
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.pending").gauge());
+        assertEquals(200, meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge().value());
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            httpServer.createContext("/v1/reverse", exchange -> {
+                acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+                lastQuery.set(exchange.getRequestURI().getQuery());
+                lastClientPort.set(exchange.getRemoteAddress().getPort());
+                byte[] bytes = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,166 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PositionStackGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PositionStackConfig config;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new PositionStackConfig();
+        config.getResilience().getConcurrency().setInitialLimit(1);
+        config.getResilience().getConcurrency().setMinLimit(1);
+        config.getResilience().getConcurrency().setMaxLimit(1);
+        config.getResilience().getConcurrency().setMaxQueueSize(1);
+        config.getResilience().getConcurrency().setMaxQueueWait(Duration.ofMillis(20));
+        config.getResilience().setSlidingWindowSize(4);
+        config.getResilience().setMinimumNumberOfCalls(4);
+        config.getResilience().setWaitDurationInOpenState(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void execute_ShouldReturnCallResult_WhenPermitted() {
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+
+        assertEquals("ok", guard.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void executeAsync_ShouldQueueThenReject_WhenLimitIsReached() {
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        guard.executeAsync(() -> pending);
+
+        // The queued call times out, the next one finds the queue full
+        CompletableFuture<String> queued = guard.executeAsync(() -> CompletableFuture.completedFuture("never"));
+        CompletableFuture<String> shed = guard.executeAsync(() -> CompletableFuture.completedFuture("never"));
+        assertEquals(1.0, meterRegistry.find("pet.location.upstream.queue.depth").gauge().value());
+        for (CompletableFuture<String> rejected : List.of(shed, queued)) {
+            PositionStackUnavailableException rejection = assertThrows(PositionStackUnavailableException.class, () -> {
+                try {
+                    rejected.join();
+                } catch (CompletionException e) {
+                    throw e.getCause();
+                }
+            });
+            assertEquals(config.getResilience().getConcurrency().getRetryAfter(), rejection.getRetryAfter());
+        }
+        assertEquals(2, meterRegistry.find("pet.location.upstream.rejected").tag("reason", "limit_exceeded")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.find("pet.location.upstream.inflight").gauge().value());
+
+        // Completing the pending call releases its slot
+        pending.complete("done");
+        assertEquals("ok", guard.execute(() -> "ok"));
+        assertEquals(0.0, meterRegistry.find("pet.location.upstream.inflight").gauge().value());
+    }
+
+    @Test
+    void executeAsync_ShouldRunQueuedCall_WhenSlotFreesInTime() {
+        config.getResilience().getConcurrency().setMaxQueueWait(Duration.ofSeconds(5));
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        guard.executeAsync(() -> pending);
+
+        CompletableFuture<String> queued = guard.executeAsync(() -> CompletableFuture.completedFuture("queued"));
+        pending.complete("done");
+
+        assertEquals("queued", queued.join());
+    }
+
+    @Test
+    void execute_ShouldOpenCircuitAndRejectWithoutCalling_WhenCallsKeepFailing() {
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.execute(() -> {
+                throw new IllegalStateException("upstream failure");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        PositionStackUnavailableException rejection = assertThrows(PositionStackUnavailableException.class,
+                () -> guard.execute(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+        assertTrue(rejection.getRetryAfter().compareTo(Duration.ofSeconds(30)) <= 0);
+        assertTrue(rejection.getRetryAfter().compareTo(Duration.ofSeconds(25)) > 0);
+        assertEquals(1, meterRegistry.find("pet.location.upstream.rejected").tag("reason", "circuit_open")
+                .counter().count());
+        assertInstanceOf(Double.class, meterRegistry.find("resilience4j.circuitbreaker.state").tag("state", "open")
+                .gauge().value());
+        assertEquals(1.0, meterRegistry.find("resilience4j.circuitbreaker.state").tag("state", "open").gauge().value());
+    }
+
+    @Test
+    void execute_ShouldKeepCircuitAndLimit_WhenPositionStackAnswersClientErrors() {
+        config.getResilience().getConcurrency().setMaxLimit(4);
+        config.getResilience().getConcurrency().setInitialLimit(4);
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+        for (int status : new int[]{400, 401, 403, 404, 400, 401}) {
+            assertThrows(PositionStackApiException.class, () -> guard.execute(() -> {
+                throw new PositionStackApiException(status, "PositionStack API returned status " + status);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+        assertEquals(4, guard.getLimit());
+        assertEquals("ok", guard.execute(() -> "ok"));
+    }
+
+    @Test
+    void executeAsync_ShouldOpenCircuit_WhenPositionStackAnswersServerErrors() {
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> failed = guard.executeAsync(() -> CompletableFuture.failedFuture(
+                    new PositionStackApiException(503, "PositionStack API returned status 503")));
+            assertThrows(CompletionException.class, failed::join);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void execute_ShouldBackLimitOff_WhenPositionStackIsRateLimiting() {
+        config.getResilience().getConcurrency().setMaxLimit(4);
+        config.getResilience().getConcurrency().setInitialLimit(4);
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+
+        assertThrows(PositionStackApiException.class, () -> guard.execute(() -> {
+            throw new PositionStackApiException(429, "PositionStack API returned status 429");
+        }));
+
+        assertTrue(guard.getLimit() < 4);
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void execute_ShouldReleaseSlot_WhenCallThrowsError() {
+        PositionStackGuard guard = new PositionStackGuard(config, meterRegistry);
+
+        assertThrows(AssertionError.class, () -> guard.execute(() -> {
+            throw new AssertionError("unexpected");
+        }));
+
+        assertEquals(0.0, meterRegistry.find("pet.location.upstream.inflight").gauge().value());
+        assertEquals("ok", guard.execute(() -> "ok"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.infrastructure.config.PositionStackConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PositionStackQuotaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PositionStackConfig config;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new PositionStackConfig();
+        config.setKey("single-key");
+        config.getQuota().setEnabled(true);
+        config.getQuota().setRatePerSecond(1);
+        config.getQuota().setBurst(3);
+        config.getQuota().setInteractiveReserve(1);
+        config.getQuota().setInteractiveMaxWait(Duration.ZERO);
+        config.getQuota().setBulkMaxWait(Duration.ZERO);
+    }
+
+    private static PositionStackConfig.ApiKey apiKey(String name, String key) {
+        PositionStackConfig.ApiKey apiKey = new PositionStackConfig.ApiKey();
+        apiKey.setName(name);
+        apiKey.setKey(key);
+        return apiKey;
+    }
+
+    @Test
+    void execute_ShouldKeepReserveForInteractiveLookups() {
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+
+        quota.execute(LookupPriority.BULK, key -> key);
+        quota.execute(LookupPriority.BULK, key -> key);
+        assertThrows(PositionStackQuotaExceededException.class, () -> quota.execute(LookupPriority.BULK, key -> key));
+        assertDoesNotThrow(() -> quota.execute(LookupPriority.INTERACTIVE, key -> key));
+        assertThrows(PositionStackQuotaExceededException.class,
+                () -> quota.execute(LookupPriority.INTERACTIVE, key -> key));
+
+        assertEquals(1, meterRegistry.get("pet.location.upstream.quota.throttled").tag("priority", "bulk")
+                .counter().count());
+        assertEquals(1, meterRegistry.get("pet.location.upstream.quota.throttled").tag("priority", "interactive")
+                .counter().count());
+        assertTrue(meterRegistry.get("pet.location.upstream.quota.remaining").tag("key", "key-0").gauge().value() < 1);
+        assertEquals(3, meterRegistry.get("pet.location.upstream.key.calls")
+                .tags("key", "key-0", "outcome", "success").counter().count());
+    }
+
+    @Test
+    void execute_ShouldAdvertiseTimeUntilNextToken() {
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            quota.execute(LookupPriority.INTERACTIVE, key -> key);
+        }
+
+        PositionStackQuotaExceededException exception = assertThrows(PositionStackQuotaExceededException.class,
+                () -> quota.execute(LookupPriority.INTERACTIVE, key -> key));
+
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(1)) <= 0);
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofMillis(900)) > 0);
+    }
+
+    @Test
+    void executeAsync_ShouldWaitForRefill_WhenWithinMaxWait() {
+        config.getQuota().setRatePerSecond(50);
+        config.getQuota().setBulkMaxWait(Duration.ofSeconds(1));
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+        quota.execute(LookupPriority.BULK, key -> key);
+        quota.execute(LookupPriority.BULK, key -> key);
+
+        assertEquals("single-key",
+                quota.executeAsync(LookupPriority.BULK, CompletableFuture::completedFuture).join());
+
+        assertEquals(1, meterRegistry.get("pet.location.upstream.quota.delayed").tag("priority", "bulk")
+                .counter().count());
+    }
+
+    @Test
+    void executeAsync_ShouldFail_WhenNoTokenInTime() {
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+        quota.execute(LookupPriority.BULK, key -> key);
+        quota.execute(LookupPriority.BULK, key -> key);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> quota.executeAsync(LookupPriority.BULK, CompletableFuture::completedFuture).join());
+
+        assertInstanceOf(PositionStackQuotaExceededException.class, exception.getCause());
+    }
+
+    @Test
+    void execute_ShouldNotLimit_WhenDisabled() {
+        config.getQuota().setEnabled(false);
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            quota.execute(LookupPriority.BULK, key -> key);
+        }
+        quota.executeAsync(LookupPriority.BULK, CompletableFuture::completedFuture).join();
+    }
+
+    @Test
+    void executeAsync_ShouldRouteToLeastLoadedKey() {
+        config.getKeys().add(apiKey("primary", "key-a"));
+        config.getKeys().add(apiKey("secondary", "key-b"));
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        List<String> usedKeys = new ArrayList<>();
+
+        quota.executeAsync(LookupPriority.INTERACTIVE, key -> {
+            usedKeys.add(key);
+            return pending;
+        });
+        quota.execute(LookupPriority.INTERACTIVE, key -> usedKeys.add(key));
+
+        assertEquals(List.of("key-a", "key-b"), usedKeys);
+        assertEquals(1, meterRegistry.get("pet.location.upstream.key.inflight").tag("key", "primary").gauge().value());
+        pending.complete("done");
+        assertEquals(0, meterRegistry.get("pet.location.upstream.key.inflight").tag("key", "primary").gauge().value());
+    }
+
+    @Test
+    void execute_ShouldEjectKey_WhenRateLimited() {
+        config.getKeys().add(apiKey("primary", "key-a"));
+        config.getKeys().add(apiKey("secondary", "key-b"));
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+
+        assertThrows(PositionStackApiException.class, () -> quota.execute(LookupPriority.INTERACTIVE, key -> {
+            throw new PositionStackApiException(429, "PositionStack API returned status 429");
+        }));
+
+        assertEquals(1, quota.getAvailableKeys());
+        assertEquals("key-b", quota.execute(LookupPriority.INTERACTIVE, key -> key));
+        assertEquals("key-b", quota.execute(LookupPriority.INTERACTIVE, key -> key));
+        assertEquals(1, meterRegistry.get("pet.location.upstream.key.ejections")
+                .tags("key", "primary", "reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void execute_ShouldKeepLastHealthyKey_WhenItIsRejected() {
+        config.getKeys().add(apiKey("primary", "key-a"));
+        config.getKeys().add(apiKey("secondary", "key-b"));
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(PositionStackApiException.class, () -> quota.execute(LookupPriority.INTERACTIVE, key -> {
+                throw new PositionStackApiException(401, "PositionStack API returned status 401");
+            }));
+        }
+
+        assertEquals(1, quota.getAvailableKeys());
+        assertEquals("key-b", quota.execute(LookupPriority.INTERACTIVE, key -> key));
+        assertEquals(0, meterRegistry.get("pet.location.upstream.key.ejections")
+                .tags("key", "secondary", "reason", "unauthorized").counter().count());
+    }
+
+    @Test
+    void execute_ShouldNotEjectSingleKey() {
+        config.getQuota().setEnabled(false);
+        PositionStackQuota quota = new PositionStackQuota(config, meterRegistry);
+        assertThrows(PositionStackApiException.class, () -> quota.execute(LookupPriority.INTERACTIVE, key -> {
+            throw new PositionStackApiException(429, "PositionStack API returned status 429");
+        }));
+
+        assertEquals(1, quota.getAvailableKeys());
+        assertEquals("single-key", quota.execute(LookupPriority.INTERACTIVE, key -> key));
+    }
+}
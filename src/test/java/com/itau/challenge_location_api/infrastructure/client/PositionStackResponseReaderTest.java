@@ -0,0 +1,72 @@
+package com.itau.challenge_location_api.infrastructure.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
+import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionStackResponseReaderTest {
+
+    private final PositionStackResponseReader reader = new PositionStackResponseReader(new JsonFactory());
+
+    private PositionStackResponse read(String json) throws IOException {
+        return reader.read(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void read_ShouldKeepAddressFieldsOfFirstResultOnly() throws IOException {
+        PositionStackResponse response = read("""
+                {"data":[
+                  {"latitude":-23.5505,"longitude":-46.6333,"country":"Brazil","region":"São Paulo",
+                   "locality":"São Paulo","neighborhood":"Centro","administrative_area":"Sé",
+                   "street":"Avenida Paulista","number":"123","postal_code":"01310-000",
+                   "label":"Avenida Paulista, 123, São Paulo, Brazil","confidence":1,
+                   "map_url":{"nested":[1,2,3]}},
+                  {"country":"Argentina","street":"Calle Falsa"}
+                ]}""");
+
+        assertEquals(1, response.getData().size());
+        PositionStackData data = response.getData().get(0);
+        assertEquals("Brazil", data.getCountry());
+        assertEquals("São Paulo", data.getRegion());
+        assertEquals("São Paulo", data.getLocality());
+        assertEquals("Centro", data.getNeighborhood());
+        assertEquals("Sé", data.getAdministrativeArea());
+        assertEquals("Avenida Paulista", data.getStreet());
+        assertEquals("123", data.getNumber());
+        assertEquals("01310-000", data.getPostalCode());
+        assertEquals("Avenida Paulista, 123, São Paulo, Brazil", data.getLabel());
+        assertNull(data.getLatitude());
+        assertNull(data.getConfidence());
+    }
+
+    @Test
+    void read_ShouldHandleNullsAndNumericValues() throws IOException {
+        PositionStackResponse response = read("""
+                {"data":[null,{"street":null,"number":123,"country":{"code":"BR"}}]}""");
+
+        PositionStackData data = response.getData().get(0);
+        assertNull(data.getStreet());
+        assertEquals("123", data.getNumber());
+        assertNull(data.getCountry());
+    }
+
+    @Test
+    void read_ShouldReturnNoResults_WhenDataIsMissingOrEmpty() throws IOException {
+        assertTrue(read("{\"data\":[]}").getData().isEmpty());
+        assertTrue(read("{\"data\":null}").getData().isEmpty());
+        assertTrue(read("{\"error\":{\"code\":\"invalid_access_key\"}}").getData().isEmpty());
+    }
+
+    @Test
+    void read_ShouldFail_WhenPayloadIsNotAnObject() {
+        assertThrows(JsonProcessingException.class, () -> read("[]"));
+        assertThrows(JsonProcessingException.class, () -> read("{\"data\":[{\"country\":\"Brazil\"}"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.itau.challenge_location_api.infrastructure.concurrency;
+
+import com.itau.challenge_location_api.infrastructure.concurrency.AdaptiveConcurrencyLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueueSize) {
+        return AdaptiveConcurrencyLimiter.builder()
+                .initialLimit(initialLimit)
+                .minLimit(1)
+                .maxLimit(100)
+                .maxQueueSize(maxQueueSize)
+                .rttTolerance(1.5)
+                .smoothing(0.5)
+                .baselineWindow(1000)
+                .build();
+    }
+
+    @Test
+    void acquire_ShouldGrantUpToLimitThenQueue() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1);
+        Permit first = limiter.acquire(Duration.ofSeconds(5)).join();
+        limiter.acquire(Duration.ofSeconds(5)).join();
+
+        CompletableFuture<Permit> queued = limiter.acquire(Duration.ofSeconds(5));
+        assertFalse(queued.isDone());
+        assertEquals(1, limiter.getQueueDepth());
+
+        first.onIgnore();
+        assertTrue(queued.isDone());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    void acquire_ShouldReject_WhenQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1);
+        limiter.acquire(Duration.ofSeconds(5)).join();
+        limiter.acquire(Duration.ofSeconds(5));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> limiter.acquire(Duration.ofSeconds(5)).join());
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    @Test
+    void acquire_ShouldTimeOutAndLeaveQueue_WhenNoSlotFrees() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 10);
+        Permit held = limiter.acquire(Duration.ZERO).join();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> limiter.acquire(Duration.ofMillis(10)).join());
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(0, limiter.getQueueDepth());
+
+        held.onIgnore();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void permit_ShouldReleaseOnlyOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0);
+        Permit permit = limiter.acquire(Duration.ZERO).join();
+        limiter.acquire(Duration.ZERO).join();
+
+        permit.onSuccess();
+        permit.onDropped();
+
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_ShouldGrowLimit_WhenSaturatedAndRttStable() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 0);
+        // Long enough that scheduling jitter stays well within the RTT tolerance
+        for (int round = 0; round < 10; round++) {
+            runRound(limiter, limiter.getLimit(), 2_000_000);
+        }
+        assertTrue(limiter.getLimit() > 4, "limit should grow, was " + limiter.getLimit());
+    }
+
+    @Test
+    void onSuccess_ShouldShrinkLimit_WhenRttInflates() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 0);
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, 20, 200_000);
+        }
+        int before = limiter.getLimit();
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, limiter.getLimit(), 5_000_000);
+        }
+        assertTrue(limiter.getLimit() < before, "limit should shrink from " + before + ", was " + limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldBackOffLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 0);
+        limiter.acquire(Duration.ZERO).join().onDropped();
+        assertEquals(18, limiter.getLimit());
+    }
+
+    /**
+     * Holds the given number of permits for about the given time, then releases them as successful.
+     */
+    private static void runRound(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttNanos) {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            permits.add(limiter.acquire(Duration.ZERO).join());
+        }
+        LockSupport.parkNanos(rttNanos);
+        permits.forEach(Permit::onSuccess);
+    }
+}
@@ -0,0 +1,86 @@
+package com.itau.challenge_location_api.infrastructure.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_ShouldShareResult_WhenCallForSameKeyIsPending() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger coalesced = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return upstream;
+        }, coalesced::incrementAndGet);
+        CompletableFuture<String> second = singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        }, coalesced::incrementAndGet);
+        upstream.complete("Brazil");
+
+        assertEquals("Brazil", first.join());
+        assertEquals("Brazil", second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, coalesced.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void execute_ShouldShareError_WhenPendingCallFails() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        RuntimeException failure = new RuntimeException("API call failed");
+
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> upstream, () -> { });
+        CompletableFuture<String> second = singleFlight.execute(1L, () -> upstream, () -> { });
+        upstream.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+    }
+
+    @Test
+    void execute_ShouldStartNewCall_WhenPreviousCallCompleted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> CompletableFuture.completedFuture("a" + calls.incrementAndGet()), () -> { })
+                .join();
+        String result = singleFlight.execute(1L,
+                () -> CompletableFuture.completedFuture("a" + calls.incrementAndGet()), () -> { }).join();
+
+        assertEquals("a2", result);
+    }
+
+    @Test
+    void execute_ShouldNotCoalesceDifferentKeys() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> upstream, () -> fail("should not coalesce"));
+        CompletableFuture<String> second = singleFlight.execute(2L, () -> CompletableFuture.completedFuture("Chile"),
+                () -> fail("should not coalesce"));
+
+        assertEquals("Chile", second.join());
+        assertFalse(first.isDone());
+    }
+
+    @Test
+    void execute_ShouldFailFuture_WhenCallThrows() {
+        RuntimeException failure = new RuntimeException("API call failed");
+
+        CompletableFuture<String> result = singleFlight.execute(1L, () -> {
+            throw failure;
+        }, () -> { });
+
+        assertSame(failure, assertThrows(CompletionException.class, result::join).getCause());
+        assertEquals(0, singleFlight.size());
+    }
+}
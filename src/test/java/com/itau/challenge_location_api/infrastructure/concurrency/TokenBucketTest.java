@@ -0,0 +1,67 @@
+package com.itau.challenge_location_api.infrastructure.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryTake_ShouldSpendBurstThenRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertTrue(bucket.tryTake(0));
+        assertTrue(bucket.tryTake(0));
+        assertTrue(bucket.tryTake(0));
+        assertFalse(bucket.tryTake(0));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryTake(0));
+        assertFalse(bucket.tryTake(0));
+    }
+
+    @Test
+    void tryTake_ShouldLeaveFloorForOtherCallers() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertTrue(bucket.tryTake(1));
+        assertTrue(bucket.tryTake(1));
+        assertFalse(bucket.tryTake(1));
+        assertTrue(bucket.tryTake(0));
+    }
+
+    @Test
+    void nanosUntilAvailable_ShouldAccountForFloor() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.tryTake(0);
+        bucket.tryTake(0);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.nanosUntilAvailable(0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.nanosUntilAvailable(1));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, bucket.nanosUntilAvailable(0));
+    }
+
+    @Test
+    void getAvailable_ShouldNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(2, bucket.getAvailable());
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 2, clock::get));
+    }
+}
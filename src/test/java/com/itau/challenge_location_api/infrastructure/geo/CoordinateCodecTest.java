@@ -0,0 +1,82 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinateCodecTest {
+
+    private static final double SCALE = 10_000;
+
+    @Test
+    void formatQuery_ShouldMatchStringFormat_ForTypicalCoordinates() {
+        assertEquals("-23.550500,-46.633300", CoordinateCodec.formatQuery(-23.5505, -46.6333));
+        assertEquals("0.000000,180.000000", CoordinateCodec.formatQuery(0, 180));
+        assertEquals("-0.000000,-0.000000", CoordinateCodec.formatQuery(-0.0, -0.0000001));
+        assertEquals("1.000001,-89.999999", CoordinateCodec.formatQuery(1.0000005, -89.9999994));
+    }
+
+    @Test
+    void formatQuery_ShouldMatchStringFormat_ForRandomCoordinates() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            if (i % 3 == 0) {
+                // Few decimals, as sent by most sensors
+                latitude = Math.round(latitude * 10_000_000) / 10_000_000d;
+                longitude = Math.round(longitude * 10_000_000) / 10_000_000d;
+            }
+            assertEquals(String.format(Locale.US, "%f,%f", latitude, longitude),
+                    CoordinateCodec.formatQuery(latitude, longitude));
+        }
+    }
+
+    @Test
+    void appendFixed_ShouldFallBackToStringFormat_ForNonFiniteValues() {
+        assertEquals("NaN", CoordinateCodec.appendFixed(new StringBuilder(), Double.NaN).toString());
+        assertEquals("Infinity", CoordinateCodec.appendFixed(new StringBuilder(), Double.POSITIVE_INFINITY).toString());
+    }
+
+    @Test
+    void cellKey_ShouldBeEqual_WhenCoordinatesFallInSameCell() {
+        assertEquals(CoordinateCodec.cellKey(-23.55051, -46.63331, SCALE),
+                CoordinateCodec.cellKey(-23.55049, -46.63329, SCALE));
+    }
+
+    @Test
+    void cellKey_ShouldBeUnique_AcrossNeighbouringCells() {
+        Set<Long> keys = new HashSet<>();
+        for (int lat = -50; lat <= 50; lat++) {
+            for (int lon = -50; lon <= 50; lon++) {
+                keys.add(CoordinateCodec.cellKey(-23.5505 + lat / SCALE, -46.6333 + lon / SCALE, SCALE));
+            }
+        }
+        assertEquals(101 * 101, keys.size());
+        assertNotEquals(CoordinateCodec.cellKey(-23.5505, -46.6333, SCALE),
+                CoordinateCodec.cellKey(-46.6333, -23.5505, SCALE));
+    }
+
+    @Test
+    void cellKey_ShouldKeepDistinctKeys_AtTheLimitsOfTheMaxPrecision() {
+        double scale = Math.pow(10, CoordinateCodec.MAX_CELL_PRECISION);
+        assertNotEquals(CoordinateCodec.cellKey(90, 180, scale), CoordinateCodec.cellKey(90, 179.9999999, scale));
+        assertNotEquals(CoordinateCodec.cellKey(-90, -180, scale), CoordinateCodec.cellKey(-89.9999999, -180, scale));
+        assertTrue(CoordinateCodec.cellKey(-90, -180, scale) >= 0);
+    }
+
+    @Test
+    void interleave_ShouldPlaceBitsInZOrder() {
+        assertEquals(0b10L, CoordinateCodec.interleave(1, 0));
+        assertEquals(0b01L, CoordinateCodec.interleave(0, 1));
+        assertEquals(0b1111L, CoordinateCodec.interleave(3, 3));
+        assertEquals(-1L, CoordinateCodec.interleave(0xFFFFFFFFL, 0xFFFFFFFFL));
+    }
+}
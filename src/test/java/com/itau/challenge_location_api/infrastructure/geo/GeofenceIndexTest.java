@@ -0,0 +1,105 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import com.itau.challenge_location_api.domain.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeofenceIndexTest {
+
+    private static Geofence circle(String id, double latitude, double longitude, double radiusMeters) {
+        return Geofence.builder()
+                .id(id)
+                .sensorIds(Set.of("sensor-1"))
+                .shape(Geofence.Shape.CIRCLE)
+                .centerLatitude(latitude)
+                .centerLongitude(longitude)
+                .radiusMeters(radiusMeters)
+                .build();
+    }
+
+    private static Geofence square(String id, double minLatitude, double minLongitude, double side) {
+        return Geofence.builder()
+                .id(id)
+                .sensorIds(Set.of("sensor-1"))
+                .shape(Geofence.Shape.POLYGON)
+                .vertices(List.of(
+                        new Geofence.Vertex(minLatitude, minLongitude),
+                        new Geofence.Vertex(minLatitude, minLongitude + side),
+                        new Geofence.Vertex(minLatitude + side, minLongitude + side),
+                        new Geofence.Vertex(minLatitude + side, minLongitude)))
+                .build();
+    }
+
+    @Test
+    void findContaining_ShouldMatchCircleWithinRadius() {
+        GeofenceIndex index = new GeofenceIndex(0.01, 4096);
+        index.put(circle("home", -23.5505, -46.6333, 200));
+
+        assertEquals(List.of("home"), index.findContaining("sensor-1", -23.5510, -46.6335));
+        assertTrue(index.findContaining("sensor-1", -23.5550, -46.6333).isEmpty());
+    }
+
+    @Test
+    void findContaining_ShouldMatchPolygonSpanningSeveralCells() {
+        GeofenceIndex index = new GeofenceIndex(0.01, 4096);
+        index.put(square("park", -23.60, -46.70, 0.05));
+
+        assertEquals(List.of("park"), index.findContaining("sensor-1", -23.58, -46.68));
+        assertEquals(List.of("park"), index.findContaining("sensor-1", -23.556, -46.651));
+        assertTrue(index.findContaining("sensor-1", -23.54, -46.68).isEmpty());
+    }
+
+    @Test
+    void findContaining_ShouldIgnoreFencesOfOtherSensors() {
+        GeofenceIndex index = new GeofenceIndex(0.01, 4096);
+        index.put(circle("home", -23.5505, -46.6333, 200));
+
+        assertTrue(index.findContaining("sensor-2", -23.5505, -46.6333).isEmpty());
+    }
+
+    @Test
+    void findContaining_ShouldTestLargeFencesOutsideTheGrid() {
+        GeofenceIndex index = new GeofenceIndex(0.01, 4);
+        index.put(square("city", -24.0, -47.0, 1.0));
+
+        assertEquals(List.of("city"), index.findContaining("sensor-1", -23.5505, -46.6333));
+
+        assertTrue(index.remove("city"));
+        assertTrue(index.findContaining("sensor-1", -23.5505, -46.6333).isEmpty());
+    }
+
+    @Test
+    void put_ShouldReplaceFenceWithSameId() {
+        GeofenceIndex index = new GeofenceIndex(0.01, 4096);
+        index.put(circle("home", -23.5505, -46.6333, 200));
+        index.put(circle("home", -22.9068, -43.1729, 200));
+
+        assertEquals(1, index.size());
+        assertTrue(index.findContaining("sensor-1", -23.5505, -46.6333).isEmpty());
+        assertEquals(List.of("home"), index.findContaining("sensor-1", -22.9068, -43.1729));
+    }
+
+    @Test
+    void remove_ShouldReturnFalse_WhenFenceIsUnknown() {
+        assertFalse(new GeofenceIndex(0.01, 4096).remove("missing"));
+    }
+
+    @Test
+    void put_ShouldRejectIncompleteShapes() {
+        GeofenceIndex index = new GeofenceIndex(0.01, 4096);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> index.put(circle("home", -23.5505, -46.6333, 200).toBuilder().radiusMeters(null).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.put(square("park", -23.60, -46.70, 0.05).toBuilder()
+                        .vertices(List.of(new Geofence.Vertex(0, 0))).build()));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.itau.challenge_location_api.infrastructure.geo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.infrastructure.config.OfflineGeocoderConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflineGeocoderTest {
+
+    private OfflineGeocoderConfig config;
+    private OfflineGeocoder offlineGeocoder;
+
+    @BeforeEach
+    void setUp() {
+        config = new OfflineGeocoderConfig();
+        config.setMode(OfflineGeocoderConfig.Mode.FIRST_TIER);
+        config.setBoundariesPath("classpath:geo/sample-boundaries.geojson");
+        offlineGeocoder = new OfflineGeocoder(config, new ObjectMapper(), new DefaultResourceLoader());
+    }
+
+    @Test
+    void resolve_ShouldReturnAllLevels_WhenPointIsInsideNeighborhood() {
+        LocationInfo result = offlineGeocoder.resolve(-23.5505, -46.6333);
+
+        assertEquals("Brazil", result.getCountry());
+        assertEquals("São Paulo", result.getState());
+        assertEquals("São Paulo", result.getCity());
+        assertEquals("Centro", result.getNeighborhood());
+        assertNull(result.getStreet());
+        assertNull(result.getLabel());
+        assertTrue(offlineGeocoder.isComplete(result));
+    }
+
+    @Test
+    void resolve_ShouldSkipNeighborhood_WhenPointIsInsideHole() {
+        LocationInfo result = offlineGeocoder.resolve(-23.548, -46.638);
+
+        assertEquals("São Paulo", result.getCity());
+        assertNull(result.getNeighborhood());
+    }
+
+    @Test
+    void resolve_ShouldMatchAnyPartOfMultiPolygon() {
+        LocationInfo result = offlineGeocoder.resolve(-21.9, -40.7);
+
+        assertEquals("Rio de Janeiro", result.getState());
+        assertNull(result.getCity());
+        assertFalse(offlineGeocoder.isComplete(result));
+    }
+
+    @Test
+    void resolve_ShouldReturnNull_WhenPointIsOutsideDataset() {
+        assertNull(offlineGeocoder.resolve(40.7128, -74.0060));
+    }
+
+    @Test
+    void resolve_ShouldReturnNull_WhenDisabled() {
+        config.setMode(OfflineGeocoderConfig.Mode.DISABLED);
+        OfflineGeocoder disabled = new OfflineGeocoder(config, new ObjectMapper(), new DefaultResourceLoader());
+
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.isFirstTier());
+        assertNull(disabled.resolve(-23.5505, -46.6333));
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenBoundariesPathIsMissing() {
+        config.setBoundariesPath("");
+
+        assertThrows(IllegalStateException.class,
+                () -> new OfflineGeocoder(config, new ObjectMapper(), new DefaultResourceLoader()));
+    }
+}
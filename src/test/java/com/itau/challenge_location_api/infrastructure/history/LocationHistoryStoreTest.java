@@ -0,0 +1,125 @@
+package com.itau.challenge_location_api.infrastructure.history;
+
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.LocationHistoryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationHistoryStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000);
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocationHistoryConfig config;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new LocationHistoryConfig();
+    }
+
+    private static PetSensorData reading(String sensorId, LocalDateTime timestamp, double latitude, double longitude) {
+        return PetSensorData.builder()
+                .sensorId(sensorId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static List<PetSensorData> read(LocationHistoryStore store, String sensorId,
+                                            LocalDateTime from, LocalDateTime to) {
+        List<PetSensorData> readings = new ArrayList<>();
+        store.forEach(sensorId, from, to,
+                (timestamp, latitude, longitude) -> readings.add(reading(sensorId, timestamp, latitude, longitude)));
+        return readings;
+    }
+
+    @Test
+    void forEach_ShouldReturnRecordedReadingsInArrivalOrder() {
+        LocationHistoryStore store = new LocationHistoryStore(config, meterRegistry);
+        store.record(reading("sensor-1", START, -23.550512, -46.633308));
+        store.record(reading("sensor-1", START.plusSeconds(30), -23.550634, -46.633101));
+        store.record(reading("sensor-1", START.plusSeconds(15), 51.477928, -0.001545));
+
+        List<PetSensorData> history = read(store, "sensor-1", null, null);
+
+        assertEquals(List.of(
+                reading("sensor-1", START, -23.550512, -46.633308),
+                reading("sensor-1", START.plusSeconds(30), -23.550634, -46.633101),
+                reading("sensor-1", START.plusSeconds(15), 51.477928, -0.001545)), history);
+        assertEquals(List.of(), read(store, "sensor-2", null, null));
+    }
+
+    @Test
+    void forEach_ShouldOnlyReturnReadingsWithinRange() {
+        config.setChunkSize(DataSize.ofBytes(64));
+        LocationHistoryStore store = new LocationHistoryStore(config, meterRegistry);
+        for (int i = 0; i < 100; i++) {
+            store.record(reading("sensor-1", START.plusMinutes(i), -23.55 + i * 0.0001, -46.63));
+        }
+
+        List<PetSensorData> history = read(store, "sensor-1", START.plusMinutes(40), START.plusMinutes(49));
+
+        assertEquals(10, history.size());
+        assertEquals(START.plusMinutes(40), history.get(0).getTimestamp());
+        assertEquals(-23.546, history.get(0).getLatitude(), 1e-9);
+        assertEquals(START.plusMinutes(49), history.get(9).getTimestamp());
+    }
+
+    @Test
+    void record_ShouldUseFewBytesPerReading() {
+        LocationHistoryStore store = new LocationHistoryStore(config, meterRegistry);
+        int readings = 10_000;
+        for (int i = 0; i < readings; i++) {
+            // A pet walking about one meter per five-second reading
+            store.record(reading("sensor-1", START.plusSeconds(5L * i), -23.55 + i * 0.00001, -46.63 - i * 0.000005));
+        }
+
+        long bytes = store.encodedBytes("sensor-1");
+
+        assertTrue(bytes <= 6L * readings, "encoded " + bytes + " bytes");
+        assertEquals(readings, read(store, "sensor-1", null, null).size());
+        assertEquals(bytes, meterRegistry.get("pet.location.history.bytes").gauge().value());
+        assertEquals(readings, meterRegistry.get("pet.location.history.readings").counter().count());
+    }
+
+    @Test
+    void record_ShouldDropReadingsOutsideRetention() {
+        config.setRetention(Duration.ofHours(1));
+        config.setChunkSize(DataSize.ofBytes(64));
+        LocationHistoryStore store = new LocationHistoryStore(config, meterRegistry);
+        for (int i = 0; i <= 180; i++) {
+            store.record(reading("sensor-1", START.plusMinutes(i), -23.55, -46.63));
+        }
+        store.record(reading("sensor-1", START, -23.55, -46.63));
+
+        List<PetSensorData> history = read(store, "sensor-1", null, null);
+
+        // Retention drops whole chunks, so a few readings older than an hour may remain
+        assertTrue(history.size() < 80, "kept " + history.size() + " readings");
+        assertTrue(history.get(0).getTimestamp().isAfter(START.plusMinutes(110)));
+        assertEquals(START.plusMinutes(180), history.get(history.size() - 1).getTimestamp());
+    }
+
+    @Test
+    void record_ShouldIgnoreReadings_WhenDisabledOrIncomplete() {
+        LocationHistoryStore store = new LocationHistoryStore(config, meterRegistry);
+        store.record(reading("sensor-1", null, -23.55, -46.63));
+        store.record(reading("sensor-1", START, 123.0, -46.63));
+        config.setEnabled(false);
+        store.record(reading("sensor-1", START, -23.55, -46.63));
+
+        assertEquals(List.of(), read(store, "sensor-1", null, null));
+    }
+}
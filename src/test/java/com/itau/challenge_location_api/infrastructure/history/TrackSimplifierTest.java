@@ -0,0 +1,211 @@
+package com.itau.challenge_location_api.infrastructure.history;
+
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.infrastructure.config.LocationHistoryConfig;
+import com.itau.challenge_location_api.infrastructure.config.TrackSimplificationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackSimplifierTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final double ORIGIN_LATITUDE = -23.5505;
+    private static final double ORIGIN_LONGITUDE = -46.6333;
+    private static final double METERS_PER_DEGREE = 111_195.0;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TrackSimplificationConfig config;
+    private LocationHistoryStore locationHistory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new TrackSimplificationConfig();
+        locationHistory = new LocationHistoryStore(new LocationHistoryConfig(), meterRegistry);
+    }
+
+    /**
+     * Reading at an offset in meters east and north of the origin.
+     */
+    private static PetSensorData reading(int second, double east, double north) {
+        return PetSensorData.builder()
+                .sensorId("sensor-1")
+                .latitude(ORIGIN_LATITUDE + north / METERS_PER_DEGREE)
+                .longitude(ORIGIN_LONGITUDE + east / (METERS_PER_DEGREE * Math.cos(Math.toRadians(ORIGIN_LATITUDE))))
+                .timestamp(START.plusSeconds(second))
+                .build();
+    }
+
+    private List<double[]> storedPath(TrackSimplifier simplifier) {
+        List<double[]> path = new ArrayList<>();
+        locationHistory.forEach("sensor-1", null, null, (timestamp, latitude, longitude) ->
+                path.add(new double[]{latitude, longitude}));
+        PetSensorData pending = simplifier.pending("sensor-1");
+        if (pending != null) {
+            path.add(new double[]{pending.getLatitude(), pending.getLongitude()});
+        }
+        return path;
+    }
+
+    private static double[] meters(double latitude, double longitude) {
+        return new double[]{
+                (longitude - ORIGIN_LONGITUDE) * METERS_PER_DEGREE * Math.cos(Math.toRadians(ORIGIN_LATITUDE)),
+                (latitude - ORIGIN_LATITUDE) * METERS_PER_DEGREE};
+    }
+
+    private static double distanceToPath(PetSensorData reading, List<double[]> path) {
+        double[] p = meters(reading.getLatitude(), reading.getLongitude());
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double[] a = meters(path.get(i)[0], path.get(i)[1]);
+            double[] b = meters(path.get(i + 1)[0], path.get(i + 1)[1]);
+            double dx = b[0] - a[0];
+            double dy = b[1] - a[1];
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared > 0
+                    ? Math.max(0, Math.min(1, ((p[0] - a[0]) * dx + (p[1] - a[1]) * dy) / lengthSquared)) : 0;
+            best = Math.min(best, Math.hypot(p[0] - a[0] - t * dx, p[1] - a[1] - t * dy));
+        }
+        return best;
+    }
+
+    @Test
+    void offer_ShouldKeepOnlyEndsOfStraightWalk() {
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+
+        assertFalse(simplifier.offer(reading(0, 0, 0)));
+        for (int i = 1; i <= 60; i++) {
+            assertTrue(simplifier.offer(reading(i, i, 0.5 * Math.sin(i))));
+        }
+
+        assertEquals(1, locationHistory.forEach("sensor-1", null, null, (timestamp, latitude, longitude) -> { }));
+        assertEquals(START.plusSeconds(60), simplifier.pending("sensor-1").getTimestamp());
+        assertEquals(59.0, meterRegistry.get("pet.location.track.dropped").counter().count());
+    }
+
+    @Test
+    void offer_ShouldKeepCornerOfTurningWalk() {
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+
+        for (int i = 0; i <= 40; i++) {
+            simplifier.offer(reading(i, i, 0));
+        }
+        boolean turned = simplifier.offer(reading(41, 40, 15));
+        for (int i = 1; i <= 20; i++) {
+            simplifier.offer(reading(41 + i, 40, 15 + i));
+        }
+
+        assertFalse(turned);
+        List<double[]> path = storedPath(simplifier);
+        assertEquals(3, path.size());
+        assertEquals(ORIGIN_LATITUDE, path.get(1)[0], 1e-6);
+    }
+
+    @Test
+    void offer_ShouldBreakSegmentsAtMaxSegmentLength() {
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+
+        for (int i = 0; i <= 125; i++) {
+            simplifier.offer(reading(i, 2 * i, 0));
+        }
+
+        assertEquals(3, locationHistory.forEach("sensor-1", null, null, (timestamp, latitude, longitude) -> { }));
+    }
+
+    @Test
+    void offer_ShouldKeepFewPointsOfPetResting() {
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+        Random random = new Random(7);
+        List<PetSensorData> readings = new ArrayList<>();
+
+        for (int i = 0; i < 600; i++) {
+            PetSensorData reading = reading(i, random.nextGaussian() * 2, random.nextGaussian() * 2);
+            readings.add(reading);
+            simplifier.offer(reading);
+        }
+
+        List<double[]> path = storedPath(simplifier);
+        assertTrue(path.size() <= readings.size() / 20, "stored " + path.size() + " points");
+        for (PetSensorData reading : readings) {
+            assertTrue(distanceToPath(reading, path) <= config.getToleranceMeters() + 0.5);
+        }
+    }
+
+    @Test
+    void offer_ShouldKeepRandomWalkWithinTolerance() {
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+        Random random = new Random(11);
+        List<PetSensorData> readings = new ArrayList<>();
+        double east = 0;
+        double north = 0;
+        double heading = 0;
+
+        for (int i = 0; i < 2000; i++) {
+            if (random.nextInt(60) == 0) {
+                heading = random.nextDouble() * 2 * Math.PI;
+            }
+            east += 1.4 * Math.cos(heading) + random.nextGaussian() * 0.5;
+            north += 1.4 * Math.sin(heading) + random.nextGaussian() * 0.5;
+            PetSensorData reading = reading(i, east, north);
+            readings.add(reading);
+            simplifier.offer(reading);
+        }
+
+        List<double[]> path = storedPath(simplifier);
+        assertTrue(path.size() <= readings.size() / 10, "stored " + path.size() + " points");
+        for (PetSensorData reading : readings) {
+            assertTrue(distanceToPath(reading, path) <= config.getToleranceMeters() + 0.5);
+        }
+    }
+
+    @Test
+    void offer_ShouldStoreOutOfOrderReadingsAsTheyAre() {
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+        simplifier.offer(reading(10, 0, 0));
+        simplifier.offer(reading(11, 1, 0));
+
+        assertFalse(simplifier.offer(reading(5, 50, 50)));
+
+        assertEquals(2, locationHistory.forEach("sensor-1", null, null, (timestamp, latitude, longitude) -> { }));
+        assertEquals(START.plusSeconds(11), simplifier.pending("sensor-1").getTimestamp());
+    }
+
+    @Test
+    void pending_ShouldNotKeepSegmentOpen() {
+        AtomicLong nanos = new AtomicLong();
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry, nanos::get);
+        simplifier.offer(reading(0, 0, 0));
+        simplifier.offer(reading(1, 1, 0));
+        long halfInterval = config.getMaxInterval().toNanos() / 2 + 1;
+
+        nanos.addAndGet(halfInterval);
+        assertEquals(START.plusSeconds(1), simplifier.pending("sensor-1").getTimestamp());
+        nanos.addAndGet(halfInterval);
+
+        assertNull(simplifier.pending("sensor-1"));
+    }
+
+    @Test
+    void offer_ShouldStoreEveryReading_WhenDisabled() {
+        config.setEnabled(false);
+        TrackSimplifier simplifier = new TrackSimplifier(config, locationHistory, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(simplifier.offer(reading(i, i, 0)));
+        }
+
+        assertEquals(10, locationHistory.forEach("sensor-1", null, null, (timestamp, latitude, longitude) -> { }));
+    }
+}
@@ -0,0 +1,73 @@
+package com.itau.challenge_location_api.infrastructure.metrics;
+
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationMetricsServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocationMetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new LocationMetricsService(meterRegistry);
+    }
+
+    @Test
+    void constructor_ShouldRegisterMetersUpFront() {
+        // Assert
+        assertThat(meterRegistry.find("pet.location.requests.total").counter()).isNotNull();
+        assertThat(meterRegistry.find("pet.location.request.duration").timer()).isNotNull();
+        for (String stage : new String[]{"validation", "cache_lookup", "upstream", "mapping"}) {
+            assertThat(meterRegistry.find("pet.location.stage.duration").tag("stage", stage).timer()).isNotNull();
+        }
+    }
+
+    @Test
+    void incrementLocationRequestsError_ShouldReuseCounterPerErrorType() {
+        // Act
+        metricsService.incrementLocationRequestsError("processing_error");
+        metricsService.incrementLocationRequestsError("processing_error");
+        metricsService.incrementLocationRequestsError("batch_processing_error");
+
+        // Assert
+        Counter processing = meterRegistry.find("pet.location.requests.error")
+                .tag("error.type", "processing_error").counter();
+        Counter batch = meterRegistry.find("pet.location.requests.error")
+                .tag("error.type", "batch_processing_error").counter();
+        assertThat(processing.count()).isEqualTo(2);
+        assertThat(batch.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordStage_ShouldRecordIntoTheStageTimer() {
+        // Act
+        metricsService.recordStage(Stage.UPSTREAM, TimeUnit.MILLISECONDS.toNanos(40));
+        metricsService.recordStage(Stage.MAPPING, TimeUnit.MICROSECONDS.toNanos(5));
+
+        // Assert
+        Timer upstream = meterRegistry.find("pet.location.stage.duration").tag("stage", "upstream").timer();
+        assertThat(upstream.count()).isEqualTo(1);
+        assertThat(upstream.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(meterRegistry.find("pet.location.stage.duration").tag("stage", "cache_lookup").timer().count())
+                .isZero();
+    }
+
+    @Test
+    void stopTimer_ShouldRecordRequestDuration() {
+        // Act
+        metricsService.stopTimer(metricsService.startLocationRequestTimer());
+
+        // Assert
+        assertThat(meterRegistry.find("pet.location.request.duration").timer().count()).isEqualTo(1);
+    }
+}
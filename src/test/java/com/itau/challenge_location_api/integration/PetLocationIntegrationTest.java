@@ -2,6 +2,7 @@ package com.itau.challenge_location_api.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackAsyncClient;
 import com.itau.challenge_location_api.infrastructure.client.PositionStackClient;
 import com.itau.challenge_location_api.infrastructure.client.model.PositionStackData;
 import com.itau.challenge_location_api.infrastructure.client.model.PositionStackResponse;
@@ -14,13 +15,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +43,9 @@ class PetLocationIntegrationTest {
     
     @MockBean
     private PositionStackClient positionStackClient;
+
+    @MockBean
+    private PositionStackAsyncClient positionStackAsyncClient;
     
     private ObjectMapper objectMapper;
     private PetLocationRequest validRequest;
@@ -73,6 +82,8 @@ class PetLocationIntegrationTest {
         // Configure mock to return our test data
         when(positionStackClient.reverseGeocode(anyString(), anyString()))
                 .thenReturn(mockResponse);
+        when(positionStackAsyncClient.reverseGeocode(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mockResponse));
     }
     
     @Test
@@ -88,6 +99,20 @@ class PetLocationIntegrationTest {
                 .andExpect(jsonPath("$.address").value("Avenida Paulista, 123, São Paulo, Brazil"));
     }
     
+    @Test
+    void shouldReturnLocationInfo_whenValidAsyncRequestIsSent() throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/locations/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.country").value("Brazil"))
+                .andExpect(jsonPath("$.address").value("Avenida Paulista, 123, São Paulo, Brazil"));
+    }
+    
     @Test
     void shouldReturnBadRequest_whenInvalidRequestIsSent() throws Exception {
         // Create an invalid request with missing required fields
@@ -99,4 +124,41 @@ class PetLocationIntegrationTest {
                 .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldReturnResultsInInputOrder_whenBatchRequestIsSent() throws Exception {
+        PetLocationRequest invalidRequest = new PetLocationRequest();
+        invalidRequest.setSensorId("test-sensor-456");
+        
+        mockMvc.perform(post("/v1/locations/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(validRequest, invalidRequest, validRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].location.country").value("Brazil"))
+                .andExpect(jsonPath("$.results[1].sensorId").value("test-sensor-456"))
+                .andExpect(jsonPath("$.results[1].error").exists())
+                .andExpect(jsonPath("$.results[2].location.city").value("São Paulo"));
+    }
+
+    @Test
+    void shouldStreamOneResultPerReading_whenNdjsonStreamIsSent() throws Exception {
+        PetLocationRequest invalidRequest = new PetLocationRequest();
+        invalidRequest.setSensorId("test-sensor-456");
+        String body = objectMapper.writeValueAsString(validRequest) + "\n"
+                + objectMapper.writeValueAsString(invalidRequest) + "\n";
+        
+        MvcResult result = mockMvc.perform(post("/v1/locations/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines).anySatisfy(line ->
+                assertThat(line).contains("\"index\":0").contains("\"country\":\"Brazil\""));
+        assertThat(lines).anySatisfy(line -> assertThat(line).contains("\"index\":1").contains("\"error\""));
+    }
 }
@@ -0,0 +1,153 @@
+package com.itau.challenge_location_api.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the PositionStack {@code /reverse} endpoint, so the application can be loaded
+ * without the real API or any network access.
+ * Each call waits for a latency drawn from a log-normal distribution matching the configured median
+ * and 99th percentile, then fails with a 429 or a 500 at the configured rates, or answers with one
+ * result built from the queried coordinates. Calls are served on virtual threads, so slow answers
+ * never queue behind each other.
+ */
+class FakePositionStackServer implements AutoCloseable {
+
+    private static final double Z_99 = 2.3263;
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final double logMedian;
+    private final double logSigma;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    private FakePositionStackServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.logMedian = Math.log(Math.max(1, settings.medianLatency().toNanos()));
+        this.logSigma = Math.max(0, Math.log(Math.max(1, settings.p99Latency().toNanos())) - logMedian) / Z_99;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.createContext("/v1/reverse", this::reverse);
+        server.setExecutor(executor);
+    }
+
+    static FakePositionStackServer start(Settings settings) throws IOException {
+        // Without TCP_NODELAY small answers wait for delayed ACKs and every call gets tens of ms slower
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        FakePositionStackServer fake = new FakePositionStackServer(settings);
+        fake.server.start();
+        return fake;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    long calls() {
+        return calls.sum();
+    }
+
+    String summary() {
+        return String.format(Locale.ROOT,
+                "upstream: %d calls, %d injected 500s, %d injected 429s (latency p50 %d ms, p99 %d ms)",
+                calls.sum(), errors.sum(), rateLimited.sum(),
+                settings.medianLatency().toMillis(), settings.p99Latency().toMillis());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void reverse(HttpExchange exchange) throws IOException {
+        calls.increment();
+        try (exchange) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            TimeUnit.NANOSECONDS.sleep((long) Math.exp(logMedian + logSigma * random.nextGaussian()));
+            double roll = random.nextDouble();
+            if (roll < settings.rateLimitRate()) {
+                rateLimited.increment();
+                respond(exchange, 429,
+                        "{\"error\":{\"code\":\"rate_limit_reached\",\"message\":\"Rate limit reached\"}}");
+                return;
+            }
+            if (roll < settings.rateLimitRate() + settings.errorRate()) {
+                errors.increment();
+                respond(exchange, 500, "{\"error\":{\"code\":\"internal_error\",\"message\":\"Injected failure\"}}");
+                return;
+            }
+            String[] coordinates = queryParameter(exchange.getRequestURI().getRawQuery(), "query").split(",");
+            double latitude = Double.parseDouble(coordinates[0]);
+            double longitude = Double.parseDouble(coordinates[1]);
+            respond(exchange, 200, String.format(Locale.ROOT, """
+                    {"data":[{"latitude":%.6f,"longitude":%.6f,"country":"Brazil",\
+                    "region":"São Paulo","region_code":"SP","county":"São Paulo","locality":"São Paulo",\
+                    "neighborhood":"Cell %3$d","street":"Rua %4$d","number":"%5$d","postal_code":"01310-000",\
+                    "label":"Rua %4$d, %5$d, São Paulo, Brazil","continent":"South America","confidence":1}]}""",
+                    latitude, longitude, Math.round(latitude * 100), Math.round(longitude * 1000),
+                    random.nextInt(1, 2000)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        throw new IllegalArgumentException("Missing query parameter " + name);
+    }
+
+    /**
+     * Behavior of the stand-in.
+     *
+     * @param medianLatency median time before an answer
+     * @param p99Latency    99th percentile of the time before an answer
+     * @param errorRate     share of calls answered with 500
+     * @param rateLimitRate share of calls answered with 429
+     */
+    record Settings(Duration medianLatency, Duration p99Latency, double errorRate, double rateLimitRate) {
+
+        /**
+         * Reads the settings from the load.upstream.* system properties, e.g.
+         * {@code -Dload.upstream.p99-latency=1s -Dload.upstream.rate-limit-rate=0.01}.
+         */
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    DurationStyle.detectAndParse(System.getProperty("load.upstream.median-latency", "80ms")),
+                    DurationStyle.detectAndParse(System.getProperty("load.upstream.p99-latency", "400ms")),
+                    Double.parseDouble(System.getProperty("load.upstream.error-rate", "0.01")),
+                    Double.parseDouble(System.getProperty("load.upstream.rate-limit-rate", "0")));
+        }
+    }
+}
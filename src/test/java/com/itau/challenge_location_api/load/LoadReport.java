@@ -0,0 +1,74 @@
+package com.itau.challenge_location_api.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Outcome of a load run: latencies measured from the scheduled send time, and response counts.
+ *
+ * @param targetRate requests per second the run was scheduled at
+ * @param sent       requests started
+ * @param elapsed    time from the first send to the last response
+ * @param latencies  latency of every request in nanoseconds, timeouts included
+ * @param statuses   responses per HTTP status
+ * @param failures   requests that got no response (timeouts, connection errors)
+ */
+record LoadReport(int targetRate, long sent, Duration elapsed, Histogram latencies, Map<Integer, Long> statuses,
+                  long failures) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    long responses() {
+        return statuses.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    long successes() {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 200 && entry.getKey() < 300)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * Successful responses per second over the run.
+     */
+    double throughput() {
+        return successes() / (elapsed.toNanos() / 1e9);
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    String summary() {
+        return String.format(Locale.ROOT, """
+                        target %d req/s, sent %d, responses %d, no response %d, statuses %s
+                        throughput %.1f successful req/s over %.1f s
+                        latency ms: p50 %.1f | p90 %.1f | p99 %.1f | p99.9 %.1f | max %.1f""",
+                targetRate, sent, responses(), failures, statuses,
+                throughput(), elapsed.toNanos() / 1e9,
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                latencies.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Writes the full latency distribution in milliseconds, in the HdrHistogram .hgrm format that
+     * the usual plotting tools read.
+     *
+     * @param file file to write
+     * @throws IOException when the file cannot be written
+     */
+    void writePercentiles(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintStream output = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            latencies.outputPercentileDistribution(output, NANOS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.itau.challenge_location_api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Sends requests at a fixed rate whatever the response times, the way independent clients would (open loop).
+ * Each request is timed from the moment it was scheduled to be sent rather than from when it actually
+ * left, so a stall shows up as latency of every request queued behind it instead of silently lowering
+ * the request rate (coordinated omission).
+ */
+class OpenLoopLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    OpenLoopLoadGenerator(HttpClient client, Duration requestTimeout) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Sends requests at the given rate for the given duration and waits for every response.
+     *
+     * @param ratePerSecond  requests started per second
+     * @param duration       how long requests are started for
+     * @param requestFactory builds the request of each sequence number
+     * @return latencies and outcomes of the requests
+     */
+    LoadReport run(int ratePerSecond, Duration duration, IntFunction<HttpRequest> requestFactory) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        int total = (int) (duration.toNanos() / intervalNanos);
+        Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+        List<CompletableFuture<?>> responses = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            responses.add(client.sendAsync(requestFactory.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((response, error) -> {
+                        latencies.recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+                        if (error != null) {
+                            failures.increment();
+                        } else {
+                            statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new LoadReport(ratePerSecond, total, elapsed, latencies, statusCounts, failures.sum());
+    }
+}
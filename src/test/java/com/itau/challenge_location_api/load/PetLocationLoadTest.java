@@ -0,0 +1,120 @@
+package com.itau.challenge_location_api.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of {@code POST /v1/locations} against a local PositionStack stand-in, runnable offline.
+ * Excluded from the default build, run it with {@code mvn -Pload-test test}. The run is tuned with
+ * system properties:
+ * <ul>
+ *     <li>{@code load.rate} (default 200), {@code load.duration} (30s), {@code load.warmup} (10s)</li>
+ *     <li>{@code load.sensors} (1000), readings are spread over a 20 km wide area</li>
+ *     <li>{@code load.max-p99}, fails the run when the 99th percentile latency is higher</li>
+ *     <li>{@code load.upstream.*}, behavior of the stand-in, see {@link FakePositionStackServer.Settings}</li>
+ * </ul>
+ * Any application property can be overridden the same way, e.g. {@code -Dposition-stack.quota.enabled=true}.
+ * The latency distribution is written to {@code target/load-test/post-locations.hgrm}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PetLocationLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PetLocationLoadTest.class);
+    private static final double CENTER_LATITUDE = -23.5505;
+    private static final double CENTER_LONGITUDE = -46.6333;
+    private static final double AREA_DEGREES = 0.18;
+
+    private static FakePositionStackServer positionStack;
+    private static ExecutorService clientExecutor;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeAll
+    static void startPositionStack() throws IOException {
+        positionStack = FakePositionStackServer.start(FakePositionStackServer.Settings.fromSystemProperties());
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterAll
+    static void stopPositionStack() {
+        positionStack.close();
+        clientExecutor.shutdownNow();
+    }
+
+    @DynamicPropertySource
+    static void positionStackProperties(DynamicPropertyRegistry registry) {
+        registry.add("position-stack.base-url", () -> positionStack.baseUrl());
+        registry.add("position-stack.key", () -> "load-test-key");
+        registry.add("logging.level.com.itau.challenge_location_api",
+                () -> System.getProperty("logging.level.com.itau.challenge_location_api", "WARN"));
+    }
+
+    @Test
+    void postLocations_ShouldSustainTargetRate() throws IOException {
+        int rate = Integer.getInteger("load.rate", 200);
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s"));
+        int sensors = Integer.getInteger("load.sensors", 1000);
+        URI uri = URI.create("http://localhost:" + port + "/api/v1/locations");
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(client, Duration.ofSeconds(30));
+        SplittableRandom random = new SplittableRandom(42);
+
+        generator.run(rate, warmup, i -> locationRequest(uri, random, sensors));
+        long upstreamCallsBefore = positionStack.calls();
+        LoadReport report = generator.run(rate, duration, i -> locationRequest(uri, random, sensors));
+
+        log.info("POST /v1/locations load test\n{}\n{}, {} during the measured run",
+                report.summary(), positionStack.summary(), positionStack.calls() - upstreamCallsBefore);
+        report.writePercentiles(Path.of("target", "load-test", "post-locations.hgrm"));
+
+        assertThat(report.failures()).as("requests without a response").isZero();
+        assertThat(report.responses()).isEqualTo(report.sent());
+        String maxP99 = System.getProperty("load.max-p99");
+        if (maxP99 != null) {
+            assertThat(report.percentileMillis(99)).as("p99 latency in ms")
+                    .isLessThanOrEqualTo((double) DurationStyle.detectAndParse(maxP99).toMillis());
+        }
+    }
+
+    private static HttpRequest locationRequest(URI uri, SplittableRandom random, int sensors) {
+        String body = String.format(Locale.ROOT,
+                "{\"sensorId\":\"sensor-%d\",\"latitude\":%.6f,\"longitude\":%.6f,\"timestamp\":\"%s\"}",
+                random.nextInt(sensors),
+                CENTER_LATITUDE + random.nextDouble(-AREA_DEGREES / 2, AREA_DEGREES / 2),
+                CENTER_LONGITUDE + random.nextDouble(-AREA_DEGREES / 2, AREA_DEGREES / 2),
+                LocalDateTime.now());
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
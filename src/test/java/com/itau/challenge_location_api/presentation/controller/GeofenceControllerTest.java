@@ -0,0 +1,112 @@
+package com.itau.challenge_location_api.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.challenge_location_api.application.service.GeofenceService;
+import com.itau.challenge_location_api.domain.model.Geofence;
+import com.itau.challenge_location_api.infrastructure.config.GeofencingConfig;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.presentation.dto.request.GeofenceRequest;
+import com.itau.challenge_location_api.presentation.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GeofenceControllerTest {
+
+    private MockMvc mockMvc;
+    private GeofenceService geofenceService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        geofenceService = new GeofenceService(new GeofencingConfig(), event -> { },
+                new LocationMetricsService(new SimpleMeterRegistry()));
+        mockMvc = MockMvcBuilders.standaloneSetup(new GeofenceController(geofenceService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+    }
+
+    private static GeofenceRequest circleRequest() {
+        return GeofenceRequest.builder()
+                .name("Home")
+                .sensorIds(Set.of("sensor-1"))
+                .shape(Geofence.Shape.CIRCLE)
+                .centerLatitude(-23.5505)
+                .centerLongitude(-46.6333)
+                .radiusMeters(100.0)
+                .build();
+    }
+
+    @Test
+    void register_ShouldReturnCreatedFence() throws Exception {
+        mockMvc.perform(post("/v1/geofences")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(circleRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNotEmpty())
+                .andExpect(jsonPath("$.name").value("Home"))
+                .andExpect(jsonPath("$.shape").value("CIRCLE"));
+
+        assertEquals(1, geofenceService.findAll().size());
+    }
+
+    @Test
+    void register_ShouldReturnBadRequest_WhenPolygonHasTooFewVertices() throws Exception {
+        GeofenceRequest request = circleRequest().toBuilder()
+                .shape(Geofence.Shape.POLYGON)
+                .vertices(List.of(new GeofenceRequest.Vertex(-23.55, -46.63),
+                        new GeofenceRequest.Vertex(-23.56, -46.63)))
+                .build();
+
+        mockMvc.perform(post("/v1/geofences")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Geofence"));
+    }
+
+    @Test
+    void register_ShouldReturnBadRequest_WhenSensorIdsAreMissing() throws Exception {
+        mockMvc.perform(post("/v1/geofences")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(circleRequest().toBuilder().sensorIds(Set.of()).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.sensorIds").exists());
+    }
+
+    @Test
+    void findAndRemove_ShouldReturnNotFound_OnceFenceIsRemoved() throws Exception {
+        String id = geofenceService.register(Geofence.builder()
+                .name("Home")
+                .sensorIds(Set.of("sensor-1"))
+                .shape(Geofence.Shape.CIRCLE)
+                .centerLatitude(-23.5505)
+                .centerLongitude(-46.6333)
+                .radiusMeters(100.0)
+                .build()).getId();
+
+        mockMvc.perform(get("/v1/geofences/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+        mockMvc.perform(delete("/v1/geofences/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/v1/geofences/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/v1/geofences/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
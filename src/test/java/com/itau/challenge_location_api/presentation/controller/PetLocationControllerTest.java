@@ -1,29 +1,59 @@
 package com.itau.challenge_location_api.presentation.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LocationLookupResult;
 import com.itau.challenge_location_api.domain.model.PetSensorData;
 import com.itau.challenge_location_api.domain.service.LocationService;
+import com.itau.challenge_location_api.infrastructure.client.PositionStackUnavailableException;
+import com.itau.challenge_location_api.infrastructure.config.LocationBatchConfig;
+import com.itau.challenge_location_api.infrastructure.config.LocationHistoryConfig;
+import com.itau.challenge_location_api.infrastructure.history.LocationHistoryStore;
+import com.itau.challenge_location_api.infrastructure.history.TrackSimplifier;
 import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService.Stage;
 import com.itau.challenge_location_api.presentation.dto.request.PetLocationRequest;
+import com.itau.challenge_location_api.presentation.exception.GlobalExceptionHandler;
+import com.itau.challenge_location_api.presentation.stream.NdjsonLocationStreamer;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +68,27 @@ class PetLocationControllerTest {
     @Mock
     private LocationMetricsService metricsService;
 
+    @Spy
+    private LocationBatchConfig batchConfig = new LocationBatchConfig();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private NdjsonLocationStreamer locationStreamer;
+
+    @Spy
+    private LocationHistoryStore locationHistory =
+            new LocationHistoryStore(new LocationHistoryConfig(), new SimpleMeterRegistry());
+
+    @Mock
+    private TrackSimplifier trackSimplifier;
+
+    @Spy
+    private ObjectMapper responseMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
     @InjectMocks
     private PetLocationController petLocationController;
 
@@ -48,6 +99,7 @@ class PetLocationControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(petLocationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
 
         objectMapper = new ObjectMapper();
@@ -108,4 +160,230 @@ class PetLocationControllerTest {
                 .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void getLocationFromSensorData_ShouldRecordValidationStage() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinates(any(PetSensorData.class))).thenReturn(mockLocationInfo);
+
+        // Act
+        mockMvc.perform(post("/v1/locations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk());
+
+        // Assert
+        verify(metricsService).recordStage(eq(Stage.VALIDATION), anyLong());
+    }
+
+    @Test
+    void getLocationFromSensorDataAsync_ShouldReturnBadRequest_WhenRequestIsInvalid() throws Exception {
+        // Arrange
+        validRequest.setLatitude(null);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/locations/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.latitude").exists());
+        verify(metricsService).recordStage(eq(Stage.VALIDATION), anyLong());
+        verify(locationService, never()).getLocationFromCoordinatesAsync(any(PetSensorData.class));
+    }
+
+    @Test
+    void getLocationFromSensorDataAsync_ShouldReturnLocationInfo_WhenRequestIsValid() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockLocationInfo));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/v1/locations/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.country").value(mockLocationInfo.getCountry()))
+                .andExpect(jsonPath("$.address").value(mockLocationInfo.getLabel()));
+    }
+
+    @Test
+    void getLocationFromSensorDataAsync_ShouldReturnInternalServerError_WhenLookupFails() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new RuntimeException("Failed to retrieve location information")));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/v1/locations/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Failed to retrieve location information"));
+    }
+
+    @Test
+    void getLocationFromSensorDataAsync_ShouldCountAndTimeFailure_WhenLookupThrows() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class)))
+                .thenThrow(new PositionStackUnavailableException(
+                        "PositionStack API is unavailable, circuit breaker is open",
+                        Duration.ofMillis(12_300)));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/v1/locations/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "13"));
+        verify(metricsService).incrementLocationRequestsError("upstream_unavailable");
+        verify(metricsService).stopTimer(any());
+    }
+
+    @Test
+    void getLocationsFromSensorData_ShouldReturnPerItemResultsAndErrors() throws Exception {
+        // Arrange
+        PetLocationRequest invalidRequest = PetLocationRequest.builder()
+                .sensorId("test-sensor-456")
+                .timestamp(LocalDateTime.now())
+                .build();
+        when(locationService.getLocationsFromCoordinates(anyList()))
+                .thenReturn(List.of(
+                        LocationLookupResult.success(mockLocationInfo),
+                        LocationLookupResult.failure("test-sensor-789", "Failed to retrieve location information")));
+        PetLocationRequest failingRequest = validRequest.toBuilder().sensorId("test-sensor-789").build();
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/locations/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(validRequest, invalidRequest, failingRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].location.country").value(mockLocationInfo.getCountry()))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Latitude is required, Longitude is required"))
+                .andExpect(jsonPath("$.results[2].sensorId").value("test-sensor-789"))
+                .andExpect(jsonPath("$.results[2].error").value("Failed to retrieve location information"));
+    }
+
+    @Test
+    void getLocationsFromSensorData_ShouldReturnBadRequest_WhenBatchIsTooLarge() throws Exception {
+        // Arrange
+        batchConfig.setMaxSize(1);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/locations/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(validRequest, validRequest))))
+                .andExpect(status().isBadRequest());
+        verify(locationService, never()).getLocationsFromCoordinates(anyList());
+    }
+
+    @Test
+    void streamLocationsFromSensorData_ShouldWriteStreamerOutputAsNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"index\":0}\n".getBytes());
+            return 1;
+        }).when(locationStreamer).stream(any(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/locations/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(validRequest) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"index\":0}\n"));
+    }
+
+    @Test
+    void getLocationHistory_ShouldWriteReadingsWithinRangeAsNdjson() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 30);
+        for (int i = 0; i < 3; i++) {
+            locationHistory.record(PetSensorData.builder()
+                    .sensorId("test-sensor-123")
+                    .latitude(-23.5505 - i * 0.0001)
+                    .longitude(-46.6333)
+                    .timestamp(start.plusMinutes(i))
+                    .build());
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/locations/test-sensor-123/history")
+                .param("from", "2024-01-15T10:31:00")
+                .param("to", "2024-01-15T10:40:00"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"timestamp\":\"2024-01-15T10:31:00\",\"latitude\":-23.5506,\"longitude\":-46.6333}\n"
+                        + "{\"timestamp\":\"2024-01-15T10:32:00\",\"latitude\":-23.5507,\"longitude\":-46.6333}\n"));
+    }
+
+    @Test
+    void getLocationHistory_ShouldAppendPendingSegmentEnd() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 30);
+        locationHistory.record(PetSensorData.builder()
+                .sensorId("test-sensor-123")
+                .latitude(-23.5505)
+                .longitude(-46.6333)
+                .timestamp(start)
+                .build());
+        when(trackSimplifier.pending("test-sensor-123")).thenReturn(PetSensorData.builder()
+                .sensorId("test-sensor-123")
+                .latitude(-23.5515)
+                .longitude(-46.6333)
+                .timestamp(start.plusMinutes(2))
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/locations/test-sensor-123/history"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"timestamp\":\"2024-01-15T10:30:00\",\"latitude\":-23.5505,\"longitude\":-46.6333}\n"
+                        + "{\"timestamp\":\"2024-01-15T10:32:00\",\"latitude\":-23.5515,\"longitude\":-46.6333}\n"));
+    }
+
+    @Test
+    void getLocationHistory_ShouldReturnEmptyBody_WhenSensorIsUnknown() throws Exception {
+        mockMvc.perform(get("/v1/locations/unknown-sensor/history"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getLocationFromSensorData_ShouldReturnServiceUnavailableWithRetryAfter_WhenPositionStackIsUnavailable()
+            throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinates(any(PetSensorData.class)))
+                .thenThrow(new PositionStackUnavailableException(
+                        "PositionStack API is unavailable, circuit breaker is open",
+                        Duration.ofMillis(12_300)));
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/locations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "13"))
+                .andExpect(jsonPath("$.message").value("PositionStack API is unavailable, circuit breaker is open"));
+        verify(metricsService).incrementLocationRequestsError("upstream_unavailable");
+    }
 }
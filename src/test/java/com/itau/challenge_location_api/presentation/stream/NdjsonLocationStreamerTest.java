@@ -0,0 +1,238 @@
+package com.itau.challenge_location_api.presentation.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.challenge_location_api.domain.model.LocationInfo;
+import com.itau.challenge_location_api.domain.model.LookupPriority;
+import com.itau.challenge_location_api.domain.model.PetSensorData;
+import com.itau.challenge_location_api.domain.service.LocationService;
+import com.itau.challenge_location_api.infrastructure.config.LocationStreamConfig;
+import com.itau.challenge_location_api.infrastructure.metrics.LocationMetricsService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonLocationStreamerTest {
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private LocationMetricsService metricsService;
+
+    private ObjectMapper objectMapper;
+    private LocationStreamConfig streamConfig;
+    private NdjsonLocationStreamer streamer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        streamConfig = new LocationStreamConfig();
+        streamer = new NdjsonLocationStreamer(objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                locationService, streamConfig, metricsService);
+    }
+
+    @Test
+    void stream_ShouldWriteOneResultPerReading() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class), eq(LookupPriority.BULK)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(location(invocation.getArgument(0))));
+        String input = """
+                {"sensorId":"sensor-1","latitude":-23.5505,"longitude":-46.6333,"timestamp":"2025-01-01T10:00:00"}
+                {"sensorId":"sensor-2","timestamp":"2025-01-01T10:00:00"}
+
+                {"sensorId":"sensor-3","latitude":-22.9068,"longitude":-43.1729,"timestamp":"2025-01-01T10:00:00"}
+                """;
+
+        // Act
+        List<JsonNode> results = run(input);
+
+        // Assert
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).path("sensorId").asText()).isEqualTo("sensor-1");
+        assertThat(results.get(0).path("location").path("city").asText()).isEqualTo("city-sensor-1");
+        assertThat(results.get(1).path("error").asText()).isEqualTo("Latitude is required, Longitude is required");
+        assertThat(results.get(2).path("location").path("city").asText()).isEqualTo("city-sensor-3");
+    }
+
+    @Test
+    void stream_ShouldReportLookupFailuresPerReading() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(
+                argThat(data -> data != null && "sensor-1".equals(data.getSensorId())), eq(LookupPriority.BULK)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new RuntimeException("Failed to retrieve location information")));
+        when(locationService.getLocationFromCoordinatesAsync(
+                argThat(data -> data != null && "sensor-2".equals(data.getSensorId())), eq(LookupPriority.BULK)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(location(invocation.getArgument(0))));
+        String input = """
+                {"sensorId":"sensor-1","latitude":-23.5505,"longitude":-46.6333,"timestamp":"2025-01-01T10:00:00"}
+                {"sensorId":"sensor-2","latitude":-22.9068,"longitude":-43.1729,"timestamp":"2025-01-01T10:00:00"}
+                """;
+
+        // Act
+        List<JsonNode> results = run(input);
+
+        // Assert
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).path("error").asText()).isEqualTo("Failed to retrieve location information");
+        assertThat(results.get(1).path("location").path("city").asText()).isEqualTo("city-sensor-2");
+    }
+
+    @Test
+    void stream_ShouldStopAtMalformedJson() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class), eq(LookupPriority.BULK)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(location(invocation.getArgument(0))));
+        String input = """
+                {"sensorId":"sensor-1","latitude":-23.5505,"longitude":-46.6333,"timestamp":"2025-01-01T10:00:00"}
+                {"sensorId":"sensor-2","latitude":
+                """;
+
+        // Act
+        List<JsonNode> results = run(input);
+
+        // Assert
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).has("location")).isTrue();
+        assertThat(results.get(1).path("error").asText()).startsWith("Invalid JSON");
+    }
+
+    @Test
+    void stream_ShouldContinueAfterReadingThatDoesNotBind() throws Exception {
+        // Arrange
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class), eq(LookupPriority.BULK)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(location(invocation.getArgument(0))));
+        String input = """
+                {"sensorId":"sensor-1","latitude":"abc","tags":{"a":[1,2]},"longitude":-46.6333}
+                {"sensorId":"sensor-2","latitude":-22.9068,"longitude":-43.1729,"timestamp":"2025-01-01T10:00:00"}
+                """;
+
+        // Act
+        List<JsonNode> results = run(input);
+
+        // Assert
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).path("error").asText()).startsWith("Invalid reading");
+        assertThat(results.get(1).path("location").path("city").asText()).isEqualTo("city-sensor-2");
+    }
+
+    @Test
+    void stream_ShouldFlushInGroupsWhileLookupsArePending() throws Exception {
+        // Arrange
+        streamConfig.setFlushLines(3);
+        streamConfig.setFlushInterval(Duration.ofHours(1));
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class), eq(LookupPriority.BULK)))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> location(invocation.getArgument(0)),
+                        CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS)));
+        StringBuilder input = new StringBuilder(
+                "{\"sensorId\":\"sensor-0\",\"latitude\":-23.5,\"longitude\":-46.6,"
+                        + "\"timestamp\":\"2025-01-01T10:00:00\"}\n");
+        for (int i = 1; i <= 6; i++) {
+            input.append("{\"sensorId\":\"sensor-").append(i).append("\"}\n");
+        }
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // Act
+        int processed = streamer.stream(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        // Assert
+        assertThat(processed).isEqualTo(7);
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).hasSize(7);
+        // Two groups of three validation errors, the lookup result once nothing is pending, and the final flush
+        assertThat(flushes.get()).isEqualTo(4);
+    }
+
+    @Test
+    void stream_ShouldNotExceedMaxInFlightLookups() throws Exception {
+        // Arrange
+        streamConfig.setMaxInFlight(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        List<CompletableFuture<LocationInfo>> pending = new ArrayList<>();
+        when(locationService.getLocationFromCoordinatesAsync(any(PetSensorData.class), eq(LookupPriority.BULK)))
+                .thenAnswer(invocation -> {
+                    maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    PetSensorData data = invocation.getArgument(0);
+                    CompletableFuture<LocationInfo> future = CompletableFuture.supplyAsync(() -> {
+                        sleep();
+                        inFlight.decrementAndGet();
+                        return location(data);
+                    });
+                    pending.add(future);
+                    return future;
+                });
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            input.append("{\"sensorId\":\"sensor-").append(i)
+                    .append("\",\"latitude\":-23.5,\"longitude\":-46.6,\"timestamp\":\"2025-01-01T10:00:00\"}\n");
+        }
+
+        // Act
+        List<JsonNode> results = run(input.toString());
+
+        // Assert
+        assertThat(results).hasSize(10);
+        assertThat(maxObserved.get()).isLessThanOrEqualTo(2);
+        assertThat(pending).allMatch(CompletableFuture::isDone);
+    }
+
+    private List<JsonNode> run(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamer.stream(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        results.sort(Comparator.comparingInt(node -> node.path("index").asInt()));
+        return results;
+    }
+
+    private static LocationInfo location(PetSensorData data) {
+        return LocationInfo.builder()
+                .sensorId(data.getSensorId())
+                .latitude(data.getLatitude())
+                .longitude(data.getLongitude())
+                .country("Brazil")
+                .city("city-" + data.getSensorId())
+                .build();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}